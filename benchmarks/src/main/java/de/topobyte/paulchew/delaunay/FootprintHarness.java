@@ -0,0 +1,231 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.openjdk.jol.info.GraphLayout;
+
+import de.topobyte.utilities.apache.commons.cli.OptionHelper;
+
+/**
+ * Measures the memory footprint of triangulations of several sizes.
+ * 
+ * For each size, the retained size of each of the structures of a
+ * triangulation is determined by walking its object graph. Objects shared by
+ * several structures (the triangles and their vertices) are reported
+ * separately and excluded from the other structures. In addition, the number
+ * of bytes allocated per call to
+ * {@link Triangulation#delaunayPlace(Pnt, Object)} is measured.
+ * 
+ * The results are written as CSV lines of the form "size,metric,value" so
+ * that the output of different versions can be compared using diff.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class FootprintHarness
+{
+
+	private static final String HELP_MESSAGE = FootprintHarness.class
+			.getSimpleName() + " [options]";
+
+	private static final String OPTION_OUTPUT = "output";
+	private static final String OPTION_SIZES = "sizes";
+	private static final String OPTION_DISTRIBUTION = "distribution";
+
+	public static void main(String[] args) throws IOException
+	{
+		Options options = new Options();
+		// @formatter:off
+		OptionHelper.addL(options, OPTION_OUTPUT, true, true, "file", "CSV output");
+		OptionHelper.addL(options, OPTION_SIZES, true, false, "list", "comma separated numbers of sites (default: 1000,10000,100000,1000000)");
+		OptionHelper.addL(options, OPTION_DISTRIBUTION, true, false, "name", "point distribution (default: UNIFORM)");
+		// @formatter:on
+
+		CommandLine line = null;
+		try {
+			line = new DefaultParser().parse(options, args);
+		} catch (ParseException e) {
+			System.out.println("unable to parse command line: "
+					+ e.getMessage());
+			HelpFormatter formatter = new HelpFormatter();
+			formatter.setOptionComparator(null);
+			formatter.printHelp(HELP_MESSAGE, options);
+			System.exit(1);
+		}
+		if (line == null) {
+			return;
+		}
+
+		String argOutput = line.getOptionValue(OPTION_OUTPUT);
+		String argSizes = line.getOptionValue(OPTION_SIZES,
+				"1000,10000,100000,1000000");
+		PointDistribution distribution = PointDistribution.valueOf(line
+				.getOptionValue(OPTION_DISTRIBUTION, "UNIFORM"));
+
+		try (PrintWriter output = new PrintWriter(Files.newBufferedWriter(
+				Paths.get(argOutput), StandardCharsets.UTF_8))) {
+			output.println("size,metric,value");
+			for (String size : argSizes.split(",")) {
+				FootprintHarness harness = new FootprintHarness(
+						Integer.parseInt(size.trim()), distribution, output);
+				harness.execute();
+			}
+		}
+	}
+
+	private final int size;
+	private final PointDistribution distribution;
+	private final PrintWriter output;
+
+	private int numSites;
+	private int numTriangles;
+
+	public FootprintHarness(int size, PointDistribution distribution,
+			PrintWriter output)
+	{
+		this.size = size;
+		this.distribution = distribution;
+		this.output = output;
+	}
+
+	public void execute()
+	{
+		double[][] points = distribution.generate(
+				new Random(TriangulationState.SEED), size);
+		double[] xs = points[0], ys = points[1];
+
+		// Measure allocations while building the triangulation, once in total
+		// and once for the second half of the insertions only.
+		Triangulation<Integer> t = new Triangulation<>(
+				PointDistribution.initialTriangle());
+		long start = allocatedBytes();
+		int half = size / 2;
+		for (int i = 0; i < half; i++) {
+			t.delaunayPlace(new Pnt(xs[i], ys[i]), i);
+		}
+		long middle = allocatedBytes();
+		for (int i = half; i < size; i++) {
+			t.delaunayPlace(new Pnt(xs[i], ys[i]), i);
+		}
+		long end = allocatedBytes();
+
+		numSites = t.getData().size();
+		numTriangles = t.getTriangles().size();
+		write("sites", numSites);
+		write("triangles", numTriangles);
+		if (start >= 0) {
+			write("delaunayPlace.allocated", (end - start) / (double) size);
+			write("delaunayPlace.allocated.secondHalf",
+					(end - middle) / (double) (size - half));
+		}
+
+		// Single objects
+		Triangle someTriangle = t.getTriangles().values().iterator().next();
+		Pnt somePnt = someTriangle.get(0);
+		GraphLayout pnt = GraphLayout.parseInstance(somePnt);
+		GraphLayout triangle = GraphLayout
+				.parseInstance(someTriangle)
+				.subtract(GraphLayout.parseInstance(someTriangle.toArray()));
+		write("Pnt.bytes", pnt.totalSize());
+		write("Triangle.bytes", triangle.totalSize());
+
+		// The structures of the triangulation
+		Object[] allTriangles = t.getTriangles().values().toArray();
+		Object[] allVertices = t.getData().keySet().toArray();
+		GraphLayout vertices = GraphLayout.parseInstance(allVertices)
+				.add(GraphLayout.parseInstance(
+						t.getInitialTriangle().toArray()));
+		GraphLayout triangles = GraphLayout.parseInstance(allTriangles)
+				.subtract(vertices);
+		GraphLayout shared = vertices.add(triangles);
+
+		GraphLayout total = GraphLayout.parseInstance(t);
+		GraphLayout graph = GraphLayout.parseInstance(t.getGraph())
+				.subtract(shared);
+		GraphLayout spidx = GraphLayout.parseInstance(t.spidx)
+				.subtract(shared);
+		GraphLayout map = GraphLayout.parseInstance(t.triangles)
+				.subtract(shared);
+		GraphLayout pointToData = GraphLayout.parseInstance(t.getData())
+				.subtract(shared);
+		long other = total.totalSize() - shared.totalSize()
+				- graph.totalSize() - spidx.totalSize() - map.totalSize()
+				- pointToData.totalSize();
+
+		writeStructure("vertices", vertices.totalSize());
+		writeStructure("triangleObjects", triangles.totalSize());
+		writeStructure("graph", graph.totalSize());
+		writeStructure("spidx", spidx.totalSize());
+		writeStructure("trianglesMap", map.totalSize());
+		writeStructure("pointToData", pointToData.totalSize());
+		writeStructure("other", other);
+		writeStructure("total", total.totalSize());
+		output.flush();
+	}
+
+	/**
+	 * Write the absolute value of a structure's size and its size relative to
+	 * the number of sites and the number of triangles.
+	 */
+	private void writeStructure(String structure, long bytes)
+	{
+		write(structure + ".bytes", bytes);
+		write(structure + ".bytesPerSite", bytes / (double) numSites);
+		write(structure + ".bytesPerTriangle", bytes / (double) numTriangles);
+	}
+
+	private void write(String metric, double value)
+	{
+		output.println(String.format(Locale.US, "%d,%s,%.2f", size, metric,
+				value));
+	}
+
+	private void write(String metric, long value)
+	{
+		output.println(String.format("%d,%s,%d", size, metric, value));
+	}
+
+	/**
+	 * @return the number of bytes allocated by the current thread so far or
+	 *         -1 if not supported by the JVM.
+	 */
+	private static long allocatedBytes()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		return ((com.sun.management.ThreadMXBean) bean)
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
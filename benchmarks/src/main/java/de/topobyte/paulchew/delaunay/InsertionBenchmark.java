@@ -0,0 +1,134 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Triangulation#delaunayPlace(Pnt, Object)}.
+ * 
+ * The benchmark {@link #insert(Pool)} measures the cost of a single insertion
+ * into a triangulation that already contains size sites while
+ * {@link #build(Points)} measures building a triangulation from scratch.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InsertionBenchmark
+{
+
+	/**
+	 * The number of additional points available for insertion during a single
+	 * iteration of {@link InsertionBenchmark#insert(Pool)}.
+	 */
+	static final int POOL_SIZE = 1 << 20;
+
+	@State(Scope.Thread)
+	public static class Points
+	{
+
+		@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+		public int size;
+
+		@Param({ "UNIFORM", "CLUSTERED", "GRID", "COCIRCULAR" })
+		public PointDistribution distribution;
+
+		double[] xs, ys;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			double[][] points = distribution.generate(
+					new Random(TriangulationState.SEED), size);
+			xs = points[0];
+			ys = points[1];
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Pool
+	{
+
+		@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+		public int size;
+
+		@Param({ "UNIFORM", "CLUSTERED", "GRID", "COCIRCULAR" })
+		public PointDistribution distribution;
+
+		double[] xs, ys;
+		Triangulation<Integer> triangulation;
+		int next;
+
+		@Setup(Level.Trial)
+		public void setupPoints()
+		{
+			double[][] points = distribution.generate(
+					new Random(TriangulationState.SEED), size + POOL_SIZE);
+			xs = points[0];
+			ys = points[1];
+		}
+
+		@Setup(Level.Iteration)
+		public void setupTriangulation()
+		{
+			triangulation = PointDistribution.triangulate(xs, ys, size);
+			next = size;
+		}
+
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Triangulation<Integer> insert(Pool pool)
+	{
+		int i = pool.next++;
+		if (i == pool.xs.length) {
+			throw new IllegalStateException("pool of points exhausted");
+		}
+		pool.triangulation.delaunayPlace(new Pnt(pool.xs[i], pool.ys[i]), i);
+		return pool.triangulation;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Triangulation<Integer> build(Points points)
+	{
+		return PointDistribution.triangulate(points.xs, points.ys,
+				points.size);
+	}
+
+}
@@ -0,0 +1,104 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for point location and the traversal of the triangles around a
+ * site.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocateBenchmark
+{
+
+	static final int QUERIES = 1 << 12;
+
+	@State(Scope.Thread)
+	public static class Queries
+	{
+
+		Pnt[] points = new Pnt[QUERIES];
+		int next = 0;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			Random random = new Random(TriangulationState.SEED + 1);
+			for (int i = 0; i < QUERIES; i++) {
+				points[i] = new Pnt(
+						random.nextDouble() * PointDistribution.SIZE,
+						random.nextDouble() * PointDistribution.SIZE);
+			}
+		}
+
+		Pnt next()
+		{
+			return points[next++ & (QUERIES - 1)];
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Sites
+	{
+
+		int next = 0;
+
+		Pnt next(TriangulationState state)
+		{
+			next = (next + 1) % state.sites.length;
+			return state.sites[next];
+		}
+
+	}
+
+	@Benchmark
+	public Triangle locate(TriangulationState state, Queries queries)
+	{
+		return state.triangulation.locate(queries.next());
+	}
+
+	@Benchmark
+	public Object surroundingTriangles(TriangulationState state, Sites sites)
+	{
+		Triangulation<Integer> t = state.triangulation;
+		Pnt site = sites.next(state);
+		return t.surroundingTriangles(site, t.incidentTriangle(site));
+	}
+
+}
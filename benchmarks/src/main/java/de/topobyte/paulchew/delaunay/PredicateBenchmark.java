@@ -0,0 +1,124 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the geometric predicates evaluated during insertion. The
+ * triangles and points are taken from a triangulation of the respective
+ * distribution so that the share of degenerate cases is realistic.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PredicateBenchmark
+{
+
+	static final int SAMPLES = 1 << 12;
+
+	@State(Scope.Thread)
+	public static class Samples
+	{
+
+		@Param({ "UNIFORM", "CLUSTERED", "GRID", "COCIRCULAR" })
+		public PointDistribution distribution;
+
+		Triangle[] triangles = new Triangle[SAMPLES];
+		Pnt[][] simplices = new Pnt[SAMPLES][];
+		Pnt[] points = new Pnt[SAMPLES];
+		int next = 0;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			Random random = new Random(TriangulationState.SEED);
+			double[][] coords = distribution.generate(random, 1000);
+			Triangulation<Integer> t = PointDistribution.triangulate(
+					coords[0], coords[1], 1000);
+			Triangle[] all = t.toArray(new Triangle[0]);
+			Pnt[] sites = t.getData().keySet().toArray(new Pnt[0]);
+			for (int i = 0; i < SAMPLES; i++) {
+				triangles[i] = all[random.nextInt(all.length)];
+				simplices[i] = triangles[i].toArray(new Pnt[0]);
+				points[i] = sites[random.nextInt(sites.length)];
+			}
+		}
+
+		int next()
+		{
+			return next++ & (SAMPLES - 1);
+		}
+
+	}
+
+	@Benchmark
+	public int vsCircumcircle(Samples samples)
+	{
+		int i = samples.next();
+		return samples.points[i].vsCircumcircle(samples.simplices[i]);
+	}
+
+	/**
+	 * The circumcircle test including the conversion of the triangle to an
+	 * array, as done during insertion.
+	 */
+	@Benchmark
+	public int vsCircumcircleTriangle(Samples samples)
+	{
+		int i = samples.next();
+		return samples.points[i]
+				.vsCircumcircle(samples.triangles[i].toArray(new Pnt[0]));
+	}
+
+	/**
+	 * The circumcircle test against the circumcircle cached in the triangle.
+	 */
+	@Benchmark
+	public int vsCircumcircleCached(Samples samples)
+	{
+		int i = samples.next();
+		return samples.triangles[i].vsCircumcircle(samples.points[i]);
+	}
+
+	@Benchmark
+	public int[] relation(Samples samples)
+	{
+		int i = samples.next();
+		return samples.points[i].relation(samples.simplices[i]);
+	}
+
+}
@@ -0,0 +1,58 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A triangulation of a synthetic point set that is built once per trial and
+ * shared by all threads of read-only benchmarks.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@State(Scope.Benchmark)
+public class TriangulationState
+{
+
+	static final long SEED = 0x5eed;
+
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int size;
+
+	@Param({ "UNIFORM", "CLUSTERED", "GRID", "COCIRCULAR" })
+	public PointDistribution distribution;
+
+	public Triangulation<Integer> triangulation;
+	public Pnt[] sites;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		double[][] points = distribution.generate(new Random(SEED), size);
+		triangulation = PointDistribution.triangulate(points[0], points[1],
+				size);
+		sites = triangulation.getData().keySet().toArray(new Pnt[0]);
+	}
+
+}
@@ -0,0 +1,59 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.topobyte.adt.graph.UndirectedGraph;
+
+/**
+ * Benchmarks for extracting the Voronoi diagram from a triangulation.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VoronoiBenchmark
+{
+
+	@Benchmark
+	public Map<Integer, Geometry> getVoronoiCells(TriangulationState state)
+	{
+		return VoronoiUtil.getVoronoiCells(state.triangulation);
+	}
+
+	@Benchmark
+	public UndirectedGraph<Pnt> createSiteGraph(TriangulationState state)
+	{
+		return VoronoiUtil.createSiteGraph(state.triangulation);
+	}
+
+}
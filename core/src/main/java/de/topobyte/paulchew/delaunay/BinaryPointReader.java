@@ -0,0 +1,100 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads points from a file of packed little-endian doubles, with the x and y
+ * coordinates of each point stored one after another. The file is memory
+ * mapped and decoded in chunks, without creating an object per point.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class BinaryPointReader
+{
+
+	private static final int BYTES_PER_POINT = 16;
+
+	private final Path path;
+	private int chunkSize = 1 << 20;
+
+	/**
+	 * @param path
+	 *            the file to read.
+	 */
+	public BinaryPointReader(Path path)
+	{
+		this.path = path;
+	}
+
+	/**
+	 * @param chunkSize
+	 *            the number of points to map and deliver at once.
+	 */
+	public void setChunkSize(int chunkSize)
+	{
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Read all points and pass them to the sink in chunks.
+	 * 
+	 * @param sink
+	 *            the sink to deliver points to.
+	 * @return the number of points read.
+	 * @throws IOException
+	 *             on failure while reading or if the file size is not a
+	 *             multiple of the size of a point.
+	 */
+	public long read(PointSink sink) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size % BYTES_PER_POINT != 0) {
+				throw new IOException("file size " + size
+						+ " is not a multiple of " + BYTES_PER_POINT);
+			}
+			long total = size / BYTES_PER_POINT;
+			double[] xs = new double[(int) Math.min(chunkSize, total)];
+			double[] ys = new double[xs.length];
+			for (long done = 0; done < total; done += xs.length) {
+				int n = (int) Math.min(xs.length, total - done);
+				MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, done
+						* BYTES_PER_POINT, (long) n * BYTES_PER_POINT);
+				DoubleBuffer doubles = buffer.order(ByteOrder.LITTLE_ENDIAN)
+						.asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					xs[i] = doubles.get();
+					ys[i] = doubles.get();
+				}
+				sink.accept(xs, ys, n);
+			}
+			return total;
+		}
+	}
+
+}
@@ -0,0 +1,554 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Extracts contours from the values associated with the sites of a
+ * triangulation, which is interpreted as a piecewise linear surface (a TIN).
+ * Contours are computed by marching triangles directly on the triangulation,
+ * without copying its triangles first.
+ * 
+ * An isoline at some level passes through each triangle that has vertices
+ * with values both below and not below the level, as a straight segment
+ * between the two crossed edges. Isolines are followed from triangle to
+ * triangle across these edges, so each isoline is reported as a single line
+ * string, oriented such that higher values are on its right. Isolines are
+ * closed unless they end on the boundary of the triangulation.
+ * 
+ * Isobands are the regions with values within an interval. They are built
+ * from the parts of the triangles within the interval, whose boundaries
+ * along isolines and along the boundary of the triangulation are joined to
+ * polygons with holes.
+ * 
+ * A site with a value exactly at a level counts as not below it, i.e. it
+ * belongs to the band that the level is the lower bound of. Isolines and
+ * band boundaries at such a level pass through the site itself.
+ * 
+ * Only triangles whose vertices are all sites are considered, i.e. triangles
+ * involving vertices of the initial triangle are skipped. Multiple levels are
+ * processed in parallel. The triangulation must not be modified during
+ * extraction.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class ContourExtractor<T>
+{
+
+	private final Triangulation<T> t;
+	private final ToDoubleFunction<? super T> value;
+	private final GeometryFactory factory = new GeometryFactory();
+
+	/**
+	 * Create an extractor for a triangulation.
+	 * 
+	 * @param t
+	 *            the triangulation.
+	 * @param value
+	 *            a function that determines the value of each site from its
+	 *            associated object.
+	 */
+	public ContourExtractor(Triangulation<T> t,
+			ToDoubleFunction<? super T> value)
+	{
+		this.t = t;
+		this.value = value;
+	}
+
+	/**
+	 * Extract the isolines for a number of levels in parallel.
+	 * 
+	 * @param levels
+	 *            the levels to extract isolines for.
+	 * @return for each level the list of its isolines.
+	 */
+	public List<List<LineString>> isolines(final double[] levels)
+	{
+		final List<List<LineString>> result = new ArrayList<>(
+				Collections.<List<LineString>> nCopies(levels.length, null));
+		ParallelUtil.forEachRange(levels.length, 1, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result.set(i, isolines(levels[i]));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Extract the isolines for a level.
+	 * 
+	 * @param level
+	 *            the level to extract isolines for.
+	 * @return the isolines.
+	 */
+	public List<LineString> isolines(double level)
+	{
+		List<LineString> lines = new ArrayList<>();
+		Set<Triangle> visited = new HashSet<>();
+		for (Triangle triangle : t) {
+			if (visited.contains(triangle) || !isComplete(triangle)) {
+				continue;
+			}
+			// Find the crossed edges (a, b) and (c, d)
+			Pnt a = null, b = null, c = null, d = null, below = null;
+			for (int k = 0; k < 3; k++) {
+				Pnt p = triangle.get(k);
+				Pnt q = triangle.get((k + 1) % 3);
+				if (value(p) < level) {
+					below = p;
+				}
+				if (value(p) < level == value(q) < level) {
+					continue;
+				}
+				if (a == null) {
+					a = p;
+					b = q;
+				} else {
+					c = p;
+					d = q;
+				}
+			}
+			if (a == null) {
+				continue;
+			}
+			visited.add(triangle);
+
+			// Orient the segment with lower values on its left
+			Pnt start = crossing(a, b, level);
+			Pnt end = crossing(c, d, level);
+			if (side(start, end, below) < 0) {
+				Pnt tmp = start;
+				start = end;
+				end = tmp;
+				tmp = a;
+				a = c;
+				c = tmp;
+				tmp = b;
+				b = d;
+				d = tmp;
+			}
+
+			List<Pnt> forward = new ArrayList<>();
+			forward.add(start);
+			boolean closed = follow(triangle, c, d, level, visited, forward);
+			List<Pnt> points = forward;
+			if (!closed) {
+				List<Pnt> backward = new ArrayList<>();
+				follow(triangle, a, b, level, visited, backward);
+				Collections.reverse(backward);
+				points = backward;
+				points.addAll(forward.subList(1, forward.size()));
+			}
+			if (points.size() > 1) {
+				lines.add(factory.createLineString(coordinates(points)));
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Follow an isoline from triangle start, leaving it via the edge (a, b),
+	 * and collect the crossings.
+	 * 
+	 * @return true if the isoline is closed, i.e. leads back to start.
+	 */
+	private boolean follow(Triangle start, Pnt a, Pnt b, double level,
+			Set<Triangle> visited, List<Pnt> points)
+	{
+		Triangle current = start;
+		while (true) {
+			points.add(crossing(a, b, level));
+			Triangle next = t.neighborOpposite(current.getVertexButNot(a, b),
+					current);
+			if (next == null || !isComplete(next)) {
+				return false;
+			}
+			if (next == start) {
+				return true;
+			}
+			visited.add(next);
+			Pnt c = next.getVertexButNot(a, b);
+			if (value(a) < level != value(c) < level) {
+				b = c;
+			} else {
+				a = c;
+			}
+			current = next;
+		}
+	}
+
+	/**
+	 * Extract the isobands between consecutive breaks in parallel.
+	 * 
+	 * @param breaks
+	 *            the boundaries of the bands, in ascending order.
+	 * @return for each of the breaks.length - 1 bands the list of its
+	 *         polygons.
+	 */
+	public List<List<Polygon>> isobands(final double[] breaks)
+	{
+		int n = Math.max(0, breaks.length - 1);
+		final List<List<Polygon>> result = new ArrayList<>(
+				Collections.<List<Polygon>> nCopies(n, null));
+		ParallelUtil.forEachRange(n, 1, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result.set(i, isobands(breaks[i], breaks[i + 1]));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Extract the isoband of the region with values greater than or equal to
+	 * lower and less than upper.
+	 * 
+	 * @param lower
+	 *            the lower bound (inclusive).
+	 * @param upper
+	 *            the upper bound (exclusive).
+	 * @return the polygons of the band.
+	 * @throws IllegalStateException
+	 *             if the boundary of the band does not consist of closed
+	 *             rings, which indicates an inconsistent triangulation.
+	 */
+	public List<Polygon> isobands(double lower, double upper)
+	{
+		/*
+		 * Boundary segments of the band, oriented with the band on their
+		 * left. The segments of the pieces of all triangles are added and
+		 * segments shared by two pieces, which run in opposite directions,
+		 * cancel each other out. Pieces without area, e.g. an edge whose
+		 * vertices both have a value at the lower bound, are added as well,
+		 * so that the boundary of the band along them is retained.
+		 */
+		Map<Pnt, List<Pnt>> segments = new HashMap<>();
+
+		Pnt[] vertices = new Pnt[3];
+		double[] values = new double[3];
+		List<Pnt> piece = new ArrayList<>(7);
+		for (Triangle triangle : t) {
+			if (!isComplete(triangle)) {
+				continue;
+			}
+			for (int k = 0; k < 3; k++) {
+				vertices[k] = triangle.get(k);
+			}
+			if (side(vertices[0], vertices[1], vertices[2]) < 0) {
+				Pnt tmp = vertices[1];
+				vertices[1] = vertices[2];
+				vertices[2] = tmp;
+			}
+			for (int k = 0; k < 3; k++) {
+				values[k] = value(vertices[k]);
+			}
+
+			// Collect the part of the triangle within the band in
+			// counterclockwise order
+			piece.clear();
+			for (int k = 0; k < 3; k++) {
+				int l = (k + 1) % 3;
+				if (values[k] >= lower && values[k] < upper) {
+					add(piece, vertices[k]);
+				}
+				boolean lowerCrossed = values[k] < lower != values[l] < lower;
+				boolean upperCrossed = values[k] < upper != values[l] < upper;
+				boolean ascending = values[k] < values[l];
+				if (lowerCrossed && ascending) {
+					add(piece, crossing(vertices[k], vertices[l], lower));
+				}
+				if (upperCrossed) {
+					add(piece, crossing(vertices[k], vertices[l], upper));
+				}
+				if (lowerCrossed && !ascending) {
+					add(piece, crossing(vertices[k], vertices[l], lower));
+				}
+			}
+			int m = piece.size();
+			if (m > 1 && piece.get(0).equals(piece.get(m - 1))) {
+				piece.remove(--m);
+			}
+			if (m < 2) {
+				continue;
+			}
+			for (int i = 0; i < m; i++) {
+				addSegment(segments, piece.get(i), piece.get((i + 1) % m));
+			}
+		}
+
+		// Join the segments to rings
+		List<Coordinate[]> shells = new ArrayList<>();
+		List<Coordinate[]> holes = new ArrayList<>();
+		List<Pnt> ring = new ArrayList<>();
+		for (Pnt first : segments.keySet()) {
+			while (!segments.get(first).isEmpty()) {
+				ring.clear();
+				Pnt previous = null, current = first;
+				do {
+					ring.add(current);
+					List<Pnt> targets = segments.get(current);
+					if (targets == null || targets.isEmpty()) {
+						throw new IllegalStateException(
+								"Boundary of isoband is not closed at "
+										+ current);
+					}
+					Pnt next = targets.remove(next(previous, current,
+							targets));
+					previous = current;
+					current = next;
+				} while (!current.equals(first));
+				ring.add(first);
+				Coordinate[] coordinates = coordinates(ring);
+				double area = area(coordinates);
+				if (area > 0) {
+					shells.add(coordinates);
+				} else if (area < 0) {
+					holes.add(coordinates);
+				}
+			}
+		}
+		return polygons(shells, holes);
+	}
+
+	/**
+	 * Add the segment from a to b to the boundary segments, unless the
+	 * opposite segment from b to a is present, which is removed instead.
+	 */
+	private static void addSegment(Map<Pnt, List<Pnt>> segments, Pnt a,
+			Pnt b)
+	{
+		List<Pnt> opposite = segments.get(b);
+		if (opposite != null && opposite.remove(a)) {
+			return;
+		}
+		List<Pnt> targets = segments.get(a);
+		if (targets == null) {
+			targets = new ArrayList<>(1);
+			segments.put(a, targets);
+		}
+		targets.add(b);
+	}
+
+	/**
+	 * Choose the segment to continue a ring with, which arrived at current
+	 * from previous. Where several rings touch at a point, the segment that
+	 * follows the incoming one clockwise around the point is chosen, so that
+	 * each ring keeps to the region on its left and rings do not cross.
+	 * 
+	 * @return the index of the chosen target.
+	 */
+	private static int next(Pnt previous, Pnt current, List<Pnt> targets)
+	{
+		int n = targets.size();
+		if (n == 1 || previous == null) {
+			return n - 1;
+		}
+		double x = current.coord(0), y = current.coord(1);
+		double back = Math.atan2(previous.coord(1) - y,
+				previous.coord(0) - x);
+		int best = -1;
+		double bestAngle = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			Pnt target = targets.get(i);
+			double angle = back - Math.atan2(target.coord(1) - y,
+					target.coord(0) - x);
+			while (angle <= 0) {
+				angle += 2 * Math.PI;
+			}
+			if (angle < bestAngle) {
+				best = i;
+				bestAngle = angle;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Build polygons from counterclockwise shells and clockwise holes by
+	 * assigning each hole to the smallest shell that contains it. Since a
+	 * hole may touch its shell at a vertex, but not along an edge, the
+	 * midpoint of an edge of the hole is tested for containment.
+	 */
+	private List<Polygon> polygons(List<Coordinate[]> shells,
+			List<Coordinate[]> holes)
+	{
+		int n = shells.size();
+		Envelope[] envelopes = new Envelope[n];
+		double[] areas = new double[n];
+		List<List<LinearRing>> assigned = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			envelopes[i] = new Envelope();
+			for (Coordinate coordinate : shells.get(i)) {
+				envelopes[i].expandToInclude(coordinate);
+			}
+			areas[i] = area(shells.get(i));
+			assigned.add(new ArrayList<LinearRing>());
+		}
+		for (Coordinate[] hole : holes) {
+			Coordinate c = new Coordinate((hole[0].x + hole[1].x) / 2,
+					(hole[0].y + hole[1].y) / 2);
+			int best = -1;
+			for (int i = 0; i < n; i++) {
+				if (envelopes[i].contains(c.x, c.y)
+						&& contains(shells.get(i), c)
+						&& (best < 0 || areas[i] < areas[best])) {
+					best = i;
+				}
+			}
+			if (best >= 0) {
+				assigned.get(best).add(factory.createLinearRing(hole));
+			}
+		}
+		List<Polygon> polygons = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			List<LinearRing> interior = assigned.get(i);
+			polygons.add(factory.createPolygon(
+					factory.createLinearRing(shells.get(i)),
+					interior.toArray(new LinearRing[interior.size()])));
+		}
+		return polygons;
+	}
+
+	/**
+	 * Append a point to a piece unless it equals the last point, which
+	 * happens if a crossing coincides with a vertex.
+	 */
+	private static void add(List<Pnt> piece, Pnt point)
+	{
+		int m = piece.size();
+		if (m == 0 || !piece.get(m - 1).equals(point)) {
+			piece.add(point);
+		}
+	}
+
+	/**
+	 * True iff all vertices of the triangle are sites.
+	 */
+	private boolean isComplete(Triangle triangle)
+	{
+		if (triangle.isInfinite()) {
+			return false;
+		}
+		for (Pnt vertex : triangle) {
+			if (!t.isSite(vertex)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private double value(Pnt site)
+	{
+		return value.applyAsDouble(t.getData().get(site));
+	}
+
+	/**
+	 * Compute the point where the edge (a, b) crosses a level. The result
+	 * does not depend on the order of a and b, so both triangles sharing the
+	 * edge get exactly the same point. If a vertex has a value exactly at the
+	 * level, the vertex itself is returned rather than an interpolated point
+	 * that may differ from it by rounding.
+	 */
+	private Pnt crossing(Pnt a, Pnt b, double level)
+	{
+		if (a.coord(0) > b.coord(0)
+				|| a.coord(0) == b.coord(0) && a.coord(1) > b.coord(1)) {
+			Pnt tmp = a;
+			a = b;
+			b = tmp;
+		}
+		double va = value(a), vb = value(b);
+		if (va == level) {
+			return a;
+		} else if (vb == level) {
+			return b;
+		}
+		double s = (level - va) / (vb - va);
+		double ax = a.coord(0), ay = a.coord(1);
+		return new Pnt(ax + s * (b.coord(0) - ax), ay + s * (b.coord(1) - ay));
+	}
+
+	/**
+	 * Positive if c is left of the line from a to b, negative if it is to the
+	 * right.
+	 */
+	private static double side(Pnt a, Pnt b, Pnt c)
+	{
+		double ax = a.coord(0), ay = a.coord(1);
+		return (b.coord(0) - ax) * (c.coord(1) - ay)
+				- (b.coord(1) - ay) * (c.coord(0) - ax);
+	}
+
+	private static Coordinate[] coordinates(List<Pnt> points)
+	{
+		Coordinate[] coordinates = new Coordinate[points.size()];
+		for (int i = 0; i < coordinates.length; i++) {
+			Pnt point = points.get(i);
+			coordinates[i] = new Coordinate(point.coord(0), point.coord(1));
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Signed area of a closed ring, positive if counterclockwise.
+	 */
+	private static double area(Coordinate[] ring)
+	{
+		double area = 0;
+		for (int i = 0; i + 1 < ring.length; i++) {
+			area += ring[i].x * ring[i + 1].y - ring[i + 1].x * ring[i].y;
+		}
+		return area / 2;
+	}
+
+	/**
+	 * Test whether a closed ring contains a point by counting crossings of a
+	 * ray.
+	 */
+	private static boolean contains(Coordinate[] ring, Coordinate c)
+	{
+		boolean inside = false;
+		for (int i = 0; i + 1 < ring.length; i++) {
+			Coordinate p = ring[i], q = ring[i + 1];
+			if (p.y > c.y != q.y > c.y
+					&& c.x < p.x + (c.y - p.y) / (q.y - p.y) * (q.x - p.x)) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+}
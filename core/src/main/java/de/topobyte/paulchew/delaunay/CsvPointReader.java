@@ -0,0 +1,433 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reads points from a CSV file. The file is split into chunks of roughly
+ * equal size that are memory mapped and parsed in parallel. Parsed chunks are
+ * delivered to the sink in input order while subsequent chunks are still
+ * being parsed. The number of chunks in flight is bounded, so that memory
+ * usage does not depend on the size of the file.
+ * 
+ * Each line contains one point. Fields are separated by the delimiter, by
+ * whitespace or by both, so files with values separated by spaces or tabs
+ * can be read as well. Lines may end with "\r\n" and blank lines are
+ * skipped. Unless configured otherwise, the first line is skipped if it
+ * cannot be parsed, i.e. if it is a header.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class CsvPointReader
+{
+
+	private static final int MAX_LINE_LENGTH = 1 << 16;
+
+	private final Path path;
+	private byte delimiter = ',';
+	private int xColumn = 0;
+	private int yColumn = 1;
+	private Boolean skipHeader = null; // Detect by default
+	private int chunkSize = 1 << 24;
+
+	/**
+	 * @param path
+	 *            the file to read.
+	 */
+	public CsvPointReader(Path path)
+	{
+		this.path = path;
+	}
+
+	/**
+	 * @param delimiter
+	 *            the character separating fields besides whitespace, must be
+	 *            an ASCII character.
+	 */
+	public void setDelimiter(char delimiter)
+	{
+		this.delimiter = (byte) delimiter;
+	}
+
+	/**
+	 * @param xColumn
+	 *            the index of the column containing x coordinates.
+	 * @param yColumn
+	 *            the index of the column containing y coordinates.
+	 */
+	public void setColumns(int xColumn, int yColumn)
+	{
+		this.xColumn = xColumn;
+		this.yColumn = yColumn;
+	}
+
+	/**
+	 * Configure whether the first line is a header. By default, it is
+	 * treated as a header if it cannot be parsed.
+	 * 
+	 * @param skipHeader
+	 *            whether the first line is a header and should be ignored.
+	 */
+	public void setSkipHeader(boolean skipHeader)
+	{
+		this.skipHeader = skipHeader;
+	}
+
+	/**
+	 * @param chunkSize
+	 *            the number of bytes to parse per task.
+	 */
+	public void setChunkSize(int chunkSize)
+	{
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Read all points and pass them to the sink in chunks.
+	 * 
+	 * @param sink
+	 *            the sink to deliver points to.
+	 * @return the number of points read.
+	 * @throws IOException
+	 *             on failure while reading or if a line cannot be parsed.
+	 */
+	public long read(PointSink sink) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			long chunks = (size + chunkSize - 1) / chunkSize;
+			int window = 2 * ForkJoinPool.getCommonPoolParallelism();
+
+			Deque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+			long next = 0;
+			long total = 0;
+			try {
+				while (next < chunks || !inFlight.isEmpty()) {
+					while (next < chunks && inFlight.size() < window) {
+						final long index = next++;
+						inFlight.add(CompletableFuture.supplyAsync(
+								() -> parse(channel, size, index)));
+					}
+					Chunk chunk = join(inFlight.remove());
+					sink.accept(chunk.xs, chunk.ys, chunk.n);
+					total += chunk.n;
+				}
+			} catch (IOException | RuntimeException | Error e) {
+				// Chunks that have not started yet must not use the channel
+				// after it has been closed
+				for (CompletableFuture<Chunk> future : inFlight) {
+					future.cancel(false);
+				}
+				throw e;
+			}
+			return total;
+		}
+	}
+
+	private static Chunk join(CompletableFuture<Chunk> future)
+			throws IOException
+	{
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static class Chunk
+	{
+
+		double[] xs = new double[1024];
+		double[] ys = new double[1024];
+		int n = 0;
+
+		void add(double x, double y)
+		{
+			if (n == xs.length) {
+				xs = Arrays.copyOf(xs, n * 2);
+				ys = Arrays.copyOf(ys, n * 2);
+			}
+			xs[n] = x;
+			ys[n] = y;
+			n++;
+		}
+
+	}
+
+	/**
+	 * Parse the lines that start within the index-th chunk of the file.
+	 */
+	private Chunk parse(FileChannel channel, long size, long index)
+	{
+		long start = index * chunkSize;
+		long end = Math.min(size, start + chunkSize);
+		// Map one byte before the chunk to detect whether the chunk starts
+		// with a new line and enough bytes after the chunk to finish the last
+		// line.
+		long mapStart = Math.max(0, start - 1);
+		long mapEnd = Math.min(size, end + MAX_LINE_LENGTH);
+		MappedByteBuffer buffer;
+		try {
+			buffer = channel.map(MapMode.READ_ONLY, mapStart,
+					mapEnd - mapStart);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int limit = (int) (end - mapStart);
+		int length = (int) (mapEnd - mapStart);
+		int pos = (int) (start - mapStart);
+		if (start > 0 && buffer.get(pos - 1) != '\n') {
+			pos = skipLine(buffer, pos, length);
+		} else if (start == 0 && isHeader(buffer, pos, length)) {
+			pos = skipLine(buffer, pos, length);
+		}
+
+		Chunk chunk = new Chunk();
+		double[] values = new double[2];
+		while (pos < limit) {
+			int lineEnd = pos;
+			while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+			if (lineEnd == length && mapEnd < size) {
+				throw new UncheckedIOException(new IOException(
+						"line too long at offset " + (mapStart + pos)));
+			}
+			if (parseLine(buffer, pos, lineEnd, values)) {
+				chunk.add(values[0], values[1]);
+			}
+			pos = lineEnd + 1;
+		}
+		return chunk;
+	}
+
+	private static int skipLine(MappedByteBuffer buffer, int pos, int length)
+	{
+		while (pos < length && buffer.get(pos) != '\n') {
+			pos++;
+		}
+		return pos + 1;
+	}
+
+	/**
+	 * Determine whether the first line, which starts at pos, is a header.
+	 */
+	private boolean isHeader(MappedByteBuffer buffer, int pos, int length)
+	{
+		if (skipHeader != null) {
+			return skipHeader;
+		}
+		int lineEnd = pos;
+		while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+			lineEnd++;
+		}
+		try {
+			parseLine(buffer, pos, lineEnd, new double[2]);
+			return false;
+		} catch (UncheckedIOException e) {
+			return true;
+		}
+	}
+
+	private static boolean isSpace(byte b)
+	{
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	private static int skipSpace(MappedByteBuffer buffer, int pos, int end)
+	{
+		while (pos < end && isSpace(buffer.get(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Parse the coordinates from the line in the range [start, end).
+	 * 
+	 * @return false for blank lines.
+	 */
+	private boolean parseLine(MappedByteBuffer buffer, int start, int end,
+			double[] values)
+	{
+		int i = skipSpace(buffer, start, end);
+		if (i == end) {
+			return false;
+		}
+		int found = 0;
+		int last = Math.max(xColumn, yColumn);
+		for (int column = 0; column <= last; column++) {
+			int fieldStart = i;
+			while (i < end && !isSpace(buffer.get(i))
+					&& buffer.get(i) != delimiter) {
+				i++;
+			}
+			if (column == xColumn) {
+				values[0] = parseDouble(buffer, fieldStart, i);
+				found++;
+			}
+			if (column == yColumn) {
+				values[1] = parseDouble(buffer, fieldStart, i);
+				found++;
+			}
+			// A delimiter may be surrounded by whitespace
+			i = skipSpace(buffer, i, end);
+			if (i < end && buffer.get(i) == delimiter) {
+				i = skipSpace(buffer, i + 1, end);
+			} else if (i == end) {
+				break;
+			}
+		}
+		if (found != 2) {
+			throw new UncheckedIOException(new IOException(
+					"missing columns in line: " + string(buffer, start, end)));
+		}
+		return true;
+	}
+
+	/**
+	 * Exact powers of ten that can be represented as a double.
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+			1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * Parse a decimal number without creating a String. Numbers with at most
+	 * 15 significant digits are handled directly with a single, correctly
+	 * rounded floating point operation; anything else is passed to
+	 * {@link Double#parseDouble(String)}, so the result is always exact.
+	 */
+	static double parseDouble(MappedByteBuffer buffer, int start, int end)
+	{
+		while (start < end && buffer.get(start) == ' ') {
+			start++;
+		}
+		while (end > start && buffer.get(end - 1) == ' ') {
+			end--;
+		}
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean any = false;
+		for (; i < end; i++) {
+			byte b = buffer.get(i);
+			if (b < '0' || b > '9') {
+				break;
+			}
+			any = true;
+			if (mantissa != 0 || b != '0') {
+				mantissa = mantissa * 10 + (b - '0');
+				digits++;
+			}
+		}
+		if (i < end && buffer.get(i) == '.') {
+			for (i++; i < end; i++) {
+				byte b = buffer.get(i);
+				if (b < '0' || b > '9') {
+					break;
+				}
+				any = true;
+				if (mantissa != 0 || b != '0') {
+					mantissa = mantissa * 10 + (b - '0');
+					digits++;
+				}
+				exponent--;
+			}
+		}
+		if (i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+				negativeExponent = buffer.get(i) == '-';
+				i++;
+			}
+			int e = 0;
+			int exponentDigits = 0;
+			for (; i < end && exponentDigits < 5; i++, exponentDigits++) {
+				byte b = buffer.get(i);
+				if (b < '0' || b > '9') {
+					break;
+				}
+				e = e * 10 + (b - '0');
+			}
+			if (exponentDigits == 0) {
+				any = false;
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		if (!any || i != end || digits > 15 || exponent < -22
+				|| exponent > 22) {
+			return slowParseDouble(buffer, start, end);
+		}
+		double value = mantissa;
+		if (exponent < 0) {
+			value /= POWERS_OF_TEN[-exponent];
+		} else {
+			value *= POWERS_OF_TEN[exponent];
+		}
+		return negative ? -value : value;
+	}
+
+	private static double slowParseDouble(MappedByteBuffer buffer, int start,
+			int end)
+	{
+		String string = string(buffer, start, end);
+		try {
+			return Double.parseDouble(string);
+		} catch (NumberFormatException e) {
+			throw new UncheckedIOException(new IOException(
+					"invalid number: '" + string + "'"));
+		}
+	}
+
+	private static String string(MappedByteBuffer buffer, int start, int end)
+	{
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+}
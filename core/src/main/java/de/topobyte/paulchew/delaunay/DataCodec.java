@@ -0,0 +1,104 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Describes how the objects associated with sites are written by
+ * {@link MeshExporter}. Objects are exported as a single property that is
+ * either an integer or a string.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class DataCodec<T>
+{
+
+	private final String name;
+	private final ToLongFunction<T> numeric;
+	private final Function<T, String> text;
+
+	private DataCodec(String name, ToLongFunction<T> numeric,
+			Function<T, String> text)
+	{
+		this.name = name;
+		this.numeric = numeric;
+		this.text = text;
+	}
+
+	/**
+	 * Create a codec that exports objects as integer properties.
+	 * 
+	 * @param name
+	 *            the name of the property.
+	 * @param function
+	 *            the function that maps objects to integers.
+	 * @return the new codec.
+	 */
+	public static <T> DataCodec<T> ofLong(String name,
+			ToLongFunction<T> function)
+	{
+		return new DataCodec<>(name, function, null);
+	}
+
+	/**
+	 * Create a codec that exports objects as string properties.
+	 * 
+	 * @param name
+	 *            the name of the property.
+	 * @param function
+	 *            the function that maps objects to strings.
+	 * @return the new codec.
+	 */
+	public static <T> DataCodec<T> ofString(String name,
+			Function<T, String> function)
+	{
+		return new DataCodec<>(name, null, function);
+	}
+
+	/**
+	 * @return the name of the property.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return whether objects are encoded as integers rather than strings.
+	 */
+	public boolean isNumeric()
+	{
+		return numeric != null;
+	}
+
+	long encodeLong(T thing)
+	{
+		return numeric.applyAsLong(thing);
+	}
+
+	String encodeString(T thing)
+	{
+		return text.apply(thing);
+	}
+
+}
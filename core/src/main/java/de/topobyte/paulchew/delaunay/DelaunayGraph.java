@@ -0,0 +1,289 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, array-based snapshot of the Delaunay graph of a
+ * triangulation. Sites are numbered from 0 to size() - 1 in the order of a
+ * Hilbert curve, so that sites with close numbers tend to be close in space.
+ * The neighbors of each site are stored in rotational order in one shared
+ * array; vertices of the initial triangle and the vertex at infinity are
+ * represented as -1.
+ * 
+ * Since the snapshot consists of a few primitive arrays only, it is compact
+ * and all queries are safe to be executed from multiple threads concurrently.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class DelaunayGraph<T>
+{
+
+	private static final int GRAIN = 4096;
+
+	private final int n;
+	private final Pnt[] sites;
+	private final double[] xs, ys;
+	private final List<T> data;
+
+	private final int[] offsets; // Neighbors of i: [offsets[i], offsets[i+1])
+	private final int[] neighbors;
+
+	private final HilbertCurve curve;
+	private final long[] keys; // Curve index of each site, ascending
+
+	/**
+	 * Create a snapshot of the current state of a triangulation.
+	 * 
+	 * @param t
+	 *            the triangulation.
+	 */
+	public DelaunayGraph(final Triangulation<T> t)
+	{
+		Map<Pnt, T> pointToData = t.getData();
+		n = pointToData.size();
+		Pnt[] unordered = pointToData.keySet().toArray(new Pnt[0]);
+		double[] ux = new double[n];
+		double[] uy = new double[n];
+		for (int i = 0; i < n; i++) {
+			ux[i] = unordered[i].coord(0);
+			uy[i] = unordered[i].coord(1);
+		}
+
+		curve = HilbertCurve.of(ux, uy, n);
+		int[] order = curve.sort(ux, uy, n);
+
+		sites = new Pnt[n];
+		xs = new double[n];
+		ys = new double[n];
+		keys = new long[n];
+		data = new ArrayList<>(n);
+		final Map<Pnt, Integer> index = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			int o = order[i];
+			sites[i] = unordered[o];
+			xs[i] = ux[o];
+			ys[i] = uy[o];
+			keys[i] = curve.key(xs[i], ys[i]);
+			data.add(pointToData.get(sites[i]));
+			index.put(sites[i], i);
+		}
+
+		// Collect the rings in parallel, then concatenate them
+		final int[][] rings = new int[n][];
+		ParallelUtil.forEachRange(n, GRAIN, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				List<Pnt> adjacent = t.adjacentVertices(sites[i]);
+				int[] ring = new int[adjacent.size()];
+				for (int k = 0; k < ring.length; k++) {
+					Integer j = index.get(adjacent.get(k));
+					ring[k] = j == null ? -1 : j;
+				}
+				rings[i] = ring;
+			}
+		});
+		offsets = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] = offsets[i] + rings[i].length;
+		}
+		neighbors = new int[offsets[n]];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(rings[i], 0, neighbors, offsets[i],
+					rings[i].length);
+		}
+	}
+
+	/**
+	 * @return the number of sites.
+	 */
+	public int size()
+	{
+		return n;
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the site.
+	 */
+	public Pnt getSite(int i)
+	{
+		return sites[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the x coordinate of the site.
+	 */
+	public double getX(int i)
+	{
+		return xs[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the y coordinate of the site.
+	 */
+	public double getY(int i)
+	{
+		return ys[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the object associated with the site.
+	 */
+	public T getData(int i)
+	{
+		return data.get(i);
+	}
+
+	/**
+	 * The neighbors of site i are stored at positions
+	 * {@code getNeighborsStart(i)} (inclusive) to {@code getNeighborsStart(i +
+	 * 1)} (exclusive) and can be retrieved using {@link #getNeighbor(int)}.
+	 * 
+	 * @param i
+	 *            the number of a site, may be size() as well.
+	 * @return the position of the first neighbor of site i.
+	 */
+	public int getNeighborsStart(int i)
+	{
+		return offsets[i];
+	}
+
+	/**
+	 * @param position
+	 *            a position in the neighbor array.
+	 * @return the number of the neighboring site or -1 if the neighbor is a
+	 *         vertex of the initial triangle or the vertex at infinity.
+	 */
+	public int getNeighbor(int position)
+	{
+		return neighbors[position];
+	}
+
+	/**
+	 * Find the site nearest to the specified position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position.
+	 * @param y
+	 *            the y coordinate of the query position.
+	 * @return the number of the nearest site; -1 if there are no sites.
+	 */
+	public int nearestSite(double x, double y)
+	{
+		if (n == 0) {
+			return -1;
+		}
+		return walk(x, y, start(x, y));
+	}
+
+	/**
+	 * Find the nearest site for each of the specified positions.
+	 * 
+	 * The positions are processed in the order of a Hilbert curve and each
+	 * search starts at the result of the previous one, which typically is
+	 * close. Chunks of consecutive positions are processed in parallel.
+	 * 
+	 * @param qx
+	 *            the x coordinates of the query positions.
+	 * @param qy
+	 *            the y coordinates of the query positions.
+	 * @return for each position the number of the nearest site; all -1 if
+	 *         there are no sites.
+	 */
+	public int[] nearestSites(final double[] qx, final double[] qy)
+	{
+		int m = qx.length;
+		final int[] result = new int[m];
+		if (n == 0) {
+			Arrays.fill(result, -1);
+			return result;
+		}
+
+		final int[] order = HilbertCurve.of(qx, qy, m).sort(qx, qy, m);
+		ParallelUtil.forEachRange(m, GRAIN, (from, to) -> {
+			int first = order[from];
+			int current = start(qx[first], qy[first]);
+			for (int i = from; i < to; i++) {
+				int q = order[i];
+				current = walk(qx[q], qy[q], current);
+				result[q] = current;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Find a site close to the specified position by looking up its position
+	 * on the Hilbert curve.
+	 */
+	private int start(double x, double y)
+	{
+		int i = Arrays.binarySearch(keys, curve.key(x, y));
+		if (i < 0) {
+			i = -i - 1;
+		}
+		return i < n ? i : n - 1;
+	}
+
+	/**
+	 * Walk from site start towards the specified position as long as the
+	 * distance decreases.
+	 */
+	private int walk(double x, double y, int start)
+	{
+		int current = start;
+		double dx = xs[current] - x, dy = ys[current] - y;
+		double best = dx * dx + dy * dy;
+		while (true) {
+			int next = -1;
+			for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+				int j = neighbors[k];
+				if (j < 0) {
+					continue;
+				}
+				dx = xs[j] - x;
+				dy = ys[j] - y;
+				double d = dx * dx + dy * dy;
+				if (d < best) {
+					best = d;
+					next = j;
+				}
+			}
+			if (next < 0) {
+				return current;
+			}
+			current = next;
+		}
+	}
+
+}
@@ -17,7 +17,11 @@
 
 package de.topobyte.paulchew.delaunay;
 
+import org.locationtech.jts.geom.Envelope;
+
 import com.infomatiq.jsi.Rectangle;
+import com.slimjars.dist.gnu.trove.list.TDoubleList;
+import com.slimjars.dist.gnu.trove.list.array.TDoubleArrayList;
 
 /**
  * Several methods that are provided for for speeding up the generation of a
@@ -110,4 +114,159 @@ public class DelaunayUtil
 		return new Rectangle((float) x0, (float) y0, (float) x1, (float) y1);
 	}
 
+	/**
+	 * Create a Rectangle that contains the specified envelope.
+	 * 
+	 * @param envelope
+	 *            the envelope to convert.
+	 * @return the constructed rectangle.
+	 */
+	public static Rectangle envelopeBox(Envelope envelope)
+	{
+		return new Rectangle((float) envelope.getMinX(),
+				(float) envelope.getMinY(), (float) envelope.getMaxX(),
+				(float) envelope.getMaxY());
+	}
+
+	/**
+	 * Test whether a convex polygon intersects a rectangle (closed sets). The
+	 * polygon is specified by its vertices in cyclic order, either clockwise
+	 * or counterclockwise. The separating axis theorem is used, so the test is
+	 * exact up to floating point rounding and does not allocate.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the polygon vertices.
+	 * @param ys
+	 *            the y coordinates of the polygon vertices.
+	 * @param n
+	 *            the number of vertices.
+	 * @param refX
+	 *            x coordinate of a reference point inside the polygon.
+	 * @param refY
+	 *            y coordinate of a reference point inside the polygon.
+	 * @param envelope
+	 *            the rectangle to test against.
+	 * @return whether the polygon and the rectangle intersect.
+	 */
+	public static boolean convexPolygonIntersects(double[] xs, double[] ys,
+			int n, double refX, double refY, Envelope envelope)
+	{
+		double minX = envelope.getMinX(), maxX = envelope.getMaxX();
+		double minY = envelope.getMinY(), maxY = envelope.getMaxY();
+
+		// Axes of the rectangle
+		boolean left = true, right = true, below = true, above = true;
+		for (int i = 0; i < n; i++) {
+			left &= xs[i] < minX;
+			right &= xs[i] > maxX;
+			below &= ys[i] < minY;
+			above &= ys[i] > maxY;
+		}
+		if (left || right || below || above) {
+			return false;
+		}
+
+		// Edge normals of the polygon
+		for (int i = 0; i < n; i++) {
+			int j = i + 1 == n ? 0 : i + 1;
+			double nx = ys[j] - ys[i];
+			double ny = xs[i] - xs[j];
+			if (nx == 0 && ny == 0) {
+				continue;
+			}
+			double ref = nx * (refX - xs[i]) + ny * (refY - ys[i]);
+			if (ref == 0) {
+				continue;
+			}
+			// All corners must be on the opposite side of the reference point
+			boolean separated = true;
+			for (int c = 0; c < 4 && separated; c++) {
+				double cx = (c & 1) == 0 ? minX : maxX;
+				double cy = (c & 2) == 0 ? minY : maxY;
+				double side = nx * (cx - xs[i]) + ny * (cy - ys[i]);
+				separated = ref > 0 ? side < 0 : side > 0;
+			}
+			if (separated) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Test whether a triangle intersects a rectangle.
+	 * 
+	 * @param triangle
+	 *            the triangle to test.
+	 * @param envelope
+	 *            the rectangle to test against.
+	 * @return whether the triangle and the rectangle intersect.
+	 */
+	public static boolean triangleIntersects(Triangle triangle,
+			Envelope envelope)
+	{
+		double[] xs = new double[3];
+		double[] ys = new double[3];
+		for (int i = 0; i < 3; i++) {
+			Pnt vertex = triangle.get(i);
+			xs[i] = vertex.coord(0);
+			ys[i] = vertex.coord(1);
+		}
+		double cx = (xs[0] + xs[1] + xs[2]) / 3;
+		double cy = (ys[0] + ys[1] + ys[2]) / 3;
+		return convexPolygonIntersects(xs, ys, 3, cx, cy, envelope);
+	}
+
+	/**
+	 * Clip a convex polygon to a rectangle. The polygon is replaced with its
+	 * intersection with the rectangle, which has less than three vertices if
+	 * they do not intersect.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the polygon's vertices, without
+	 *            repeating the first vertex.
+	 * @param ys
+	 *            the y coordinates of the polygon's vertices, without
+	 *            repeating the first vertex.
+	 * @param envelope
+	 *            the rectangle to clip to.
+	 */
+	public static void clipConvexPolygon(TDoubleList xs, TDoubleList ys,
+			Envelope envelope)
+	{
+		TDoubleList tx = new TDoubleArrayList(xs.size() + 4);
+		TDoubleList ty = new TDoubleArrayList(xs.size() + 4);
+		clip(xs, ys, 1, 0, -envelope.getMinX(), tx, ty);
+		clip(tx, ty, -1, 0, envelope.getMaxX(), xs, ys);
+		clip(xs, ys, 0, 1, -envelope.getMinY(), tx, ty);
+		clip(tx, ty, 0, -1, envelope.getMaxY(), xs, ys);
+	}
+
+	/**
+	 * Keep the part of a polygon where a * x + b * y + c is not negative.
+	 */
+	private static void clip(TDoubleList xs, TDoubleList ys, double a,
+			double b, double c, TDoubleList outX, TDoubleList outY)
+	{
+		outX.clear();
+		outY.clear();
+		int n = xs.size();
+		for (int i = 0; i < n; i++) {
+			int j = i + 1 == n ? 0 : i + 1;
+			double x1 = xs.get(i), y1 = ys.get(i);
+			double x2 = xs.get(j), y2 = ys.get(j);
+			double d1 = a * x1 + b * y1 + c;
+			double d2 = a * x2 + b * y2 + c;
+			if (d1 >= 0) {
+				outX.add(x1);
+				outY.add(y1);
+			}
+			if ((d1 >= 0) != (d2 >= 0)) {
+				double f = d1 / (d1 - d2);
+				outX.add(x1 + f * (x2 - x1));
+				outY.add(y1 + f * (y2 - y1));
+			}
+		}
+	}
+
 }
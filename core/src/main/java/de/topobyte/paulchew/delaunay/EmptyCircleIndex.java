@@ -0,0 +1,354 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * An index of the empty circles of a triangulation, i.e. the circumcircles
+ * of its triangles, that answers queries for the largest ones. The
+ * circumcircle of a Delaunay triangle contains no site, and its center is a
+ * vertex of the Voronoi Diagram. The largest empty circle whose center lies
+ * within a region is thus found among the circumcircles of the triangles
+ * whose circumcenter lies in the region, apart from circles centered on the
+ * boundary of the region.
+ *
+ * The triangles are kept in a binary max-heap ordered by circumradius. The
+ * index adds a {@link TriangulationListener} to the triangulation and
+ * updates the heap as sites are inserted, which takes logarithmic time per
+ * created or destroyed triangle. Triangles at infinity and triangles with a
+ * vertex of the initial triangle are not indexed, as their circles are not
+ * bounded by three sites.
+ *
+ * The index is not thread-safe, queries must not run concurrently with
+ * modifications of the triangulation.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class EmptyCircleIndex
+{
+
+	private final Triangulation<?> triangulation;
+	private final TriangulationListener changes = new Changes();
+	private final Triangle initial;
+
+	// Circumcenters must lie within this envelope and polygon, if not null
+	private final Envelope envelope;
+	private final Coordinate[][] rings;
+
+	private Triangle[] heap = new Triangle[16];
+	private double[] radii = new double[16]; // Squared circumradius
+	private int size = 0;
+	private final Map<Triangle, Integer> positions = new HashMap<>();
+
+	/**
+	 * Create an index of all empty circles of a triangulation.
+	 *
+	 * @param triangulation
+	 *            the triangulation to index.
+	 */
+	public EmptyCircleIndex(Triangulation<?> triangulation)
+	{
+		this(triangulation, null, null);
+	}
+
+	/**
+	 * Create an index of the empty circles of a triangulation whose centers
+	 * lie within a rectangle.
+	 *
+	 * @param triangulation
+	 *            the triangulation to index.
+	 * @param region
+	 *            the rectangle that contains the centers of indexed circles.
+	 */
+	public EmptyCircleIndex(Triangulation<?> triangulation, Envelope region)
+	{
+		this(triangulation, region, null);
+	}
+
+	/**
+	 * Create an index of the empty circles of a triangulation whose centers
+	 * lie within a polygon.
+	 *
+	 * @param triangulation
+	 *            the triangulation to index.
+	 * @param region
+	 *            the polygon that contains the centers of indexed circles.
+	 */
+	public EmptyCircleIndex(Triangulation<?> triangulation, Polygon region)
+	{
+		this(triangulation, region.getEnvelopeInternal(), rings(region));
+	}
+
+	private EmptyCircleIndex(Triangulation<?> triangulation,
+			Envelope envelope, Coordinate[][] rings)
+	{
+		this.triangulation = triangulation;
+		this.envelope = envelope;
+		this.rings = rings;
+		initial = triangulation.getInitialTriangle();
+		for (Triangle triangle : triangulation) {
+			add(triangle);
+		}
+		triangulation.addListener(changes);
+	}
+
+	private static Coordinate[][] rings(Polygon polygon)
+	{
+		int holes = polygon.getNumInteriorRing();
+		Coordinate[][] rings = new Coordinate[holes + 1][];
+		rings[0] = polygon.getExteriorRing().getCoordinates();
+		for (int i = 0; i < holes; i++) {
+			rings[i + 1] = polygon.getInteriorRingN(i).getCoordinates();
+		}
+		return rings;
+	}
+
+	/**
+	 * Stop tracking the triangulation. Other listeners of the triangulation
+	 * are not affected.
+	 */
+	public void detach()
+	{
+		triangulation.removeListener(changes);
+	}
+
+	/**
+	 * @return the number of indexed circles.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return the triangle with the largest circumcircle; null if there are
+	 *         no indexed circles.
+	 */
+	public Triangle getLargest()
+	{
+		return size == 0 ? null : heap[0];
+	}
+
+	/**
+	 * @return the radius of the largest circle; 0 if there are no indexed
+	 *         circles.
+	 */
+	public double getLargestRadius()
+	{
+		return size == 0 ? 0 : Math.sqrt(radii[0]);
+	}
+
+	/**
+	 * Retrieve the triangles with the k largest circumcircles. The heap is
+	 * explored best first, which takes O(k log k) time.
+	 *
+	 * @param k
+	 *            the number of circles to retrieve.
+	 * @return the triangles ordered by decreasing circumradius; fewer than k
+	 *         if there are fewer indexed circles.
+	 */
+	public List<Triangle> getLargest(int k)
+	{
+		int m = Math.min(k, size);
+		List<Triangle> result = new ArrayList<>(m);
+		if (m <= 0) {
+			return result;
+		}
+		PriorityQueue<Integer> candidates = new PriorityQueue<>(
+				(a, b) -> Double.compare(radii[b], radii[a]));
+		candidates.add(0);
+		while (result.size() < m) {
+			int i = candidates.poll();
+			result.add(heap[i]);
+			for (int child = 2 * i + 1; child <= 2 * i + 2; child++) {
+				if (child < size) {
+					candidates.add(child);
+				}
+			}
+		}
+		return result;
+	}
+
+	private boolean accept(Triangle triangle)
+	{
+		if (triangle.isInfinite()) {
+			return false;
+		}
+		if (initial != null) {
+			for (Pnt vertex : triangle) {
+				if (initial.contains(vertex)) {
+					return false;
+				}
+			}
+		}
+		double radiusSq = triangle.getCircumradiusSq();
+		if (Double.isNaN(radiusSq) || Double.isInfinite(radiusSq)) {
+			return false;
+		}
+		double x = triangle.getCircumcenterX();
+		double y = triangle.getCircumcenterY();
+		if (envelope != null && !envelope.contains(x, y)) {
+			return false;
+		}
+		if (rings == null) {
+			return true;
+		}
+		boolean inside = false;
+		for (Coordinate[] ring : rings) {
+			if (contains(ring, x, y)) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+	/**
+	 * Test whether a closed ring contains a point by counting crossings of a
+	 * ray.
+	 */
+	private static boolean contains(Coordinate[] ring, double x, double y)
+	{
+		boolean inside = false;
+		for (int i = 0; i + 1 < ring.length; i++) {
+			Coordinate p = ring[i], q = ring[i + 1];
+			if (p.y > y != q.y > y
+					&& x < p.x + (y - p.y) / (q.y - p.y) * (q.x - p.x)) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+	private void add(Triangle triangle)
+	{
+		if (!accept(triangle)) {
+			return;
+		}
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, 2 * size);
+			radii = Arrays.copyOf(radii, 2 * size);
+		}
+		heap[size] = triangle;
+		radii[size] = triangle.getCircumradiusSq();
+		positions.put(triangle, size);
+		up(size++);
+	}
+
+	private void remove(Triangle triangle)
+	{
+		Integer position = positions.remove(triangle);
+		if (position == null) {
+			return;
+		}
+		int i = position;
+		size--;
+		if (i == size) {
+			heap[size] = null;
+			return;
+		}
+		// Fill the gap with the last entry and restore the heap order
+		move(size, i);
+		heap[size] = null;
+		if (i > 0 && radii[i] > radii[(i - 1) / 2]) {
+			up(i);
+		} else {
+			down(i);
+		}
+	}
+
+	private void up(int i)
+	{
+		Triangle triangle = heap[i];
+		double radius = radii[i];
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (radii[parent] >= radius) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		heap[i] = triangle;
+		radii[i] = radius;
+		positions.put(triangle, i);
+	}
+
+	private void down(int i)
+	{
+		Triangle triangle = heap[i];
+		double radius = radii[i];
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && radii[child + 1] > radii[child]) {
+				child++;
+			}
+			if (radius >= radii[child]) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+		heap[i] = triangle;
+		radii[i] = radius;
+		positions.put(triangle, i);
+	}
+
+	/**
+	 * Move the entry at position from to position to.
+	 */
+	private void move(int from, int to)
+	{
+		heap[to] = heap[from];
+		radii[to] = radii[from];
+		positions.put(heap[to], to);
+	}
+
+	/**
+	 * Keeps the heap up to date.
+	 */
+	private class Changes implements TriangulationListener
+	{
+
+		@Override
+		public void triangleAdded(Triangle triangle)
+		{
+			add(triangle);
+		}
+
+		@Override
+		public void triangleRemoved(Triangle triangle)
+		{
+			remove(triangle);
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A growable little-endian byte buffer that encoders write to. Instances are
+ * reused for many features to avoid allocating a buffer per feature.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class ExportBuffer
+{
+
+	private ByteBuffer buffer;
+
+	ExportBuffer(int capacity)
+	{
+		buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	int position()
+	{
+		return buffer.position();
+	}
+
+	void clear()
+	{
+		buffer.clear();
+	}
+
+	private void ensure(int bytes)
+	{
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		int capacity = Math.max(buffer.capacity() * 2,
+				buffer.position() + bytes);
+		ByteBuffer larger = ByteBuffer.allocate(capacity).order(
+				ByteOrder.LITTLE_ENDIAN);
+		buffer.flip();
+		larger.put(buffer);
+		buffer = larger;
+	}
+
+	void put(byte value)
+	{
+		ensure(1);
+		buffer.put(value);
+	}
+
+	void put(byte[] values)
+	{
+		ensure(values.length);
+		buffer.put(values);
+	}
+
+	void putShort(int value)
+	{
+		ensure(2);
+		buffer.putShort((short) value);
+	}
+
+	void putInt(int value)
+	{
+		ensure(4);
+		buffer.putInt(value);
+	}
+
+	void putLong(long value)
+	{
+		ensure(8);
+		buffer.putLong(value);
+	}
+
+	void putDouble(double value)
+	{
+		ensure(8);
+		buffer.putDouble(value);
+	}
+
+	/**
+	 * Overwrite a previously written int, e.g. a size or offset that was not
+	 * known at the time of writing.
+	 */
+	void putInt(int index, int value)
+	{
+		buffer.putInt(index, value);
+	}
+
+	/**
+	 * Append characters that are known to be ASCII.
+	 */
+	void putAscii(CharSequence chars)
+	{
+		ensure(chars.length());
+		for (int i = 0; i < chars.length(); i++) {
+			buffer.put((byte) chars.charAt(i));
+		}
+	}
+
+	/**
+	 * Append zero bytes until the distance from base is a multiple of
+	 * alignment.
+	 */
+	void align(int base, int alignment)
+	{
+		while ((buffer.position() - base) % alignment != 0) {
+			put((byte) 0);
+		}
+	}
+
+	/**
+	 * Write the content to the channel and clear this buffer.
+	 */
+	void writeTo(WritableByteChannel channel) throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,104 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Arrays;
+
+/**
+ * A polygon with a closed, counterclockwise ring and the objects whose
+ * properties are written along with it. Instances are reused to export many
+ * features.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+class ExportFeature<T>
+{
+
+	double[] xs = new double[16];
+	double[] ys = new double[16];
+	int n = 0; // Number of ring coordinates including the closing one
+
+	Object[] things = new Object[3];
+	int numThings = 0;
+
+	double minX, minY, maxX, maxY;
+
+	void clear()
+	{
+		n = 0;
+		numThings = 0;
+	}
+
+	void add(double x, double y)
+	{
+		if (n == xs.length) {
+			xs = Arrays.copyOf(xs, n * 2);
+			ys = Arrays.copyOf(ys, n * 2);
+		}
+		xs[n] = x;
+		ys[n] = y;
+		n++;
+	}
+
+	void addThing(Object thing)
+	{
+		things[numThings++] = thing;
+	}
+
+	@SuppressWarnings("unchecked")
+	T getThing(int i)
+	{
+		return (T) things[i];
+	}
+
+	/**
+	 * Make the ring counterclockwise, close it and compute the bounding box.
+	 */
+	void close()
+	{
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			int j = i + 1 == n ? 0 : i + 1;
+			area += xs[i] * ys[j] - xs[j] * ys[i];
+		}
+		if (area < 0) {
+			for (int i = 0, j = n - 1; i < j; i++, j--) {
+				double x = xs[i];
+				xs[i] = xs[j];
+				xs[j] = x;
+				double y = ys[i];
+				ys[i] = ys[j];
+				ys[j] = y;
+			}
+		}
+		add(xs[0], ys[0]);
+
+		minX = maxX = xs[0];
+		minY = maxY = ys[0];
+		for (int i = 1; i < n; i++) {
+			minX = Math.min(minX, xs[i]);
+			maxX = Math.max(maxX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes features in one of the formats supported by {@link MeshExporter}.
+ * Implementations must be stateless with respect to features, so that
+ * features can be encoded concurrently.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+abstract class FeatureEncoder<T>
+{
+
+	final DataCodec<T> codec;
+	final String[] names;
+
+	/**
+	 * @param codec
+	 *            the codec for the objects associated with features.
+	 * @param names
+	 *            the names of the properties, one per object of a feature.
+	 */
+	FeatureEncoder(DataCodec<T> codec, String[] names)
+	{
+		this.codec = codec;
+		this.names = names;
+	}
+
+	/**
+	 * Write the start of the output.
+	 * 
+	 * @param buffer
+	 *            the buffer to write to.
+	 * @param title
+	 *            a name for the exported data set.
+	 * @param count
+	 *            the number of features that will follow.
+	 * @param envelope
+	 *            the bounding box of all features as minX, minY, maxX, maxY
+	 *            or null if the format does not need it.
+	 */
+	void header(ExportBuffer buffer, String title, long count,
+			double[] envelope)
+	{
+		// Nothing to write by default
+	}
+
+	/**
+	 * Write a single feature.
+	 * 
+	 * @param buffer
+	 *            the buffer to write to.
+	 * @param index
+	 *            the position of the feature in the output.
+	 * @param feature
+	 *            the feature to write.
+	 */
+	abstract void feature(ExportBuffer buffer, long index,
+			ExportFeature<T> feature);
+
+	/**
+	 * Write the end of the output.
+	 * 
+	 * @param buffer
+	 *            the buffer to write to.
+	 */
+	void footer(ExportBuffer buffer)
+	{
+		// Nothing to write by default
+	}
+
+	/**
+	 * Write the properties of a feature as a sequence of values: integers as
+	 * 8 bytes, strings as their length in 4 bytes followed by their UTF-8
+	 * encoding. If columns is true, each value is preceded by its index as 2
+	 * bytes.
+	 */
+	void properties(ExportBuffer buffer, ExportFeature<T> feature,
+			boolean columns)
+	{
+		for (int i = 0; i < feature.numThings; i++) {
+			if (columns) {
+				buffer.putShort(i);
+			}
+			T thing = feature.getThing(i);
+			if (codec.isNumeric()) {
+				buffer.putLong(codec.encodeLong(thing));
+			} else {
+				byte[] bytes = codec.encodeString(thing).getBytes(
+						StandardCharsets.UTF_8);
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}
+		}
+	}
+
+}
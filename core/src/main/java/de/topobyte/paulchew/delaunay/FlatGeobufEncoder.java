@@ -0,0 +1,308 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes features in the FlatGeobuf format (version 3): a header, a packed
+ * Hilbert R-tree over the bounding boxes of all features and the features
+ * themselves, each encoded as a size-prefixed FlatBuffer.
+ * 
+ * The FlatBuffers are laid out front to back by hand, since their structure
+ * is fixed: a vtable followed by its table, followed by the vectors and
+ * strings the table refers to. Positions are aligned relative to the size
+ * prefix, as done by the reference implementation.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+class FlatGeobufEncoder<T> extends FeatureEncoder<T>
+{
+
+	static final int NODE_SIZE = 16;
+	static final int NODE_ITEM_BYTES = 40;
+
+	private static final byte[] MAGIC = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67,
+			0x62, 0x00 };
+
+	private static final int GEOMETRY_TYPE_POLYGON = 3;
+	private static final int COLUMN_TYPE_LONG = 7;
+	private static final int COLUMN_TYPE_STRING = 11;
+
+	FlatGeobufEncoder(DataCodec<T> codec, String[] names)
+	{
+		super(codec, names);
+	}
+
+	@Override
+	void header(ExportBuffer buffer, String title, long count,
+			double[] envelope)
+	{
+		buffer.put(MAGIC);
+		int base = buffer.position();
+		buffer.putInt(0); // Size, patched below
+		buffer.putInt(28); // Offset of the root table
+
+		// The vtable with the offsets of fields 0 to 9 within the table
+		int vtable = buffer.position();
+		buffer.putShort(24); // Size of the vtable
+		buffer.putShort(28); // Size of the table
+		buffer.putShort(4); // name
+		buffer.putShort(16); // envelope
+		buffer.putShort(26); // geometry_type
+		buffer.putShort(0); // has_z
+		buffer.putShort(0); // has_m
+		buffer.putShort(0); // has_t
+		buffer.putShort(0); // has_tm
+		buffer.putShort(20); // columns
+		buffer.putShort(8); // features_count
+		buffer.putShort(24); // index_node_size
+
+		int table = buffer.position();
+		buffer.putInt(table - vtable);
+		int nameField = buffer.position();
+		buffer.putInt(0);
+		buffer.putLong(count);
+		int envelopeField = buffer.position();
+		buffer.putInt(0);
+		int columnsField = buffer.position();
+		buffer.putInt(0);
+		buffer.putShort(count == 0 ? 0 : NODE_SIZE);
+		buffer.put((byte) GEOMETRY_TYPE_POLYGON);
+		buffer.put((byte) 0);
+
+		string(buffer, base, nameField, title);
+
+		buffer.align(base, 4);
+		if ((buffer.position() - base) % 8 != 4) {
+			buffer.putInt(0);
+		}
+		buffer.putInt(envelopeField, buffer.position() - envelopeField);
+		buffer.putInt(envelope.length);
+		for (double value : envelope) {
+			buffer.putDouble(value);
+		}
+
+		int vector = buffer.position();
+		buffer.putInt(columnsField, vector - columnsField);
+		buffer.putInt(names.length);
+		for (int i = 0; i < names.length; i++) {
+			buffer.putInt(0);
+		}
+		for (int i = 0; i < names.length; i++) {
+			// The vtable takes 8 bytes, so the table is aligned as well
+			buffer.align(base, 4);
+			int columnVtable = buffer.position();
+			buffer.putShort(8); // Size of the vtable
+			buffer.putShort(12); // Size of the table
+			buffer.putShort(4); // name
+			buffer.putShort(8); // type
+			int columnTable = buffer.position();
+			int element = vector + 4 + 4 * i;
+			buffer.putInt(element, columnTable - element);
+			buffer.putInt(columnTable - columnVtable);
+			int columnNameField = buffer.position();
+			buffer.putInt(0);
+			buffer.put((byte) (codec.isNumeric() ? COLUMN_TYPE_LONG
+					: COLUMN_TYPE_STRING));
+			buffer.align(base, 4);
+			string(buffer, base, columnNameField, names[i]);
+		}
+
+		buffer.align(base, 8);
+		buffer.putInt(base, buffer.position() - base - 4);
+	}
+
+	@Override
+	void feature(ExportBuffer buffer, long index, ExportFeature<T> feature)
+	{
+		int base = buffer.position();
+		buffer.putInt(0); // Size, patched below
+		buffer.putInt(12); // Offset of the root table
+
+		// Feature: geometry (field 0) and properties (field 1)
+		int vtable = buffer.position();
+		buffer.putShort(8);
+		buffer.putShort(12);
+		buffer.putShort(4);
+		buffer.putShort(feature.numThings > 0 ? 8 : 0);
+		int table = buffer.position();
+		buffer.putInt(table - vtable);
+		int geometryField = buffer.position();
+		buffer.putInt(0);
+		int propertiesField = buffer.position();
+		buffer.putInt(0);
+
+		// Geometry: xy (field 1) only, a single ring needs no ends
+		int geometryVtable = buffer.position();
+		buffer.putShort(8);
+		buffer.putShort(8);
+		buffer.putShort(0);
+		buffer.putShort(4);
+		int geometryTable = buffer.position();
+		buffer.putInt(geometryField, geometryTable - geometryField);
+		buffer.putInt(geometryTable - geometryVtable);
+		int xyField = buffer.position();
+		buffer.putInt(0);
+
+		// The length of the vector precedes its 8 byte aligned elements
+		buffer.align(base, 4);
+		if ((buffer.position() - base) % 8 != 4) {
+			buffer.putInt(0);
+		}
+		buffer.putInt(xyField, buffer.position() - xyField);
+		buffer.putInt(2 * feature.n);
+		for (int i = 0; i < feature.n; i++) {
+			buffer.putDouble(feature.xs[i]);
+			buffer.putDouble(feature.ys[i]);
+		}
+
+		if (feature.numThings > 0) {
+			int vector = buffer.position();
+			buffer.putInt(propertiesField, vector - propertiesField);
+			buffer.putInt(0);
+			properties(buffer, feature, true);
+			buffer.putInt(vector, buffer.position() - vector - 4);
+		}
+
+		buffer.align(base, 4);
+		buffer.putInt(base, buffer.position() - base - 4);
+	}
+
+	private static void string(ExportBuffer buffer, int base, int field,
+			String value)
+	{
+		buffer.align(base, 4);
+		buffer.putInt(field, buffer.position() - field);
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+		buffer.put((byte) 0);
+	}
+
+	/**
+	 * Compute the ranges of node positions of each level of a packed R-tree,
+	 * from the leaves up to the root. Nodes are stored from the root down to
+	 * the leaves.
+	 * 
+	 * @return for each level its first and last (exclusive) node position.
+	 */
+	static long[][] levelBounds(long numItems, int nodeSize)
+	{
+		// There is always a root level, even for a single item
+		int levels = 1;
+		long numNodes = numItems;
+		long n = numItems;
+		do {
+			n = (n + nodeSize - 1) / nodeSize;
+			numNodes += n;
+			levels++;
+		} while (n != 1);
+		long[][] bounds = new long[levels][2];
+		n = numItems;
+		long end = numNodes;
+		for (int level = 0; level < levels; level++) {
+			bounds[level][0] = end - n;
+			bounds[level][1] = end;
+			end -= n;
+			n = (n + nodeSize - 1) / nodeSize;
+		}
+		return bounds;
+	}
+
+	/**
+	 * Write a packed Hilbert R-tree for features whose order is given by the
+	 * order of the arrays.
+	 * 
+	 * @param channel
+	 *            the channel to write to.
+	 * @param buffer
+	 *            an empty buffer to use for writing.
+	 * @param n
+	 *            the number of features, must be positive.
+	 * @param boxes
+	 *            the bounding box of each feature i as boxes[4 * i] to
+	 *            boxes[4 * i + 3] (minX, minY, maxX, maxY).
+	 * @param offsets
+	 *            the byte offset of each feature relative to the first
+	 *            feature.
+	 * @throws IOException
+	 *             on failure while writing.
+	 */
+	static void index(WritableByteChannel channel, ExportBuffer buffer,
+			int n, double[] boxes, long[] offsets) throws IOException
+	{
+		long[][] bounds = levelBounds(n, NODE_SIZE);
+		int levels = bounds.length;
+
+		// Compute the boxes of the inner nodes level by level
+		double[][] levelBoxes = new double[levels][];
+		levelBoxes[0] = boxes;
+		for (int level = 1; level < levels; level++) {
+			double[] children = levelBoxes[level - 1];
+			int count = (int) (bounds[level][1] - bounds[level][0]);
+			int childCount = children.length / 4;
+			double[] parents = new double[4 * count];
+			for (int j = 0; j < count; j++) {
+				int first = j * NODE_SIZE;
+				int last = Math.min(childCount, first + NODE_SIZE);
+				parents[4 * j] = Double.POSITIVE_INFINITY;
+				parents[4 * j + 1] = Double.POSITIVE_INFINITY;
+				parents[4 * j + 2] = Double.NEGATIVE_INFINITY;
+				parents[4 * j + 3] = Double.NEGATIVE_INFINITY;
+				for (int c = first; c < last; c++) {
+					parents[4 * j] = Math.min(parents[4 * j], children[4 * c]);
+					parents[4 * j + 1] = Math.min(parents[4 * j + 1],
+							children[4 * c + 1]);
+					parents[4 * j + 2] = Math.max(parents[4 * j + 2],
+							children[4 * c + 2]);
+					parents[4 * j + 3] = Math.max(parents[4 * j + 3],
+							children[4 * c + 3]);
+				}
+			}
+			levelBoxes[level] = parents;
+		}
+
+		// Write from the root down to the leaves
+		for (int level = levels - 1; level >= 0; level--) {
+			double[] nodes = levelBoxes[level];
+			int count = nodes.length / 4;
+			for (int j = 0; j < count; j++) {
+				for (int k = 0; k < 4; k++) {
+					buffer.putDouble(nodes[4 * j + k]);
+				}
+				if (level == 0) {
+					buffer.putLong(offsets[j]);
+				} else {
+					// Position of the first child
+					buffer.putLong(bounds[level - 1][0] + (long) j * NODE_SIZE);
+				}
+				if (buffer.position() >= 1 << 20) {
+					buffer.writeTo(channel);
+				}
+			}
+		}
+		buffer.writeTo(channel);
+	}
+
+}
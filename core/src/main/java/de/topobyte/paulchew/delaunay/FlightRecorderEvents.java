@@ -0,0 +1,88 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * Emits the Flight Recorder events of this package. The Flight Recorder API
+ * is not available on every runtime this library runs on, e.g. not on Java 8
+ * before update 262. This class does not refer to the API itself and only
+ * delegates to {@link JfrEvents} once loading it has succeeded, so events
+ * are skipped on such runtimes.
+ * 
+ * The begin methods return an opaque handle that has to be passed to the
+ * matching end method. The handle is null if the API is not available or
+ * the event is not enabled in a running recording, in which case no event
+ * is allocated.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class FlightRecorderEvents
+{
+
+	private static final boolean AVAILABLE = available();
+
+	private static boolean available()
+	{
+		try {
+			JfrEvents.load();
+			return true;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+
+	static Object beginInsertion()
+	{
+		return AVAILABLE ? JfrEvents.beginInsertion() : null;
+	}
+
+	static void endInsertion(Object event, Pnt site, int cavitySize,
+			int triangles)
+	{
+		if (event != null) {
+			JfrEvents.endInsertion(event, site, cavitySize, triangles);
+		}
+	}
+
+	static Object beginLocateFallback()
+	{
+		return AVAILABLE ? JfrEvents.beginLocateFallback() : null;
+	}
+
+	static void endLocateFallback(Object event, Pnt point, int containing,
+			boolean resolved)
+	{
+		if (event != null) {
+			JfrEvents.endLocateFallback(event, point, containing, resolved);
+		}
+	}
+
+	static Object beginVoronoiExtraction()
+	{
+		return AVAILABLE ? JfrEvents.beginVoronoiExtraction() : null;
+	}
+
+	static void endVoronoiExtraction(Object event, String operation,
+			int sites)
+	{
+		if (event != null) {
+			JfrEvents.endVoronoiExtraction(event, operation, sites);
+		}
+	}
+
+}
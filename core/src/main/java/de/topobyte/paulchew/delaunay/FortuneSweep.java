@@ -0,0 +1,608 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Fortune's sweep-line algorithm for computing the Voronoi diagram of a set of
+ * sites directly, without building a triangulation first.
+ *
+ * The sweep line moves in direction of increasing y. The beach line is kept in
+ * a treap of arcs that is additionally threaded as a doubly linked list, so
+ * that locating the arc above a new site takes expected O(log n) time. Circle
+ * events are kept in a priority queue and are invalidated lazily.
+ *
+ * The sites have to be sorted by y, then x, and must not contain duplicates.
+ * After {@link #run()}, the Voronoi edges are available as pairs of site
+ * indices together with their (possibly open) end points. Open ends can be
+ * clipped against a rectangle using {@link #clip(int, double, double, double,
+ * double, double[])}.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class FortuneSweep
+{
+
+	private final double[] xs;
+	private final double[] ys;
+	private final int n;
+
+	// Edges are stored in parallel arrays. The direction of an edge is the
+	// direction in which the breakpoint between its left and right site moves,
+	// i.e. (-(yr - yl), xr - xl). End 1 is the end in direction of the edge,
+	// end 2 the end in opposite direction. NaN denotes an open end.
+	private int edgeCount = 0;
+	private int[] edgeLeft;
+	private int[] edgeRight;
+	private double[] end1x, end1y, end2x, end2y;
+
+	private Arc root = null;
+	private Arc tail = null;
+	private PriorityQueue<CircleEvent> circles = new PriorityQueue<>();
+	private double sweep;
+	private Random random = new Random(0x5eed);
+
+	/**
+	 * @param xs
+	 *            the x coordinates of the sites.
+	 * @param ys
+	 *            the y coordinates of the sites.
+	 * @param n
+	 *            the number of sites, sorted by y, then x.
+	 */
+	FortuneSweep(double[] xs, double[] ys, int n)
+	{
+		this.xs = xs;
+		this.ys = ys;
+		this.n = n;
+		int capacity = Math.max(16, 3 * n);
+		edgeLeft = new int[capacity];
+		edgeRight = new int[capacity];
+		end1x = new double[capacity];
+		end1y = new double[capacity];
+		end2x = new double[capacity];
+		end2y = new double[capacity];
+	}
+
+	/**
+	 * Sort the first n entries of the coordinate arrays by y, then x and
+	 * remove duplicate coordinates. The permutation array is reordered
+	 * accordingly, so that it keeps track of the original position of each
+	 * site. Of several sites at the same position, the one with the smallest
+	 * original position is kept.
+	 *
+	 * @return the number of distinct sites remaining.
+	 */
+	static int sortAndDeduplicate(double[] xs, double[] ys, int[] perm, int n)
+	{
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sort(order, xs, ys, perm, 0, n - 1);
+		double[] sx = new double[n];
+		double[] sy = new double[n];
+		int[] sp = new int[n];
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			int o = order[i];
+			if (k > 0 && sx[k - 1] == xs[o] && sy[k - 1] == ys[o]) {
+				continue;
+			}
+			sx[k] = xs[o];
+			sy[k] = ys[o];
+			sp[k] = perm[o];
+			k++;
+		}
+		System.arraycopy(sx, 0, xs, 0, k);
+		System.arraycopy(sy, 0, ys, 0, k);
+		System.arraycopy(sp, 0, perm, 0, k);
+		return k;
+	}
+
+	/**
+	 * Compare by y, then x and finally by original position, so that the
+	 * first of several duplicates is sorted first.
+	 */
+	private static boolean less(int a, int b, double[] xs, double[] ys,
+			int[] perm)
+	{
+		if (ys[a] != ys[b]) {
+			return ys[a] < ys[b];
+		}
+		if (xs[a] != xs[b]) {
+			return xs[a] < xs[b];
+		}
+		return perm[a] < perm[b];
+	}
+
+	private static void sort(int[] a, double[] xs, double[] ys, int[] perm,
+			int lo, int hi)
+	{
+		while (hi - lo > 16) {
+			int pivot = a[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while (i <= j) {
+				while (less(a[i], pivot, xs, ys, perm)) {
+					i++;
+				}
+				while (less(pivot, a[j], xs, ys, perm)) {
+					j--;
+				}
+				if (i <= j) {
+					int tmp = a[i];
+					a[i++] = a[j];
+					a[j--] = tmp;
+				}
+			}
+			// Recurse into the smaller part, loop on the larger one
+			if (j - lo < hi - i) {
+				sort(a, xs, ys, perm, lo, j);
+				lo = i;
+			} else {
+				sort(a, xs, ys, perm, i, hi);
+				hi = j;
+			}
+		}
+		for (int i = lo + 1; i <= hi; i++) {
+			int v = a[i];
+			int j = i - 1;
+			while (j >= lo && less(v, a[j], xs, ys, perm)) {
+				a[j + 1] = a[j];
+				j--;
+			}
+			a[j + 1] = v;
+		}
+	}
+
+	/**
+	 * Execute the sweep.
+	 */
+	void run()
+	{
+		int next = 0;
+		while (next < n || !circles.isEmpty()) {
+			CircleEvent event = circles.peek();
+			if (event != null && !event.valid) {
+				circles.poll();
+				continue;
+			}
+			if (next < n
+					&& (event == null || ys[next] < event.y || (ys[next] == event.y && xs[next] < event.x))) {
+				sweep = ys[next];
+				handleSite(next++);
+			} else {
+				circles.poll();
+				sweep = event.y;
+				handleCircle(event);
+			}
+		}
+	}
+
+	int getNumberOfEdges()
+	{
+		return edgeCount;
+	}
+
+	int getLeftSite(int edge)
+	{
+		return edgeLeft[edge];
+	}
+
+	int getRightSite(int edge)
+	{
+		return edgeRight[edge];
+	}
+
+	/**
+	 * @return whether this edge has two finite end points that coincide, which
+	 *         happens for four or more co-circular sites.
+	 */
+	boolean isDegenerate(int edge)
+	{
+		return !Double.isNaN(end1x[edge]) && !Double.isNaN(end2x[edge])
+				&& end1x[edge] == end2x[edge] && end1y[edge] == end2y[edge];
+	}
+
+	/**
+	 * Clip the specified edge against a rectangle.
+	 *
+	 * @param result
+	 *            an array of length 4 that receives the end points of the
+	 *            clipped segment.
+	 * @return false if the edge does not intersect the rectangle.
+	 */
+	boolean clip(int edge, double minX, double minY, double maxX,
+			double maxY, double[] result)
+	{
+		int l = edgeLeft[edge], r = edgeRight[edge];
+		double dx = -(ys[r] - ys[l]);
+		double dy = xs[r] - xs[l];
+		boolean open1 = Double.isNaN(end1x[edge]);
+		boolean open2 = Double.isNaN(end2x[edge]);
+
+		double ox, oy, t0, t1;
+		if (!open2) {
+			ox = end2x[edge];
+			oy = end2y[edge];
+			t0 = 0;
+			t1 = open1 ? Double.POSITIVE_INFINITY : ((end1x[edge] - ox) * dx + (end1y[edge] - oy)
+					* dy)
+					/ (dx * dx + dy * dy);
+		} else if (!open1) {
+			ox = end1x[edge];
+			oy = end1y[edge];
+			t0 = Double.NEGATIVE_INFINITY;
+			t1 = 0;
+		} else {
+			ox = (xs[l] + xs[r]) / 2;
+			oy = (ys[l] + ys[r]) / 2;
+			t0 = Double.NEGATIVE_INFINITY;
+			t1 = Double.POSITIVE_INFINITY;
+		}
+
+		// Liang-Barsky
+		double[] p = { -dx, dx, -dy, dy };
+		double[] q = { ox - minX, maxX - ox, oy - minY, maxY - oy };
+		for (int i = 0; i < 4; i++) {
+			if (p[i] == 0) {
+				if (q[i] < 0) {
+					return false;
+				}
+				continue;
+			}
+			double t = q[i] / p[i];
+			if (p[i] < 0) {
+				if (t > t1) {
+					return false;
+				}
+				if (t > t0) {
+					t0 = t;
+				}
+			} else {
+				if (t < t0) {
+					return false;
+				}
+				if (t < t1) {
+					t1 = t;
+				}
+			}
+		}
+		result[0] = ox + t0 * dx;
+		result[1] = oy + t0 * dy;
+		result[2] = ox + t1 * dx;
+		result[3] = oy + t1 * dy;
+		return true;
+	}
+
+	private void handleSite(int site)
+	{
+		if (root == null) {
+			root = tail = new Arc(site, random.nextInt());
+			return;
+		}
+
+		if (ys[site] == ys[0]) {
+			// All sites so far lie on the same horizontal line, append the new
+			// arc to the right; the edge in between is open towards -y.
+			Arc arc = new Arc(site, random.nextInt());
+			tail.edge = newEdge(tail.site, site);
+			tail.slot = 1;
+			insertAfter(tail, arc);
+			return;
+		}
+
+		Arc above = find(xs[site]);
+		invalidate(above);
+
+		Arc arc = new Arc(site, random.nextInt());
+		Arc split = new Arc(above.site, random.nextInt());
+		split.edge = above.edge;
+		split.slot = above.slot;
+
+		int edge = newEdge(above.site, site);
+		above.edge = edge;
+		above.slot = 1;
+		arc.edge = edge;
+		arc.slot = 2;
+
+		insertAfter(above, arc);
+		insertAfter(arc, split);
+
+		checkCircle(above);
+		checkCircle(split);
+	}
+
+	private void handleCircle(CircleEvent event)
+	{
+		Arc arc = event.arc;
+		Arc left = arc.prev;
+		Arc right = arc.next;
+
+		finish(left.edge, left.slot, event.cx, event.cy);
+		finish(arc.edge, arc.slot, event.cx, event.cy);
+
+		remove(arc);
+		invalidate(left);
+		invalidate(right);
+
+		int edge = newEdge(left.site, right.site);
+		end2x[edge] = event.cx;
+		end2y[edge] = event.cy;
+		left.edge = edge;
+		left.slot = 1;
+
+		checkCircle(left);
+		checkCircle(right);
+	}
+
+	private int newEdge(int left, int right)
+	{
+		if (edgeCount == edgeLeft.length) {
+			int capacity = edgeCount * 2;
+			edgeLeft = Arrays.copyOf(edgeLeft, capacity);
+			edgeRight = Arrays.copyOf(edgeRight, capacity);
+			end1x = Arrays.copyOf(end1x, capacity);
+			end1y = Arrays.copyOf(end1y, capacity);
+			end2x = Arrays.copyOf(end2x, capacity);
+			end2y = Arrays.copyOf(end2y, capacity);
+		}
+		int edge = edgeCount++;
+		edgeLeft[edge] = left;
+		edgeRight[edge] = right;
+		end1x[edge] = end1y[edge] = Double.NaN;
+		end2x[edge] = end2y[edge] = Double.NaN;
+		return edge;
+	}
+
+	private void finish(int edge, int slot, double x, double y)
+	{
+		if (slot == 1) {
+			end1x[edge] = x;
+			end1y[edge] = y;
+		} else {
+			end2x[edge] = x;
+			end2y[edge] = y;
+		}
+	}
+
+	private void invalidate(Arc arc)
+	{
+		if (arc.event != null) {
+			arc.event.valid = false;
+			arc.event = null;
+		}
+	}
+
+	private void checkCircle(Arc arc)
+	{
+		Arc left = arc.prev;
+		Arc right = arc.next;
+		if (left == null || right == null || left.site == right.site) {
+			return;
+		}
+		double ax = xs[left.site], ay = ys[left.site];
+		double bx = xs[arc.site], by = ys[arc.site];
+		double cx = xs[right.site], cy = ys[right.site];
+
+		// The breakpoints only converge for a left turn
+		double cross = (bx - ax) * (cy - by) - (by - ay) * (cx - bx);
+		if (cross <= 0) {
+			return;
+		}
+
+		double d = 2 * (ax * (by - cy) + bx * (cy - ay) + cx * (ay - by));
+		double a2 = ax * ax + ay * ay;
+		double b2 = bx * bx + by * by;
+		double c2 = cx * cx + cy * cy;
+		double ux = (a2 * (by - cy) + b2 * (cy - ay) + c2 * (ay - by)) / d;
+		double uy = (a2 * (cx - bx) + b2 * (ax - cx) + c2 * (bx - ax)) / d;
+		double radius = Math.hypot(bx - ux, by - uy);
+
+		double y = Math.max(uy + radius, sweep);
+		CircleEvent event = new CircleEvent(arc, ux, uy, ux, y);
+		arc.event = event;
+		circles.add(event);
+	}
+
+	/*
+	 * Beach line
+	 */
+
+	private double breakpoint(int a, int b)
+	{
+		double ax = xs[a], ay = ys[a];
+		double bx = xs[b], by = ys[b];
+		if (ay == by) {
+			return (ax + bx) / 2;
+		}
+		if (ay == sweep) {
+			return ax;
+		}
+		if (by == sweep) {
+			return bx;
+		}
+		double da = 2 * (ay - sweep);
+		double db = 2 * (by - sweep);
+		double qa = 1 / da - 1 / db;
+		double qb = -2 * (ax / da - bx / db);
+		double qc = (ax * ax + ay * ay - sweep * sweep) / da
+				- (bx * bx + by * by - sweep * sweep) / db;
+		double disc = qb * qb - 4 * qa * qc;
+		if (disc < 0) {
+			disc = 0;
+		}
+		// The root where a's parabola passes below b's parabola
+		return (-qb - Math.sqrt(disc)) / (2 * qa);
+	}
+
+	private Arc find(double x)
+	{
+		Arc node = root;
+		while (true) {
+			if (node.prev != null && x < breakpoint(node.prev.site, node.site)) {
+				node = node.left;
+			} else if (node.next != null
+					&& x > breakpoint(node.site, node.next.site)) {
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	private void insertAfter(Arc at, Arc arc)
+	{
+		if (at.right == null) {
+			at.right = arc;
+			arc.parent = at;
+		} else {
+			Arc p = at.right;
+			while (p.left != null) {
+				p = p.left;
+			}
+			p.left = arc;
+			arc.parent = p;
+		}
+
+		arc.prev = at;
+		arc.next = at.next;
+		if (at.next != null) {
+			at.next.prev = arc;
+		} else {
+			tail = arc;
+		}
+		at.next = arc;
+
+		while (arc.parent != null && arc.priority < arc.parent.priority) {
+			rotateUp(arc);
+		}
+	}
+
+	private void remove(Arc arc)
+	{
+		while (arc.left != null || arc.right != null) {
+			if (arc.left == null) {
+				rotateUp(arc.right);
+			} else if (arc.right == null) {
+				rotateUp(arc.left);
+			} else if (arc.left.priority < arc.right.priority) {
+				rotateUp(arc.left);
+			} else {
+				rotateUp(arc.right);
+			}
+		}
+		replaceChild(arc.parent, arc, null);
+
+		if (arc.prev != null) {
+			arc.prev.next = arc.next;
+		}
+		if (arc.next != null) {
+			arc.next.prev = arc.prev;
+		} else {
+			tail = arc.prev;
+		}
+	}
+
+	private void rotateUp(Arc x)
+	{
+		Arc p = x.parent;
+		if (x == p.left) {
+			p.left = x.right;
+			if (x.right != null) {
+				x.right.parent = p;
+			}
+			x.right = p;
+		} else {
+			p.right = x.left;
+			if (x.left != null) {
+				x.left.parent = p;
+			}
+			x.left = p;
+		}
+		replaceChild(p.parent, p, x);
+		p.parent = x;
+	}
+
+	private void replaceChild(Arc parent, Arc child, Arc replacement)
+	{
+		if (replacement != null) {
+			replacement.parent = parent;
+		}
+		if (parent == null) {
+			root = replacement;
+		} else if (parent.left == child) {
+			parent.left = replacement;
+		} else {
+			parent.right = replacement;
+		}
+	}
+
+	private static class Arc
+	{
+
+		final int site;
+		final int priority;
+
+		Arc parent, left, right; // Treap
+		Arc prev, next; // Beach line order
+
+		int edge = -1; // Edge traced by the breakpoint to the next arc
+		int slot; // End of that edge the breakpoint is moving to
+		CircleEvent event = null;
+
+		Arc(int site, int priority)
+		{
+			this.site = site;
+			this.priority = priority;
+		}
+
+	}
+
+	private static class CircleEvent implements Comparable<CircleEvent>
+	{
+
+		final Arc arc;
+		final double cx, cy; // Voronoi vertex
+		final double x, y; // Event position
+		boolean valid = true;
+
+		CircleEvent(Arc arc, double cx, double cy, double x, double y)
+		{
+			this.arc = arc;
+			this.cx = cx;
+			this.cy = cy;
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public int compareTo(CircleEvent o)
+		{
+			if (y != o.y) {
+				return y < o.y ? -1 : 1;
+			}
+			return Double.compare(x, o.x);
+		}
+
+	}
+
+}
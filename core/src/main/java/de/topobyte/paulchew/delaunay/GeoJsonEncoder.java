@@ -0,0 +1,126 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes features as a GeoJSON FeatureCollection. JSON has no notation for
+ * NaN and infinite numbers, so features with such coordinates are written
+ * with a null geometry. Null strings are written as null property values.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+class GeoJsonEncoder<T> extends FeatureEncoder<T>
+{
+
+	GeoJsonEncoder(DataCodec<T> codec, String[] names)
+	{
+		super(codec, names);
+	}
+
+	@Override
+	void header(ExportBuffer buffer, String title, long count,
+			double[] envelope)
+	{
+		buffer.putAscii("{\"type\":\"FeatureCollection\",\"features\":[\n");
+	}
+
+	@Override
+	void feature(ExportBuffer buffer, long index, ExportFeature<T> feature)
+	{
+		if (index > 0) {
+			buffer.putAscii(",\n");
+		}
+		buffer.putAscii("{\"type\":\"Feature\",\"geometry\":");
+		if (isFinite(feature)) {
+			buffer.putAscii("{\"type\":\"Polygon\",\"coordinates\":[[");
+			for (int i = 0; i < feature.n; i++) {
+				if (i > 0) {
+					buffer.put((byte) ',');
+				}
+				buffer.put((byte) '[');
+				buffer.putAscii(Double.toString(feature.xs[i]));
+				buffer.put((byte) ',');
+				buffer.putAscii(Double.toString(feature.ys[i]));
+				buffer.put((byte) ']');
+			}
+			buffer.putAscii("]]}");
+		} else {
+			buffer.putAscii("null");
+		}
+		buffer.putAscii(",\"properties\":{");
+		for (int i = 0; i < feature.numThings; i++) {
+			if (i > 0) {
+				buffer.put((byte) ',');
+			}
+			string(buffer, names[i]);
+			buffer.put((byte) ':');
+			T thing = feature.getThing(i);
+			if (codec.isNumeric()) {
+				buffer.putAscii(Long.toString(codec.encodeLong(thing)));
+			} else {
+				string(buffer, codec.encodeString(thing));
+			}
+		}
+		buffer.putAscii("}}");
+	}
+
+	@Override
+	void footer(ExportBuffer buffer)
+	{
+		buffer.putAscii("\n]}\n");
+	}
+
+	private static boolean isFinite(ExportFeature<?> feature)
+	{
+		for (int i = 0; i < feature.n; i++) {
+			if (!Double.isFinite(feature.xs[i])
+					|| !Double.isFinite(feature.ys[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void string(ExportBuffer buffer, String value)
+	{
+		if (value == null) {
+			buffer.putAscii("null");
+			return;
+		}
+		StringBuilder json = new StringBuilder(value.length() + 2);
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+		buffer.put(json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+}
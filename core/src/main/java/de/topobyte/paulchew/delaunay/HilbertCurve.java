@@ -0,0 +1,174 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Arrays;
+
+/**
+ * Maps positions within a rectangle to their index along a Hilbert curve.
+ * Sorting points by this index yields an order in which consecutive points
+ * tend to be close to each other, which is useful for point location by
+ * walking and for cache-friendly processing.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class HilbertCurve
+{
+
+	/**
+	 * The number of bits per axis. The index of a position fits into 2 *
+	 * ORDER bits.
+	 */
+	public static final int ORDER = 15;
+
+	private static final int MAX = (1 << ORDER) - 1;
+
+	private final double minX, minY;
+	private final double scale;
+
+	/**
+	 * Create a curve that covers the specified rectangle.
+	 * 
+	 * @param minX
+	 *            the minimum x coordinate of the rectangle.
+	 * @param minY
+	 *            the minimum y coordinate of the rectangle.
+	 * @param maxX
+	 *            the maximum x coordinate of the rectangle.
+	 * @param maxY
+	 *            the maximum y coordinate of the rectangle.
+	 */
+	public HilbertCurve(double minX, double minY, double maxX, double maxY)
+	{
+		this.minX = minX;
+		this.minY = minY;
+		double extent = Math.max(maxX - minX, maxY - minY);
+		scale = extent > 0 ? MAX / extent : 0;
+	}
+
+	/**
+	 * Create a curve that covers the bounding box of the specified points.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the points.
+	 * @param ys
+	 *            the y coordinates of the points.
+	 * @param n
+	 *            the number of points.
+	 * @return a curve covering all points.
+	 */
+	public static HilbertCurve of(double[] xs, double[] ys, int n)
+	{
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, xs[i]);
+			maxX = Math.max(maxX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		if (n == 0) {
+			return new HilbertCurve(0, 0, 0, 0);
+		}
+		return new HilbertCurve(minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Compute the index of a position along the curve. Positions outside of
+	 * the covered rectangle are clamped to its boundary.
+	 * 
+	 * @param x
+	 *            the x coordinate.
+	 * @param y
+	 *            the y coordinate.
+	 * @return the index along the curve.
+	 */
+	public long key(double x, double y)
+	{
+		return index(ORDER, grid(x - minX), grid(y - minY));
+	}
+
+	private int grid(double offset)
+	{
+		double v = offset * scale;
+		if (!(v > 0)) {
+			return 0;
+		}
+		return v >= MAX ? MAX : (int) v;
+	}
+
+	/**
+	 * Sort points along the curve.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the points.
+	 * @param ys
+	 *            the y coordinates of the points.
+	 * @param n
+	 *            the number of points.
+	 * @return the indices of the points in curve order.
+	 */
+	public int[] sort(double[] xs, double[] ys, int n)
+	{
+		// The index occupies the upper bits, the point number the lower ones
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = (key(xs[i], ys[i]) << 32) | i;
+		}
+		Arrays.parallelSort(keys);
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = (int) keys[i];
+		}
+		return order;
+	}
+
+	/**
+	 * Compute the Hilbert index of a grid cell.
+	 * 
+	 * @param order
+	 *            the number of bits per axis.
+	 * @param x
+	 *            the column of the cell, less than 2^order.
+	 * @param y
+	 *            the row of the cell, less than 2^order.
+	 * @return the index of the cell along the curve.
+	 */
+	public static long index(int order, int x, int y)
+	{
+		int n = 1 << order;
+		long d = 0;
+		for (int s = n >> 1; s > 0; s >>= 1) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			d += (long) s * s * ((3 * rx) ^ ry);
+			// Rotate the quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					x = n - 1 - x;
+					y = n - 1 - y;
+				}
+				int t = x;
+				x = y;
+				y = t;
+			}
+		}
+		return d;
+	}
+
+}
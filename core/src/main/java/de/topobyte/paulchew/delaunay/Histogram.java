@@ -0,0 +1,79 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of non-negative values with exponentially growing
+ * buckets: bucket 0 counts the value 0 and bucket k counts the values in the
+ * range [2^(k-1), 2^k). Negative values are counted in bucket 0.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class Histogram
+{
+
+	static final int BUCKETS = 64;
+
+	private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+	Histogram()
+	{
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a value. Negative values, e.g. the difference of two readings
+	 * of a clock that is not monotonic, are counted as 0.
+	 */
+	void record(long value)
+	{
+		counts[64 - Long.numberOfLeadingZeros(Math.max(0, value))]
+				.increment();
+	}
+
+	/**
+	 * @return the number of values recorded in each bucket, without trailing
+	 *         empty buckets.
+	 */
+	long[] getCounts()
+	{
+		long[] result = new long[BUCKETS];
+		int length = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			result[i] = counts[i].sum();
+			if (result[i] != 0) {
+				length = i + 1;
+			}
+		}
+		long[] trimmed = new long[length];
+		System.arraycopy(result, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+	void reset()
+	{
+		for (LongAdder adder : counts) {
+			adder.reset();
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * The symbolic vertex at infinity of a {@link Triangulation} that has no
+ * initial triangle. Each edge of the convex hull forms a triangle with this
+ * vertex, so that the triangles cover the whole plane.
+ * 
+ * There is a single instance, which is only equal to itself. Its coordinates
+ * are NaN.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class InfinitePnt extends Pnt
+{
+
+	private static final long serialVersionUID = -2904467370367512958L;
+
+	static final InfinitePnt INSTANCE = new InfinitePnt();
+
+	private InfinitePnt()
+	{
+		super(Double.NaN, Double.NaN);
+	}
+
+	@Override
+	public boolean equals(Object other)
+	{
+		return this == other;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 0x7ff80000;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Pnt(infinite)";
+	}
+
+	private Object readResolve()
+	{
+		return INSTANCE;
+	}
+
+}
@@ -0,0 +1,57 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for slow insertions of sites into a triangulation.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Name("de.topobyte.paulchew.delaunay.Insertion")
+@Label("Delaunay Insertion")
+@Category("Delaunay")
+@Description("Insertion of a site into a Delaunay triangulation")
+@Threshold("1 ms")
+@StackTrace(false)
+class InsertionEvent extends Event
+{
+
+	@Label("X")
+	double x;
+
+	@Label("Y")
+	double y;
+
+	@Label("Cavity Size")
+	@Description("Number of triangles replaced by the insertion, 0 if the site"
+			+ " was a vertex already, -1 if the insertion failed")
+	int cavitySize;
+
+	@Label("Triangles")
+	@Description("Number of triangles after the insertion")
+	int triangles;
+
+}
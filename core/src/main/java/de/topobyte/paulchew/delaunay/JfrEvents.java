@@ -0,0 +1,110 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import jdk.jfr.EventType;
+
+/**
+ * Creates and commits the Flight Recorder events of this package. Only to be
+ * used through {@link FlightRecorderEvents}, which makes sure that the Flight
+ * Recorder API is available before this class gets loaded.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class JfrEvents
+{
+
+	private static final EventType INSERTION = EventType
+			.getEventType(InsertionEvent.class);
+	private static final EventType LOCATE_FALLBACK = EventType
+			.getEventType(LocateFallbackEvent.class);
+	private static final EventType VORONOI_EXTRACTION = EventType
+			.getEventType(VoronoiExtractionEvent.class);
+
+	/**
+	 * Does nothing but makes sure this class and the event classes have been
+	 * loaded and initialized.
+	 */
+	static void load()
+	{
+		// Initialization happens before this method gets invoked
+	}
+
+	static Object beginInsertion()
+	{
+		if (!INSERTION.isEnabled()) {
+			return null;
+		}
+		InsertionEvent event = new InsertionEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endInsertion(Object handle, Pnt site, int cavitySize,
+			int triangles)
+	{
+		InsertionEvent event = (InsertionEvent) handle;
+		if (event.shouldCommit()) {
+			event.x = site.coord(0);
+			event.y = site.coord(1);
+			event.cavitySize = cavitySize;
+			event.triangles = triangles;
+			event.commit();
+		}
+	}
+
+	static Object beginLocateFallback()
+	{
+		if (!LOCATE_FALLBACK.isEnabled()) {
+			return null;
+		}
+		LocateFallbackEvent event = new LocateFallbackEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endLocateFallback(Object handle, Pnt point, int containing,
+			boolean resolved)
+	{
+		LocateFallbackEvent event = (LocateFallbackEvent) handle;
+		if (event.shouldCommit()) {
+			event.x = point.coord(0);
+			event.y = point.coord(1);
+			event.containing = containing;
+			event.resolved = resolved;
+			event.commit();
+		}
+	}
+
+	static Object beginVoronoiExtraction()
+	{
+		if (!VORONOI_EXTRACTION.isEnabled()) {
+			return null;
+		}
+		VoronoiExtractionEvent event = new VoronoiExtractionEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endVoronoiExtraction(Object handle, String operation,
+			int sites)
+	{
+		((VoronoiExtractionEvent) handle).commit(operation, sites);
+	}
+
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for point locations that found more than one
+ * containing triangle, which happens for points on edges or vertices and
+ * requires evaluating the cavity for each of the candidates.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Name("de.topobyte.paulchew.delaunay.LocateFallback")
+@Label("Delaunay Locate Fallback")
+@Category("Delaunay")
+@Description("Point location with multiple containing triangles")
+@Threshold("0 ms")
+class LocateFallbackEvent extends Event
+{
+
+	@Label("X")
+	double x;
+
+	@Label("Y")
+	double y;
+
+	@Label("Containing Triangles")
+	int containing;
+
+	@Label("Resolved")
+	@Description("Whether one of the containing triangles has been chosen")
+	boolean resolved;
+
+}
@@ -0,0 +1,174 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.List;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A sequence of nested triangulations of progressively finer samples of a
+ * point set, for rendering and querying at different scales. Level 0 is the
+ * coarsest one, the last level contains all points. Use
+ * {@link LodPyramidBuilder} to create a pyramid.
+ * 
+ * For a viewport, the coarsest level is selected that has enough sites
+ * within the viewport to place a site about every {@link #getSpacing()}
+ * pixels. The selection takes constant time per level. Since the number of
+ * sites grows geometrically from level to level, the work of drawing the
+ * selected level within the viewport, for example using
+ * {@link Triangulation#trianglesIntersecting(Envelope)} or
+ * {@link VoronoiUtil#getVoronoiCellsIntersecting(Triangulation, Envelope)},
+ * are proportional to the number of pixels of the viewport rather than to
+ * the number of points.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class LodPyramid<T>
+{
+
+	private final List<Triangulation<T>> levels;
+	private final int[] sizes;
+	private final Envelope[] bounds; // Bounding box of the sites per level
+
+	private double spacing = 8;
+
+	LodPyramid(List<Triangulation<T>> levels, int[] sizes, Envelope[] bounds)
+	{
+		this.levels = levels;
+		this.sizes = sizes;
+		this.bounds = bounds;
+	}
+
+	/**
+	 * @return the number of levels.
+	 */
+	public int getNumberOfLevels()
+	{
+		return levels.size();
+	}
+
+	/**
+	 * @param level
+	 *            the number of a level, 0 being the coarsest.
+	 * @return the triangulation of the level.
+	 */
+	public Triangulation<T> getLevel(int level)
+	{
+		return levels.get(level);
+	}
+
+	/**
+	 * @param level
+	 *            the number of a level, 0 being the coarsest.
+	 * @return the number of sites of the level.
+	 */
+	public int getSize(int level)
+	{
+		return sizes[level];
+	}
+
+	/**
+	 * @return the desired distance between neighboring sites in pixels.
+	 */
+	public double getSpacing()
+	{
+		return spacing;
+	}
+
+	/**
+	 * @param spacing
+	 *            the desired distance between neighboring sites in pixels.
+	 */
+	public void setSpacing(double spacing)
+	{
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Find the coarsest level that is dense enough for a viewport. Levels are
+	 * tried from coarse to fine until one has at least one site per spacing *
+	 * spacing pixels within the viewport. The number of sites within the
+	 * viewport is estimated from the number of sites of a level and the part
+	 * of its bounding box covered by the viewport, i.e. as if the sites were
+	 * distributed uniformly. Sites that are distributed unevenly make the
+	 * estimate too high in sparse regions and too low in dense ones.
+	 * 
+	 * @param viewport
+	 *            the visible region.
+	 * @param width
+	 *            the width of the viewport in pixels.
+	 * @param height
+	 *            the height of the viewport in pixels.
+	 * @return the number of the selected level; the finest level if none is
+	 *         dense enough.
+	 */
+	public int selectLevel(Envelope viewport, int width, int height)
+	{
+		double target = (double) width * height / (spacing * spacing);
+		for (int level = 0; level < levels.size() - 1; level++) {
+			if (estimateSites(level, viewport) >= target) {
+				return level;
+			}
+		}
+		return levels.size() - 1;
+	}
+
+	/**
+	 * Get the triangulation of the coarsest level that is dense enough for a
+	 * viewport, see {@link #selectLevel(Envelope, int, int)}.
+	 * 
+	 * @param viewport
+	 *            the visible region.
+	 * @param width
+	 *            the width of the viewport in pixels.
+	 * @param height
+	 *            the height of the viewport in pixels.
+	 * @return the triangulation of the selected level.
+	 */
+	public Triangulation<T> getLevel(Envelope viewport, int width,
+			int height)
+	{
+		return levels.get(selectLevel(viewport, width, height));
+	}
+
+	private double estimateSites(int level, Envelope viewport)
+	{
+		Envelope covered = bounds[level].intersection(viewport);
+		if (covered.isNull()) {
+			return 0;
+		}
+		return sizes[level]
+				* fraction(covered.getWidth(), bounds[level].getWidth())
+				* fraction(covered.getHeight(), bounds[level].getHeight());
+	}
+
+	/**
+	 * The ratio of part and whole, 1 if whole is empty, e.g. if all sites
+	 * have the same x coordinate.
+	 */
+	private static double fraction(double part, double whole)
+	{
+		return whole > 0 ? part / whole : 1;
+	}
+
+}
@@ -0,0 +1,262 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.locationtech.jts.geom.Envelope;
+
+import com.slimjars.dist.gnu.trove.list.TDoubleList;
+import com.slimjars.dist.gnu.trove.list.array.TDoubleArrayList;
+
+/**
+ * Builds a {@link LodPyramid} from a batch of points. The points are brought
+ * into a random order once and each level triangulates a prefix of that
+ * order, so the levels are nested: every site of a level is also a site of
+ * all finer levels. Each level has about ratio times as many sites as the
+ * next coarser one, the finest level contains all points. Points and their
+ * associated objects are shared among the levels.
+ * 
+ * The levels are built in parallel, each from scratch. This inserts about
+ * ratio / (ratio - 1) times as many points as there are in total, 4/3 n for
+ * the default ratio, but takes no longer than building the finest level
+ * alone. Building the levels one after another by extending a copy of the
+ * next coarser level would save insertions, yet could not run in parallel.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class LodPyramidBuilder<T>
+{
+
+	private double ratio = 4;
+	private int minimumSize = 256;
+	private long seed = 0;
+	private Triangulation.InsertionStrategy insertionStrategy =
+			Triangulation.InsertionStrategy.BOWYER_WATSON;
+
+	private TDoubleList xs = new TDoubleArrayList();
+	private TDoubleList ys = new TDoubleArrayList();
+	private List<T> things = new ArrayList<>();
+
+	/**
+	 * @param ratio
+	 *            the factor by which the number of sites grows from one level
+	 *            to the next finer one, greater than 1.
+	 * @return this builder.
+	 */
+	public LodPyramidBuilder<T> setRatio(double ratio)
+	{
+		if (!(ratio > 1)) {
+			throw new IllegalArgumentException("ratio must be > 1: " + ratio);
+		}
+		this.ratio = ratio;
+		return this;
+	}
+
+	/**
+	 * @param minimumSize
+	 *            the number of sites at which no coarser levels are created.
+	 * @return this builder.
+	 */
+	public LodPyramidBuilder<T> setMinimumSize(int minimumSize)
+	{
+		this.minimumSize = minimumSize;
+		return this;
+	}
+
+	/**
+	 * @param seed
+	 *            the seed for the random order that determines the sites of
+	 *            each level.
+	 * @return this builder.
+	 */
+	public LodPyramidBuilder<T> setSeed(long seed)
+	{
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @param insertionStrategy
+	 *            the strategy the triangulations use for inserting points.
+	 * @return this builder.
+	 */
+	public LodPyramidBuilder<T> setInsertionStrategy(
+			Triangulation.InsertionStrategy insertionStrategy)
+	{
+		this.insertionStrategy = insertionStrategy;
+		return this;
+	}
+
+	/**
+	 * Add a point at position <code>x, y</code> and associate
+	 * <code>thing</code> with it.
+	 * 
+	 * @param x
+	 *            the x coordinate.
+	 * @param y
+	 *            the y coordinate.
+	 * @param thing
+	 *            the object to associate.
+	 */
+	public void add(double x, double y, T thing)
+	{
+		xs.add(x);
+		ys.add(y);
+		things.add(thing);
+	}
+
+	/**
+	 * Add a batch of points and associate each with the object returned by
+	 * <code>data</code> for its index, i.e. its position in the sequence of all
+	 * points added to this builder.
+	 * 
+	 * @param xs
+	 *            the x coordinates.
+	 * @param ys
+	 *            the y coordinates.
+	 * @param n
+	 *            the number of points to add.
+	 * @param data
+	 *            a function providing the object to associate with each point.
+	 */
+	public void addAll(double[] xs, double[] ys, int n, IntFunction<T> data)
+	{
+		int offset = things.size();
+		this.xs.add(xs, 0, n);
+		this.ys.add(ys, 0, n);
+		for (int i = 0; i < n; i++) {
+			things.add(data.apply(offset + i));
+		}
+	}
+
+	/**
+	 * Create a sink that adds all points it receives to this builder.
+	 * 
+	 * @param data
+	 *            a function providing the object to associate with each point,
+	 *            given its index.
+	 * @return a sink that adds points to this builder.
+	 */
+	public PointSink sink(final IntFunction<T> data)
+	{
+		return (x, y, n) -> addAll(x, y, n, data);
+	}
+
+	/**
+	 * @return the number of points added so far.
+	 */
+	public int size()
+	{
+		return things.size();
+	}
+
+	/**
+	 * Create a pyramid of all points added so far.
+	 * 
+	 * @return the new pyramid.
+	 */
+	public LodPyramid<T> build()
+	{
+		int n = things.size();
+
+		// Level sizes, coarsest first
+		List<Integer> sizes = new ArrayList<>();
+		for (int size = n;; size = (int) Math.ceil(size / ratio)) {
+			sizes.add(0, size);
+			if (size <= minimumSize || size <= 1) {
+				break;
+			}
+		}
+
+		final int[] counts = new int[sizes.size()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = sizes.get(i);
+		}
+
+		double[] x = xs.toArray();
+		double[] y = ys.toArray();
+		int[] permutation = new int[n];
+		Random random = new Random(seed);
+		for (int i = 0; i < n; i++) {
+			int j = random.nextInt(i + 1);
+			permutation[i] = permutation[j];
+			permutation[j] = i;
+		}
+
+		// Within the points added by each level, insert in Hilbert order so
+		// that point location walks stay short (biased randomized insertion)
+		HilbertCurve curve = HilbertCurve.of(x, y, n);
+		for (int level = 0; level < counts.length; level++) {
+			int from = level == 0 ? 0 : counts[level - 1];
+			int m = counts[level] - from;
+			int[] slice = Arrays.copyOfRange(permutation, from, from + m);
+			double[] sx = new double[m], sy = new double[m];
+			for (int i = 0; i < m; i++) {
+				sx[i] = x[slice[i]];
+				sy[i] = y[slice[i]];
+			}
+			int[] order = curve.sort(sx, sy, m);
+			for (int i = 0; i < m; i++) {
+				permutation[from + i] = slice[order[i]];
+			}
+		}
+
+		final Pnt[] points = new Pnt[n];
+		final List<T> data = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			int k = permutation[i];
+			points[i] = new Pnt(x[k], y[k]);
+			data.add(things.get(k));
+		}
+
+		// The bounds of each level, i.e. of the prefix of its points
+		Envelope[] bounds = new Envelope[counts.length];
+		Envelope envelope = new Envelope();
+		for (int level = 0, i = 0; level < counts.length; level++) {
+			for (; i < counts[level]; i++) {
+				envelope.expandToInclude(points[i].coord(0),
+						points[i].coord(1));
+			}
+			bounds[level] = new Envelope(envelope);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Triangulation<T>[] levels = new Triangulation[counts.length];
+		ParallelUtil.forEachRange(counts.length, 1, (from, to) -> {
+			for (int level = from; level < to; level++) {
+				Triangulation<T> t = new Triangulation<>();
+				t.setInsertionStrategy(insertionStrategy);
+				for (int i = 0; i < counts[level]; i++) {
+					t.delaunayPlace(points[i], data.get(i));
+				}
+				levels[level] = t;
+			}
+		});
+		return new LodPyramid<>(Arrays.asList(levels), counts, bounds);
+	}
+
+}
@@ -0,0 +1,133 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded map that evicts its least recently accessed entry once the
+ * capacity is exceeded. Keeps track of hits, misses and evictions.
+ * 
+ * Only {@link #lookup(Object)} counts as an access. Entries are kept in
+ * insertion order and a hit moves the entry to the end, so that
+ * {@link #peek(Object)} and the other read methods do not modify the map.
+ * The methods of this class as well as put and clear are synchronized.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <K>
+ *            the type of keys.
+ * @param <V>
+ *            the type of values.
+ */
+class LruCache<K, V> extends LinkedHashMap<K, V>
+{
+
+	private static final long serialVersionUID = 2868186410911307353L;
+
+	private final int capacity;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * @param capacity
+	 *            the maximum number of entries to keep.
+	 */
+	LruCache(int capacity)
+	{
+		super(16, 0.75f, false);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Look up a value and record a hit or a miss.
+	 * 
+	 * @param key
+	 *            the key to look up.
+	 * @return the cached value or null if not present.
+	 */
+	synchronized V lookup(K key)
+	{
+		V value = remove(key);
+		if (value != null) {
+			super.put(key, value);
+			hits++;
+		} else {
+			misses++;
+		}
+		return value;
+	}
+
+	/**
+	 * Look up a value without recording an access.
+	 * 
+	 * @param key
+	 *            the key to look up.
+	 * @return the cached value or null if not present.
+	 */
+	synchronized V peek(K key)
+	{
+		return get(key);
+	}
+
+	@Override
+	public synchronized V put(K key, V value)
+	{
+		return super.put(key, value);
+	}
+
+	@Override
+	public synchronized void clear()
+	{
+		super.clear();
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+	{
+		if (size() > capacity) {
+			evictions++;
+			return true;
+		}
+		return false;
+	}
+
+	int getCapacity()
+	{
+		return capacity;
+	}
+
+	synchronized long getHits()
+	{
+		return hits;
+	}
+
+	synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+}
@@ -0,0 +1,352 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams the triangles or the Voronoi cells of a triangulation to a channel
+ * as WKB, GeoJSON or FlatGeobuf.
+ * 
+ * Features are written in the order of a Hilbert curve through their centers.
+ * They are encoded in chunks on the common fork/join pool and written in
+ * order, while only a bounded number of chunks is in flight at any time. The
+ * buffers and features used for encoding are reused, so apart from the order
+ * of the features, memory usage does not depend on the size of the
+ * triangulation. FlatGeobuf is an exception since its spatial index needs the
+ * bounding box and size of every feature before the first feature can be
+ * written (40 bytes per feature).
+ * 
+ * The data associated with the sites is written as feature properties using
+ * a {@link DataCodec}. Triangles get one property per vertex, named after the
+ * codec with suffixes _a, _b and _c, cells get a single property.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class MeshExporter<T>
+{
+
+	/**
+	 * The output formats supported.
+	 */
+	public enum Format
+	{
+		/**
+		 * A sequence of records, each consisting of the length of the
+		 * geometry, the geometry as little-endian WKB and the properties.
+		 */
+		WKB,
+		/**
+		 * A GeoJSON FeatureCollection.
+		 */
+		GEOJSON,
+		/**
+		 * FlatGeobuf with a spatial index.
+		 */
+		FLATGEOBUF
+	}
+
+	private final Triangulation<T> triangulation;
+	private final DataCodec<T> codec;
+
+	private int chunkSize = 4096;
+
+	/**
+	 * Create an exporter for the specified triangulation.
+	 * 
+	 * @param triangulation
+	 *            the triangulation to export.
+	 * @param codec
+	 *            the codec used to write the data associated with the sites.
+	 */
+	public MeshExporter(Triangulation<T> triangulation, DataCodec<T> codec)
+	{
+		this.triangulation = triangulation;
+		this.codec = codec;
+	}
+
+	/**
+	 * Set the number of features encoded per task.
+	 * 
+	 * @param chunkSize
+	 *            the number of features per task.
+	 */
+	public void setChunkSize(int chunkSize)
+	{
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Write all triangles whose vertices are sites, i.e. excluding the
+	 * triangles connected to the vertices of the initial triangle.
+	 * 
+	 * @param channel
+	 *            the channel to write to.
+	 * @param format
+	 *            the output format.
+	 * @return the number of features written.
+	 * @throws IOException
+	 *             on failure while writing.
+	 */
+	public long writeTriangles(WritableByteChannel channel, Format format)
+			throws IOException
+	{
+		Map<Pnt, T> data = triangulation.getData();
+		Triangle[] all = new Triangle[triangulation.size()];
+		int n = 0;
+		for (Triangle triangle : triangulation) {
+			if (data.containsKey(triangle.get(0))
+					&& data.containsKey(triangle.get(1))
+					&& data.containsKey(triangle.get(2))) {
+				all[n++] = triangle;
+			}
+		}
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			Triangle triangle = all[i];
+			for (Pnt vertex : triangle) {
+				xs[i] += vertex.coord(0) / 3;
+				ys[i] += vertex.coord(1) / 3;
+			}
+		}
+		int[] order = n == 0 ? new int[0] : HilbertCurve.of(xs, ys, n)
+				.sort(xs, ys, n);
+		xs = ys = null;
+		Triangle[] triangles = new Triangle[n];
+		for (int i = 0; i < n; i++) {
+			triangles[i] = all[order[i]];
+		}
+		all = null;
+		order = null;
+
+		String name = codec.getName();
+		String[] names = { name + "_a", name + "_b", name + "_c" };
+		return write(channel, format, "triangles", names, n, (i, feature) -> {
+			for (Pnt vertex : triangles[i]) {
+				feature.add(vertex.coord(0), vertex.coord(1));
+				feature.addThing(data.get(vertex));
+			}
+		});
+	}
+
+	/**
+	 * Write the Voronoi cells of all sites. For a triangulation with a vertex
+	 * at infinity, the unbounded cells of the sites on the convex hull are
+	 * skipped.
+	 * 
+	 * @param channel
+	 *            the channel to write to.
+	 * @param format
+	 *            the output format.
+	 * @return the number of features written.
+	 * @throws IOException
+	 *             on failure while writing.
+	 */
+	public long writeVoronoiCells(WritableByteChannel channel, Format format)
+			throws IOException
+	{
+		Map<Pnt, T> data = triangulation.getData();
+		Set<Pnt> bounded = new HashSet<>(data.keySet());
+		if (triangulation.hasInfiniteVertex() && !bounded.isEmpty()) {
+			bounded.removeAll(triangulation.convexHull());
+		}
+		int n = bounded.size();
+		Pnt[] all = bounded.toArray(new Pnt[n]);
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			xs[i] = all[i].coord(0);
+			ys[i] = all[i].coord(1);
+		}
+		int[] order = n == 0 ? new int[0] : HilbertCurve.of(xs, ys, n)
+				.sort(xs, ys, n);
+		xs = ys = null;
+		Pnt[] sites = new Pnt[n];
+		for (int i = 0; i < n; i++) {
+			sites[i] = all[order[i]];
+		}
+		all = null;
+		order = null;
+
+		String[] names = { codec.getName() };
+		return write(channel, format, "cells", names, n, (i, feature) -> {
+			Pnt site = sites[i];
+			List<Triangle> list = triangulation.surroundingTriangles(site,
+					triangulation.incidentTriangle(site));
+			for (Triangle triangle : list) {
+				feature.add(triangle.getCircumcenterX(),
+						triangle.getCircumcenterY());
+			}
+			feature.addThing(data.get(site));
+		});
+	}
+
+	/**
+	 * Fills the i-th feature of the output with its ring and objects.
+	 */
+	private interface Source<T>
+	{
+
+		void fill(int i, ExportFeature<T> feature);
+
+	}
+
+	/**
+	 * The state of a task: a buffer with the encoded features and the feature
+	 * used while encoding.
+	 */
+	private static class Slot<T>
+	{
+
+		final ExportBuffer buffer = new ExportBuffer(1 << 16);
+		final ExportFeature<T> feature = new ExportFeature<>();
+
+		void encode(FeatureEncoder<T> encoder, Source<T> source, int from,
+				int to)
+		{
+			for (int i = from; i < to; i++) {
+				feature.clear();
+				source.fill(i, feature);
+				feature.close();
+				encoder.feature(buffer, i, feature);
+			}
+		}
+
+	}
+
+	private long write(WritableByteChannel channel, Format format,
+			String title, String[] names, int n, Source<T> source)
+			throws IOException
+	{
+		FeatureEncoder<T> encoder;
+		switch (format) {
+		default:
+		case WKB:
+			encoder = new WkbEncoder<>(codec, names);
+			break;
+		case GEOJSON:
+			encoder = new GeoJsonEncoder<>(codec, names);
+			break;
+		case FLATGEOBUF:
+			encoder = new FlatGeobufEncoder<>(codec, names);
+			break;
+		}
+
+		ExportBuffer buffer = new ExportBuffer(1 << 16);
+		if (format == Format.FLATGEOBUF) {
+			writeFlatGeobufPrefix(channel, buffer, encoder, title, n, source);
+		} else {
+			encoder.header(buffer, title, n, null);
+			buffer.writeTo(channel);
+		}
+
+		int window = 2 * ForkJoinPool.getCommonPoolParallelism();
+		Deque<Slot<T>> free = new ArrayDeque<>();
+		for (int i = 0; i < window; i++) {
+			free.add(new Slot<>());
+		}
+
+		int chunks = (n + chunkSize - 1) / chunkSize;
+		Deque<CompletableFuture<Slot<T>>> inFlight = new ArrayDeque<>();
+		int next = 0;
+		while (next < chunks || !inFlight.isEmpty()) {
+			while (next < chunks && !free.isEmpty()) {
+				final Slot<T> slot = free.remove();
+				final int from = next++ * chunkSize;
+				final int to = Math.min(n, from + chunkSize);
+				inFlight.add(CompletableFuture.supplyAsync(() -> {
+					slot.encode(encoder, source, from, to);
+					return slot;
+				}));
+			}
+			Slot<T> slot = inFlight.remove().join();
+			slot.buffer.writeTo(channel);
+			free.add(slot);
+		}
+
+		encoder.footer(buffer);
+		buffer.writeTo(channel);
+		return n;
+	}
+
+	/**
+	 * Write everything that precedes the features of a FlatGeobuf file. This
+	 * encodes all features once to determine their sizes and bounding boxes.
+	 */
+	private void writeFlatGeobufPrefix(WritableByteChannel channel,
+			ExportBuffer buffer, FeatureEncoder<T> encoder, String title,
+			int n, Source<T> source) throws IOException
+	{
+		double[] boxes = new double[4 * n];
+		long[] offsets = new long[n];
+		ParallelUtil.forEachRange(n, chunkSize, (from, to) -> {
+			Slot<T> slot = new Slot<>();
+			for (int i = from; i < to; i++) {
+				ExportFeature<T> feature = slot.feature;
+				feature.clear();
+				source.fill(i, feature);
+				feature.close();
+				slot.buffer.clear();
+				encoder.feature(slot.buffer, i, feature);
+				offsets[i] = slot.buffer.position();
+				boxes[4 * i] = feature.minX;
+				boxes[4 * i + 1] = feature.minY;
+				boxes[4 * i + 2] = feature.maxX;
+				boxes[4 * i + 3] = feature.maxY;
+			}
+		});
+
+		// Turn sizes into offsets and compute the envelope
+		double[] envelope = { Double.POSITIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.NEGATIVE_INFINITY };
+		long offset = 0;
+		for (int i = 0; i < n; i++) {
+			long size = offsets[i];
+			offsets[i] = offset;
+			offset += size;
+			envelope[0] = Math.min(envelope[0], boxes[4 * i]);
+			envelope[1] = Math.min(envelope[1], boxes[4 * i + 1]);
+			envelope[2] = Math.max(envelope[2], boxes[4 * i + 2]);
+			envelope[3] = Math.max(envelope[3], boxes[4 * i + 3]);
+		}
+		if (n == 0) {
+			envelope = new double[0];
+		}
+
+		encoder.header(buffer, title, n, envelope);
+		buffer.writeTo(channel);
+		if (n > 0) {
+			FlatGeobufEncoder.index(channel, buffer, n, boxes, offsets);
+		}
+	}
+
+}
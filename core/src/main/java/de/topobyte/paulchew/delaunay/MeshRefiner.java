@@ -0,0 +1,651 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Generates a quality mesh by Delaunay refinement in the fashion of Ruppert
+ * and Chew. Triangles whose smallest angle is below a bound or whose area
+ * exceeds a bound are split by inserting their circumcenter. If the
+ * circumcenter encroaches upon a constrained edge, i.e. lies inside its
+ * diametral circle, or is not visible from the triangle, the constrained
+ * edge is split instead. Bad triangles are processed from a priority queue,
+ * worst first.
+ * 
+ * Refinement either covers the convex hull of a triangulation with a vertex
+ * at infinity, in which case the edges of the convex hull become constrained
+ * edges, or a domain given as a set of triangles that is bounded by
+ * constrained edges, such as the interior of a
+ * {@link PolygonTriangulation}. The set is kept up to date as triangles are
+ * replaced.
+ * 
+ * Refinement terminates for minimum angles up to about 20 degrees; higher
+ * bounds usually work in practice but may require a limit on the number of
+ * inserted sites, see {@link #setMaxSteinerPoints(int)}. Input angles
+ * smaller than 60 degrees are protected by splitting segments on concentric
+ * shells around their apex, and skinny triangles that span such an angle are
+ * left as they are, since splitting them would not terminate.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class MeshRefiner<T>
+{
+
+	/**
+	 * The order in which bad triangles are split.
+	 */
+	public enum Priority
+	{
+		/**
+		 * Worst shaped triangles first, by the ratio of circumradius and
+		 * shortest edge.
+		 */
+		QUALITY,
+		/**
+		 * Largest triangles first.
+		 */
+		SIZE
+	}
+
+	private final Triangulation<T> triangulation;
+	private final Set<Triangle> domain; // Null if refining the convex hull
+
+	private double minAngle = 20;
+	private double maxArea = Double.POSITIVE_INFINITY;
+	private int maxSteinerPoints = Integer.MAX_VALUE;
+	private Priority priority = Priority.QUALITY;
+	private Function<Pnt, T> data = p -> null;
+
+	// State during refinement
+	private double maxRatioSq;
+	private PriorityQueue<Candidate> queue;
+	private Deque<Pnt[]> segments;
+	private Map<Pnt, Pnt[]> segmentOf; // Input segment of inserted sites
+	private List<Triangle> added = new ArrayList<>();
+	private int inserted;
+
+	/**
+	 * Create a refiner for the convex hull of a triangulation with a vertex
+	 * at infinity.
+	 * 
+	 * @param triangulation
+	 *            the triangulation to refine.
+	 */
+	public MeshRefiner(Triangulation<T> triangulation)
+	{
+		this.triangulation = triangulation;
+		this.domain = null;
+	}
+
+	/**
+	 * Create a refiner for a part of a triangulation.
+	 * 
+	 * @param triangulation
+	 *            the triangulation to refine.
+	 * @param domain
+	 *            the triangles to refine, bounded by constrained edges. The
+	 *            set is updated during refinement to contain the triangles
+	 *            covering the same region.
+	 */
+	public MeshRefiner(Triangulation<T> triangulation, Set<Triangle> domain)
+	{
+		this.triangulation = triangulation;
+		this.domain = domain;
+	}
+
+	/**
+	 * @param minAngle
+	 *            the minimum angle of triangles in degrees.
+	 * @return this refiner.
+	 */
+	public MeshRefiner<T> setMinAngle(double minAngle)
+	{
+		this.minAngle = minAngle;
+		return this;
+	}
+
+	/**
+	 * @param maxArea
+	 *            the maximum area of triangles.
+	 * @return this refiner.
+	 */
+	public MeshRefiner<T> setMaxArea(double maxArea)
+	{
+		this.maxArea = maxArea;
+		return this;
+	}
+
+	/**
+	 * @param maxSteinerPoints
+	 *            the maximum number of sites to insert.
+	 * @return this refiner.
+	 */
+	public MeshRefiner<T> setMaxSteinerPoints(int maxSteinerPoints)
+	{
+		this.maxSteinerPoints = maxSteinerPoints;
+		return this;
+	}
+
+	/**
+	 * @param priority
+	 *            the order in which bad triangles are split.
+	 * @return this refiner.
+	 */
+	public MeshRefiner<T> setPriority(Priority priority)
+	{
+		this.priority = priority;
+		return this;
+	}
+
+	/**
+	 * @param data
+	 *            a function providing the object to associate with each
+	 *            inserted site.
+	 * @return this refiner.
+	 */
+	public MeshRefiner<T> setData(Function<Pnt, T> data)
+	{
+		this.data = data;
+		return this;
+	}
+
+	/**
+	 * Insert sites until no triangle violates the angle and area bounds or
+	 * the maximum number of sites has been inserted.
+	 * 
+	 * @return the number of inserted sites.
+	 * @throws IllegalStateException
+	 *             if refining the convex hull of a triangulation without a
+	 *             vertex at infinity.
+	 */
+	public int refine()
+	{
+		if (domain == null) {
+			if (!triangulation.hasInfiniteVertex()) {
+				throw new IllegalStateException("no vertex at infinity");
+			}
+			List<Pnt> hull = triangulation.convexHull();
+			for (int i = 0; i < hull.size(); i++) {
+				triangulation.insertSegment(hull.get(i),
+						hull.get((i + 1) % hull.size()));
+			}
+		}
+
+		double sin = Math.sin(Math.toRadians(minAngle));
+		maxRatioSq = 1 / (4 * sin * sin);
+		queue = new PriorityQueue<>();
+		segments = new ArrayDeque<>();
+		segmentOf = new HashMap<>();
+		inserted = 0;
+
+		for (Set<Pnt> constraint : triangulation.getConstraints()) {
+			Pnt[] segment = constraint.toArray(new Pnt[2]);
+			if (isEncroached(segment[0], segment[1])) {
+				segments.add(segment);
+			}
+		}
+		for (Triangle triangle : domain == null ? triangulation : domain) {
+			offer(triangle);
+		}
+
+		Changes changes = new Changes();
+		triangulation.addListener(changes);
+		try {
+			while (inserted < maxSteinerPoints) {
+				if (!segments.isEmpty()) {
+					Pnt[] segment = segments.remove();
+					Pnt a = segment[0], b = segment[1];
+					if (triangulation.isConstrained(a, b)
+							&& isEncroached(a, b)) {
+						split(a, b);
+					}
+					continue;
+				}
+				Candidate candidate = queue.poll();
+				if (candidate == null) {
+					break;
+				}
+				if (isAlive(candidate.triangle)) {
+					split(candidate);
+				}
+			}
+		} finally {
+			triangulation.removeListener(changes);
+		}
+		return inserted;
+	}
+
+	/**
+	 * Split a bad triangle by inserting its circumcenter, or split the
+	 * constrained edges the circumcenter encroaches upon.
+	 */
+	private void split(Candidate candidate)
+	{
+		Triangle triangle = candidate.triangle;
+		if (area(triangle) <= maxArea && isInSmallAngle(triangle)) {
+			return;
+		}
+		Pnt center = new Pnt(triangle.getCircumcenterX(),
+				triangle.getCircumcenterY());
+		List<Pnt[]> encroached = new ArrayList<>();
+		Triangle containing = walk(triangle, center, encroached);
+		if (containing != null) {
+			collectEncroached(containing, center, encroached);
+		}
+		if (!encroached.isEmpty()) {
+			for (Pnt[] segment : encroached) {
+				if (triangulation.isConstrained(segment[0], segment[1])) {
+					split(segment[0], segment[1]);
+				}
+			}
+			queue.add(candidate); // Check again after splitting the edges
+			return;
+		}
+		if (containing == null) {
+			return; // Circumcenter outside of the triangulation
+		}
+
+		triangulation.delaunayPlace(center, data.apply(center));
+		if (triangulation.contains(triangle)) {
+			return; // The circumcenter coincides with a site
+		}
+		inserted++;
+		update();
+	}
+
+	/**
+	 * Split a constrained edge at its midpoint or, if only one of its end
+	 * points is an input vertex, at a power of two distance from that end
+	 * point. Splitting edges that share an input vertex on concentric circles
+	 * avoids endless refinement at small input angles.
+	 */
+	private void split(Pnt a, Pnt b)
+	{
+		double dx = b.coord(0) - a.coord(0);
+		double dy = b.coord(1) - a.coord(1);
+		double t = 0.5;
+		boolean steinerA = segmentOf.containsKey(a);
+		boolean steinerB = segmentOf.containsKey(b);
+		if (steinerA != steinerB) {
+			double length = Math.sqrt(dx * dx + dy * dy);
+			double shell = Math.scalb(1.0,
+					(int) Math.round(Math.log(length / 2) / Math.log(2)));
+			t = steinerA ? 1 - shell / length : shell / length;
+		}
+		Pnt site = new Pnt(a.coord(0) + t * dx, a.coord(1) + t * dy);
+		triangulation.splitSegment(a, b, site, data.apply(site));
+		segmentOf.put(site, inputSegment(a, b));
+		inserted++;
+		update();
+	}
+
+	/**
+	 * @return the input segment that the constrained edge between a and b is
+	 *         a part of.
+	 */
+	private Pnt[] inputSegment(Pnt a, Pnt b)
+	{
+		Pnt[] segment = segmentOf.get(a);
+		if (segment == null) {
+			segment = segmentOf.get(b);
+		}
+		return segment != null ? segment : new Pnt[] { a, b };
+	}
+
+	/**
+	 * Check whether the shortest edge of a triangle connects sites on two
+	 * input segments that meet at an angle below 60 degrees and that lie on
+	 * the same concentric circle around the shared end point. Such triangles
+	 * are not split for quality, following Shewchuk, since splitting them
+	 * would cause ever smaller triangles near the small angle.
+	 */
+	private boolean isInSmallAngle(Triangle triangle)
+	{
+		Pnt u = null, v = null;
+		double shortest = Double.POSITIVE_INFINITY;
+		for (Pnt vertex : triangle) {
+			ArraySet<Pnt> edge = triangle.facetOpposite(vertex);
+			double length = Triangulation.distanceSq(edge.get(0),
+					edge.get(1));
+			if (length < shortest) {
+				shortest = length;
+				u = edge.get(0);
+				v = edge.get(1);
+			}
+		}
+		Pnt[] su = segmentOf.get(u), sv = segmentOf.get(v);
+		if (su == null || sv == null) {
+			return false;
+		}
+		for (int i = 0; i < 2; i++) {
+			for (int j = 0; j < 2; j++) {
+				if (!su[i].equals(sv[j]) || su[1 - i].equals(sv[1 - j])) {
+					continue;
+				}
+				Pnt apex = su[i], p = su[1 - i], q = sv[1 - j];
+				double px = p.coord(0) - apex.coord(0);
+				double py = p.coord(1) - apex.coord(1);
+				double qx = q.coord(0) - apex.coord(0);
+				double qy = q.coord(1) - apex.coord(1);
+				double dot = px * qx + py * qy;
+				// cos(angle) > 0.5
+				if (dot <= 0 || 4 * dot * dot <= (px * px + py * py)
+						* (qx * qx + qy * qy)) {
+					return false;
+				}
+				double du = Triangulation.distanceSq(apex, u);
+				double dv = Triangulation.distanceSq(apex, v);
+				return du < 1.002 * dv && du > 0.998 * dv;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Process the triangles created by the last insertion: assign them to
+	 * the domain, queue the bad ones and the constrained edges that are now
+	 * encroached.
+	 */
+	private void update()
+	{
+		List<Triangle> created = new ArrayList<>(added.size());
+		for (Triangle triangle : added) {
+			if (triangulation.contains(triangle)) {
+				created.add(triangle);
+			}
+		}
+		added.clear();
+		if (domain != null) {
+			classify(created);
+		}
+		for (Triangle triangle : created) {
+			offer(triangle);
+			for (Pnt vertex : triangle) {
+				ArraySet<Pnt> edge = triangle.facetOpposite(vertex);
+				Pnt a = edge.get(0), b = edge.get(1);
+				if (triangulation.isConstrained(a, b)
+						&& isInDomain(triangle) && encroaches(vertex, a, b)) {
+					segments.add(new Pnt[] { a, b });
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add new triangles to the domain if they lie inside. Each new triangle
+	 * inherits the state of an adjacent triangle, inverted if the edge
+	 * between them is constrained.
+	 */
+	private void classify(List<Triangle> created)
+	{
+		Set<Triangle> open = new HashSet<>(created);
+		Deque<Triangle> work = new ArrayDeque<>();
+		for (Triangle triangle : created) {
+			for (Triangle neighbor : triangulation.neighbors(triangle)) {
+				if (!open.contains(neighbor)) {
+					classify(triangle, neighbor);
+					open.remove(triangle);
+					work.add(triangle);
+					break;
+				}
+			}
+		}
+		while (!work.isEmpty()) {
+			Triangle triangle = work.remove();
+			for (Triangle neighbor : triangulation.neighbors(triangle)) {
+				if (open.remove(neighbor)) {
+					classify(neighbor, triangle);
+					work.add(neighbor);
+				}
+			}
+		}
+	}
+
+	private void classify(Triangle triangle, Triangle neighbor)
+	{
+		boolean inside = !neighbor.isInfinite() && domain.contains(neighbor);
+		Pnt[] edge = new Pnt[2];
+		int k = 0;
+		for (Pnt vertex : triangle) {
+			if (neighbor.contains(vertex)) {
+				edge[k++] = vertex;
+			}
+		}
+		if (triangulation.isConstrained(edge[0], edge[1])) {
+			inside = !inside;
+		}
+		if (inside) {
+			domain.add(triangle);
+		}
+	}
+
+	/**
+	 * Walk on a straight line from the center of a triangle towards a target
+	 * point.
+	 * 
+	 * @return the triangle containing the target; null if a constrained edge
+	 *         blocks the way, which is added to the blocking edges, or if the
+	 *         target lies outside of the triangulation.
+	 */
+	private Triangle walk(Triangle start, Pnt target, List<Pnt[]> blocking)
+	{
+		Pnt[] vertices = start.toArray(new Pnt[0]);
+		Pnt source = new Pnt(
+				(vertices[0].coord(0) + vertices[1].coord(0)
+						+ vertices[2].coord(0)) / 3,
+				(vertices[0].coord(1) + vertices[1].coord(1)
+						+ vertices[2].coord(1)) / 3);
+		Triangle current = start;
+		for (int steps = 0; steps <= triangulation.size(); steps++) {
+			vertices = current.toArray(vertices);
+			Triangle next = null;
+			for (int i = 0; i < 3; i++) {
+				Pnt a = vertices[(i + 1) % 3], b = vertices[(i + 2) % 3];
+				if (Triangulation.orientation(a, b, target)
+						* Triangulation.orientation(a, b, vertices[i]) >= 0) {
+					continue; // Target on this side of edge
+				}
+				if (Triangulation.orientation(source, target, a)
+						* Triangulation.orientation(source, target, b) > 0) {
+					continue; // The line does not cross the edge
+				}
+				if (triangulation.isConstrained(a, b)) {
+					blocking.add(new Pnt[] { a, b });
+					return null;
+				}
+				next = triangulation.neighborOpposite(vertices[i], current);
+				break;
+			}
+			if (next == null) {
+				return current;
+			}
+			if (next.isInfinite()) {
+				return null;
+			}
+			current = next;
+		}
+		return null;
+	}
+
+	/**
+	 * Find the constrained edges on the boundary of the cavity that inserting
+	 * point would create and that point encroaches upon.
+	 */
+	private void collectEncroached(Triangle containing, Pnt point,
+			List<Pnt[]> encroached)
+	{
+		Set<Triangle> visited = new HashSet<>();
+		Deque<Triangle> work = new ArrayDeque<>();
+		visited.add(containing);
+		work.add(containing);
+		while (!work.isEmpty()) {
+			Triangle triangle = work.remove();
+			for (Pnt vertex : triangle) {
+				ArraySet<Pnt> edge = triangle.facetOpposite(vertex);
+				Pnt a = edge.get(0), b = edge.get(1);
+				if (triangulation.isConstrained(a, b)) {
+					if (encroaches(point, a, b)) {
+						encroached.add(new Pnt[] { a, b });
+					}
+					continue;
+				}
+				Triangle neighbor = triangulation.neighborOpposite(vertex,
+						triangle);
+				if (neighbor == null || neighbor.isInfinite()
+						|| visited.contains(neighbor)) {
+					continue;
+				}
+				visited.add(neighbor);
+				if (neighbor.vsCircumcircle(point) == -1) {
+					work.add(neighbor);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check whether a vertex of a triangle of the domain encroaches upon the
+	 * constrained edge between a and b.
+	 */
+	private boolean isEncroached(Pnt a, Pnt b)
+	{
+		Triangle incident = triangulation.incidentTriangle(a);
+		for (Triangle triangle : triangulation.surroundingTriangles(a,
+				incident)) {
+			if (!triangle.contains(b) || !isInDomain(triangle)) {
+				continue;
+			}
+			if (encroaches(triangle.getVertexButNot(a, b), a, b)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether point lies strictly inside the diametral circle of the
+	 *         segment between a and b.
+	 */
+	private static boolean encroaches(Pnt point, Pnt a, Pnt b)
+	{
+		double ax = a.coord(0) - point.coord(0);
+		double ay = a.coord(1) - point.coord(1);
+		double bx = b.coord(0) - point.coord(0);
+		double by = b.coord(1) - point.coord(1);
+		return ax * bx + ay * by < 0;
+	}
+
+	private void offer(Triangle triangle)
+	{
+		if (triangle.isInfinite() || !isInDomain(triangle)) {
+			return;
+		}
+		Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+		double shortestSq = Math.min(Triangulation.distanceSq(a, b),
+				Math.min(Triangulation.distanceSq(b, c),
+						Triangulation.distanceSq(c, a)));
+		double ratioSq = triangle.getCircumradiusSq() / shortestSq;
+		double area = area(triangle);
+		if (ratioSq <= maxRatioSq && area <= maxArea) {
+			return;
+		}
+		double key = priority == Priority.QUALITY ? ratioSq : area;
+		queue.add(new Candidate(triangle, key));
+	}
+
+	private static double area(Triangle triangle)
+	{
+		Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+		return Math.abs((b.coord(0) - a.coord(0)) * (c.coord(1) - a.coord(1))
+				- (b.coord(1) - a.coord(1)) * (c.coord(0) - a.coord(0))) / 2;
+	}
+
+	private boolean isInDomain(Triangle triangle)
+	{
+		if (domain == null) {
+			return !triangle.isInfinite();
+		}
+		return domain.contains(triangle);
+	}
+
+	private boolean isAlive(Triangle triangle)
+	{
+		return triangulation.contains(triangle) && isInDomain(triangle);
+	}
+
+	/**
+	 * A bad triangle in the queue, ordered by decreasing key.
+	 */
+	private static class Candidate implements Comparable<Candidate>
+	{
+
+		final Triangle triangle;
+		final double key;
+
+		Candidate(Triangle triangle, double key)
+		{
+			this.triangle = triangle;
+			this.key = key;
+		}
+
+		@Override
+		public int compareTo(Candidate o)
+		{
+			return Double.compare(o.key, key);
+		}
+
+	}
+
+	/**
+	 * Records the triangles created by insertions and removes replaced
+	 * triangles from the domain.
+	 */
+	private class Changes implements TriangulationListener
+	{
+
+		@Override
+		public void triangleAdded(Triangle triangle)
+		{
+			added.add(triangle);
+		}
+
+		@Override
+		public void triangleRemoved(Triangle triangle)
+		{
+			if (domain != null) {
+				domain.remove(triangle);
+			}
+		}
+
+	}
+
+}
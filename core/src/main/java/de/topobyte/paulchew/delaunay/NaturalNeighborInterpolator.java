@@ -0,0 +1,405 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Natural neighbor interpolation of values associated with the sites of a
+ * triangulation. The natural neighbors of a query position are the sites
+ * whose Voronoi cells would shrink if the position was inserted as a site.
+ * Their weights are derived from the Voronoi cell of the position:
+ * 
+ * <ul>
+ * <li>{@link Method#SIBSON}: the area each neighbor would lose to the new
+ * cell.</li>
+ * <li>{@link Method#LAPLACE}: the length of the new Voronoi edge between the
+ * position and the neighbor, divided by their distance.</li>
+ * </ul>
+ * 
+ * The triangulation is not modified. The triangles that would be replaced on
+ * insertion are collected from a {@link TriangleMesh} snapshot and the
+ * weights are computed from their circumcenters and those of the triangles
+ * that would be created. Interpolation is only defined within the convex
+ * hull of the sites, the result is NaN for positions outside of it and for
+ * positions having a vertex of the initial triangle as a natural neighbor.
+ * 
+ * Instances are safe to be queried from multiple threads concurrently.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class NaturalNeighborInterpolator<T>
+{
+
+	/**
+	 * The kind of weights to use.
+	 */
+	public enum Method
+	{
+		SIBSON,
+		LAPLACE
+	}
+
+	private static final int GRAIN = 4096;
+
+	private final TriangleMesh<T> mesh;
+	private final double[] values;
+
+	private Method method = Method.SIBSON;
+
+	/**
+	 * Create an interpolator for the current state of a triangulation.
+	 * 
+	 * @param t
+	 *            the triangulation.
+	 * @param value
+	 *            a function that determines the value of each site from its
+	 *            associated object.
+	 */
+	public NaturalNeighborInterpolator(Triangulation<T> t,
+			ToDoubleFunction<? super T> value)
+	{
+		this(new TriangleMesh<>(t), value);
+	}
+
+	/**
+	 * Create an interpolator based on an existing snapshot of a
+	 * triangulation.
+	 * 
+	 * @param mesh
+	 *            the snapshot of the triangulation.
+	 * @param value
+	 *            a function that determines the value of each site from its
+	 *            associated object.
+	 */
+	public NaturalNeighborInterpolator(TriangleMesh<T> mesh,
+			ToDoubleFunction<? super T> value)
+	{
+		this.mesh = mesh;
+		values = new double[mesh.getNumberOfVertices()];
+		Arrays.fill(values, Double.NaN);
+		for (int v = 0; v < mesh.getNumberOfSites(); v++) {
+			values[v] = value.applyAsDouble(mesh.getData(v));
+		}
+	}
+
+	/**
+	 * @return the kind of weights used.
+	 */
+	public Method getMethod()
+	{
+		return method;
+	}
+
+	/**
+	 * @param method
+	 *            the kind of weights to use.
+	 */
+	public void setMethod(Method method)
+	{
+		this.method = method;
+	}
+
+	/**
+	 * Interpolate the value at the specified position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position.
+	 * @param y
+	 *            the y coordinate of the query position.
+	 * @return the interpolated value; NaN outside of the convex hull of the
+	 *         sites.
+	 */
+	public double interpolate(double x, double y)
+	{
+		return interpolate(x, y, mesh.locate(x, y), new Workspace(mesh));
+	}
+
+	/**
+	 * Interpolate the values at the specified positions.
+	 * 
+	 * The positions are processed in the order of a Hilbert curve and point
+	 * location starts at the triangle found for the previous position, which
+	 * typically is close. Chunks of consecutive positions are processed in
+	 * parallel.
+	 * 
+	 * @param qx
+	 *            the x coordinates of the query positions.
+	 * @param qy
+	 *            the y coordinates of the query positions.
+	 * @return for each position the interpolated value; NaN outside of the
+	 *         convex hull of the sites.
+	 */
+	public double[] interpolate(final double[] qx, final double[] qy)
+	{
+		int m = qx.length;
+		final double[] result = new double[m];
+		if (mesh.size() == 0) {
+			Arrays.fill(result, Double.NaN);
+			return result;
+		}
+
+		final int[] order = HilbertCurve.of(qx, qy, m).sort(qx, qy, m);
+		ParallelUtil.forEachRange(m, GRAIN, (from, to) -> {
+			Workspace workspace = new Workspace(mesh);
+			int current = -1;
+			for (int i = from; i < to; i++) {
+				int q = order[i];
+				double x = qx[q], y = qy[q];
+				int triangle = current < 0 ? mesh.locate(x, y)
+						: mesh.locate(x, y, current);
+				result[q] = interpolate(x, y, triangle, workspace);
+				if (triangle >= 0) {
+					current = triangle;
+				}
+			}
+		});
+		return result;
+	}
+
+	private double interpolate(double x, double y, int triangle,
+			Workspace w)
+	{
+		if (triangle < 0) {
+			return Double.NaN;
+		}
+
+		// Positions at a vertex or on the boundary of the mesh
+		for (int k = 0; k < 3; k++) {
+			int a = mesh.getVertex(triangle, k);
+			if (mesh.getX(a) == x && mesh.getY(a) == y) {
+				return values[a];
+			}
+		}
+		for (int k = 0; k < 3; k++) {
+			if (mesh.getNeighbor(triangle, k) >= 0) {
+				continue;
+			}
+			int a = mesh.getVertex(triangle, k);
+			int b = mesh.getVertex(triangle, (k + 1) % 3);
+			double ex = mesh.getX(b) - mesh.getX(a);
+			double ey = mesh.getY(b) - mesh.getY(a);
+			double px = x - mesh.getX(a), py = y - mesh.getY(a);
+			if (ex * py - ey * px == 0) {
+				double f = (ex * px + ey * py) / (ex * ex + ey * ey);
+				return (1 - f) * values[a] + f * values[b];
+			}
+		}
+
+		// Collect the triangles whose circumcircle contains the position
+		w.clear();
+		w.addTriangle(triangle);
+		for (int i = 0; i < w.numTriangles; i++) {
+			int current = w.triangles[i];
+			for (int k = 0; k < 3; k++) {
+				int neighbor = mesh.getNeighbor(current, k);
+				if (neighbor < 0 || w.containsTriangle(neighbor)) {
+					continue;
+				}
+				double dx = x - mesh.getCircumcenterX(neighbor);
+				double dy = y - mesh.getCircumcenterY(neighbor);
+				if (dx * dx + dy * dy < mesh.getCircumradiusSq(neighbor)) {
+					w.addTriangle(neighbor);
+				}
+			}
+		}
+
+		/*
+		 * The part of the cell of a natural neighbor v that would be lost is
+		 * the polygon through the circumcenters of the replaced triangles
+		 * around v in counterclockwise order, closed by the circumcenters of
+		 * the two new triangles incident to v. Its area is accumulated edge by
+		 * edge using the shoelace formula, with the position as the origin.
+		 */
+		for (int i = 0; i < w.numTriangles; i++) {
+			int current = w.triangles[i];
+			double cx = mesh.getCircumcenterX(current) - x;
+			double cy = mesh.getCircumcenterY(current) - y;
+			for (int k = 0; k < 3; k++) {
+				int a = mesh.getVertex(current, k);
+				int b = mesh.getVertex(current, (k + 1) % 3);
+				int neighbor = mesh.getNeighbor(current, k);
+				if (neighbor >= 0 && w.containsTriangle(neighbor)) {
+					double nx = mesh.getCircumcenterX(neighbor) - x;
+					double ny = mesh.getCircumcenterY(neighbor) - y;
+					int sb = w.slot(b);
+					w.area[sb] += cx * ny - nx * cy;
+					continue;
+				}
+				// The edge would be connected to the position
+				double ax = mesh.getX(a) - x, ay = mesh.getY(a) - y;
+				double bx = mesh.getX(b) - x, by = mesh.getY(b) - y;
+				double d = 2 * (ax * by - ay * bx);
+				double la = ax * ax + ay * ay, lb = bx * bx + by * by;
+				double gx = (by * la - ay * lb) / d;
+				double gy = (ax * lb - bx * la) / d;
+				int sa = w.slot(a), sb = w.slot(b);
+				w.area[sb] += cx * gy - gx * cy;
+				w.area[sa] += gx * cy - cx * gy;
+				w.lastX[sb] = gx;
+				w.lastY[sb] = gy;
+				w.firstX[sa] = gx;
+				w.firstY[sa] = gy;
+			}
+		}
+
+		double sum = 0, weighted = 0;
+		for (int s = 0; s < w.numVertices; s++) {
+			double weight;
+			if (method == Method.SIBSON) {
+				weight = w.area[s] + w.lastX[s] * w.firstY[s]
+						- w.firstX[s] * w.lastY[s];
+			} else {
+				int v = w.vertices[s];
+				weight = Math.hypot(w.firstX[s] - w.lastX[s],
+						w.firstY[s] - w.lastY[s])
+						/ Math.hypot(mesh.getX(v) - x, mesh.getY(v) - y);
+			}
+			sum += weight;
+			weighted += weight * values[w.vertices[s]];
+		}
+		return weighted / sum;
+	}
+
+	/**
+	 * Buffers for the triangles that would be replaced and the natural
+	 * neighbors of a query position. Used by one thread at a time.
+	 * 
+	 * Membership is tested by linear search as long as there are only a few
+	 * triangles, which is the common case. Degenerate inputs such as sites on
+	 * a common circle can lead to very large sets of replaced triangles, for
+	 * which arrays of marks indexed by triangle and vertex are used instead.
+	 */
+	private static class Workspace
+	{
+
+		private static final int LINEAR = 32;
+
+		final TriangleMesh<?> mesh;
+
+		int[] triangles = new int[16];
+		int numTriangles;
+
+		int[] vertices = new int[16];
+		double[] area = new double[16];
+		double[] firstX = new double[16], firstY = new double[16];
+		double[] lastX = new double[16], lastY = new double[16];
+		int numVertices;
+
+		// Marks for large sets, created on demand
+		int generation = 1;
+		int[] triangleMarks = null;
+		int[] vertexMarks = null;
+		int[] vertexSlots = null;
+
+		Workspace(TriangleMesh<?> mesh)
+		{
+			this.mesh = mesh;
+		}
+
+		void clear()
+		{
+			numTriangles = 0;
+			numVertices = 0;
+			generation++;
+		}
+
+		boolean containsTriangle(int triangle)
+		{
+			if (numTriangles > LINEAR) {
+				return triangleMarks[triangle] == generation;
+			}
+			for (int i = 0; i < numTriangles; i++) {
+				if (triangles[i] == triangle) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void addTriangle(int triangle)
+		{
+			if (numTriangles == triangles.length) {
+				triangles = Arrays.copyOf(triangles, 2 * numTriangles);
+			}
+			triangles[numTriangles++] = triangle;
+			if (numTriangles == LINEAR + 1) {
+				if (triangleMarks == null) {
+					triangleMarks = new int[mesh.size()];
+				}
+				for (int i = 0; i < numTriangles; i++) {
+					triangleMarks[triangles[i]] = generation;
+				}
+			} else if (numTriangles > LINEAR) {
+				triangleMarks[triangle] = generation;
+			}
+		}
+
+		/**
+		 * Find or create the slot of a natural neighbor.
+		 */
+		int slot(int vertex)
+		{
+			if (numVertices > LINEAR) {
+				if (vertexMarks[vertex] == generation) {
+					return vertexSlots[vertex];
+				}
+			} else {
+				for (int i = 0; i < numVertices; i++) {
+					if (vertices[i] == vertex) {
+						return i;
+					}
+				}
+			}
+			if (numVertices == vertices.length) {
+				int length = 2 * numVertices;
+				vertices = Arrays.copyOf(vertices, length);
+				area = Arrays.copyOf(area, length);
+				firstX = Arrays.copyOf(firstX, length);
+				firstY = Arrays.copyOf(firstY, length);
+				lastX = Arrays.copyOf(lastX, length);
+				lastY = Arrays.copyOf(lastY, length);
+			}
+			int i = numVertices++;
+			vertices[i] = vertex;
+			area[i] = 0;
+			firstX[i] = firstY[i] = lastX[i] = lastY[i] = 0;
+			if (numVertices == LINEAR + 1) {
+				if (vertexMarks == null) {
+					vertexMarks = new int[mesh.getNumberOfVertices()];
+					vertexSlots = new int[mesh.getNumberOfVertices()];
+				}
+				for (int k = 0; k < numVertices; k++) {
+					vertexMarks[vertices[k]] = generation;
+					vertexSlots[vertices[k]] = k;
+				}
+			} else if (numVertices > LINEAR) {
+				vertexMarks[vertex] = generation;
+				vertexSlots[vertex] = i;
+			}
+			return i;
+		}
+
+	}
+
+}
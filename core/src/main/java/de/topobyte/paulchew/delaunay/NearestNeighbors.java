@@ -0,0 +1,166 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * The nearest neighbor of each site of a {@link DelaunayGraph} and the
+ * closest pair of sites.
+ *
+ * Since the nearest neighbor of a site is always one of its Delaunay
+ * neighbors, it is found by a scan of the neighbors of each site, which
+ * takes linear time overall. Ranges of sites are processed in parallel. Of
+ * several neighbors at the same distance, the one with the smallest number
+ * is chosen.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class NearestNeighbors
+{
+
+	private static final int GRAIN = 4096;
+
+	private final int[] neighbors;
+	private final double[] distances;
+
+	private int closestA = -1, closestB = -1;
+	private double closestDistance = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Compute the nearest neighbors of all sites of a Delaunay graph.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 */
+	public NearestNeighbors(final DelaunayGraph<?> graph)
+	{
+		int n = graph.size();
+		neighbors = new int[n];
+		distances = new double[n];
+		ParallelUtil.forEachRange(n, GRAIN, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				double x = graph.getX(i), y = graph.getY(i);
+				int nearest = -1;
+				double best = Double.POSITIVE_INFINITY;
+				int end = graph.getNeighborsStart(i + 1);
+				for (int p = graph.getNeighborsStart(i); p < end; p++) {
+					int j = graph.getNeighbor(p);
+					if (j < 0) {
+						continue;
+					}
+					double dx = graph.getX(j) - x, dy = graph.getY(j) - y;
+					double d = dx * dx + dy * dy;
+					if (d < best || d == best && j < nearest) {
+						best = d;
+						nearest = j;
+					}
+				}
+				neighbors[i] = nearest;
+				distances[i] = Math.sqrt(best);
+			}
+		});
+
+		for (int i = 0; i < n; i++) {
+			if (distances[i] < closestDistance) {
+				closestDistance = distances[i];
+				closestA = Math.min(i, neighbors[i]);
+				closestB = Math.max(i, neighbors[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of sites.
+	 */
+	public int size()
+	{
+		return neighbors.length;
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the number of the nearest other site or -1 if there is none.
+	 */
+	public int getNeighbor(int i)
+	{
+		return neighbors[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a site.
+	 * @return the distance to the nearest other site, infinity if there is
+	 *         none.
+	 */
+	public double getDistance(int i)
+	{
+		return distances[i];
+	}
+
+	/**
+	 * Get the nearest neighbors of all sites. The returned array is backed
+	 * by this object and must not be modified.
+	 *
+	 * @return for each site the number of the nearest other site, -1 if
+	 *         there is none.
+	 */
+	public int[] getNeighbors()
+	{
+		return neighbors;
+	}
+
+	/**
+	 * Get the distances to the nearest neighbors of all sites. The returned
+	 * array is backed by this object and must not be modified.
+	 *
+	 * @return for each site the distance to the nearest other site, infinity
+	 *         if there is none.
+	 */
+	public double[] getDistances()
+	{
+		return distances;
+	}
+
+	/**
+	 * @return the smaller number of the two sites of the closest pair, -1 if
+	 *         there are less than two sites.
+	 */
+	public int getClosestA()
+	{
+		return closestA;
+	}
+
+	/**
+	 * @return the larger number of the two sites of the closest pair, -1 if
+	 *         there are less than two sites.
+	 */
+	public int getClosestB()
+	{
+		return closestB;
+	}
+
+	/**
+	 * @return the distance between the sites of the closest pair, infinity
+	 *         if there are less than two sites.
+	 */
+	public double getClosestDistance()
+	{
+		return closestDistance;
+	}
+
+}
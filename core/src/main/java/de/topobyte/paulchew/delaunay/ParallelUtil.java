@@ -0,0 +1,102 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Helpers for splitting work on index ranges across the common fork/join
+ * pool.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class ParallelUtil
+{
+
+	/**
+	 * Work on a contiguous range of indices.
+	 */
+	interface RangeProcedure
+	{
+
+		/**
+		 * @param from
+		 *            the first index (inclusive).
+		 * @param to
+		 *            the last index (exclusive).
+		 */
+		void execute(int from, int to);
+
+	}
+
+	/**
+	 * Process the range [0, n) in chunks of at most grain indices, in
+	 * parallel. Returns when all chunks have been processed. Exceptions thrown
+	 * by the procedure are rethrown in the calling thread.
+	 * 
+	 * @param n
+	 *            the number of indices.
+	 * @param grain
+	 *            the maximum size of a chunk.
+	 * @param procedure
+	 *            the procedure to execute for each chunk.
+	 */
+	static void forEachRange(int n, int grain, RangeProcedure procedure)
+	{
+		if (n <= grain) {
+			if (n > 0) {
+				procedure.execute(0, n);
+			}
+			return;
+		}
+		ForkJoinPool.commonPool().invoke(
+				new RangeTask(procedure, 0, n, Math.max(1, grain)));
+	}
+
+	private static class RangeTask extends RecursiveAction
+	{
+
+		private static final long serialVersionUID = 2457938203710291562L;
+
+		private final RangeProcedure procedure;
+		private final int from, to, grain;
+
+		RangeTask(RangeProcedure procedure, int from, int to, int grain)
+		{
+			this.procedure = procedure;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= grain) {
+				procedure.execute(from, to);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RangeTask(procedure, from, mid, grain),
+					new RangeTask(procedure, mid, to, grain));
+		}
+
+	}
+
+}
@@ -0,0 +1,65 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import com.slimjars.dist.gnu.trove.list.TDoubleList;
+import com.slimjars.dist.gnu.trove.list.array.TDoubleArrayList;
+
+/**
+ * A {@link PointSink} that collects all points in growable primitive arrays.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class PointArrays implements PointSink
+{
+
+	private TDoubleList xs = new TDoubleArrayList();
+	private TDoubleList ys = new TDoubleArrayList();
+
+	@Override
+	public void accept(double[] xs, double[] ys, int n)
+	{
+		this.xs.add(xs, 0, n);
+		this.ys.add(ys, 0, n);
+	}
+
+	/**
+	 * @return the number of points collected.
+	 */
+	public int size()
+	{
+		return xs.size();
+	}
+
+	/**
+	 * @return a copy of the x coordinates.
+	 */
+	public double[] getXs()
+	{
+		return xs.toArray();
+	}
+
+	/**
+	 * @return a copy of the y coordinates.
+	 */
+	public double[] getYs()
+	{
+		return ys.toArray();
+	}
+
+}
@@ -0,0 +1,43 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * Receives points in chunks of primitive coordinate arrays, e.g. from one of
+ * the point readers. Chunks are delivered in input order from a single
+ * thread. The arrays may be reused after the method returns, so
+ * implementations have to copy what they want to keep.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface PointSink
+{
+
+	/**
+	 * Accept a chunk of points.
+	 * 
+	 * @param xs
+	 *            the x coordinates.
+	 * @param ys
+	 *            the y coordinates.
+	 * @param n
+	 *            the number of points in this chunk.
+	 */
+	public void accept(double[] xs, double[] ys, int n);
+
+}
@@ -0,0 +1,198 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * A constrained Delaunay triangulation of a polygon with holes. The vertices
+ * of all rings are the sites of the triangulation, associated with their
+ * coordinates, and the edges of all rings are constrained edges. The
+ * triangles covering the polygon are marked as interior, the other ones
+ * cover the holes and the concave parts of the convex hull.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class PolygonTriangulation
+{
+
+	private final Triangulation<Coordinate> triangulation;
+	private final Set<Triangle> interior;
+
+	private PolygonTriangulation(Triangulation<Coordinate> triangulation,
+			Set<Triangle> interior)
+	{
+		this.triangulation = triangulation;
+		this.interior = interior;
+	}
+
+	/**
+	 * Triangulate a polygon.
+	 * 
+	 * @param polygon
+	 *            the polygon to triangulate.
+	 * @return the triangulation of the polygon.
+	 * @throws IllegalArgumentException
+	 *             if edges of the polygon's rings intersect each other.
+	 */
+	public static PolygonTriangulation triangulate(Polygon polygon)
+	{
+		List<LineString> rings = new ArrayList<>();
+		rings.add(polygon.getExteriorRing());
+		for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+			rings.add(polygon.getInteriorRingN(i));
+		}
+
+		Triangulation<Coordinate> t = new Triangulation<>();
+		for (LineString ring : rings) {
+			for (Coordinate c : ring.getCoordinates()) {
+				t.delaunayPlace(new Pnt(c.x, c.y), c);
+			}
+		}
+		if (t.size() == 0) {
+			// All vertices are collinear
+			return new PolygonTriangulation(t, new HashSet<Triangle>());
+		}
+		for (LineString ring : rings) {
+			Coordinate[] cs = ring.getCoordinates();
+			for (int i = 1; i < cs.length; i++) {
+				Pnt a = new Pnt(cs[i - 1].x, cs[i - 1].y);
+				Pnt b = new Pnt(cs[i].x, cs[i].y);
+				if (!a.equals(b)) {
+					t.insertSegment(a, b);
+				}
+			}
+		}
+
+		return new PolygonTriangulation(t, interior(t));
+	}
+
+	/**
+	 * Triangulate a number of polygons in parallel.
+	 * 
+	 * @param polygons
+	 *            the polygons to triangulate.
+	 * @return the triangulations, in the order of the polygons.
+	 * @throws IllegalArgumentException
+	 *             if edges of a polygon's rings intersect each other.
+	 */
+	public static List<PolygonTriangulation> triangulate(
+			final List<Polygon> polygons)
+	{
+		final PolygonTriangulation[] results =
+				new PolygonTriangulation[polygons.size()];
+		ParallelUtil.forEachRange(results.length, 64, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				results[i] = triangulate(polygons.get(i));
+			}
+		});
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Determine the triangles inside the polygon by walking from the vertex at
+	 * infinity through the triangulation. Each constrained edge crossed
+	 * changes from outside to inside or vice versa.
+	 */
+	private static Set<Triangle> interior(Triangulation<?> t)
+	{
+		Set<Triangle> inside = new HashSet<>();
+		Set<Triangle> visited = new HashSet<>();
+		Deque<Triangle> queue = new ArrayDeque<>();
+		Triangle start = t.incidentTriangle(InfinitePnt.INSTANCE);
+		visited.add(start);
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			Triangle triangle = queue.remove();
+			boolean in = inside.contains(triangle);
+			for (Triangle neighbor : t.neighbors(triangle)) {
+				if (visited.contains(neighbor)) {
+					continue;
+				}
+				visited.add(neighbor);
+				Pnt[] edge = new Pnt[2];
+				int k = 0;
+				for (Pnt vertex : neighbor) {
+					if (triangle.contains(vertex)) {
+						edge[k++] = vertex;
+					}
+				}
+				if (in != t.isConstrained(edge[0], edge[1])) {
+					inside.add(neighbor);
+				}
+				queue.add(neighbor);
+			}
+		}
+		return inside;
+	}
+
+	/**
+	 * @return the underlying constrained triangulation.
+	 */
+	public Triangulation<Coordinate> getTriangulation()
+	{
+		return triangulation;
+	}
+
+	/**
+	 * Create a refiner that inserts additional sites into the polygon until
+	 * its triangles satisfy quality and size constraints. The triangles
+	 * reported by {@link #getInterior()} are kept up to date during
+	 * refinement. New sites are associated with their coordinates.
+	 * 
+	 * @return a refiner for the interior of the polygon.
+	 */
+	public MeshRefiner<Coordinate> refiner()
+	{
+		MeshRefiner<Coordinate> refiner = new MeshRefiner<>(triangulation,
+				interior);
+		refiner.setData(p -> new Coordinate(p.coord(0), p.coord(1)));
+		return refiner;
+	}
+
+	/**
+	 * @return the triangles covering the polygon.
+	 */
+	public Set<Triangle> getInterior()
+	{
+		return Collections.unmodifiableSet(interior);
+	}
+
+	/**
+	 * @param triangle
+	 *            a triangle of the triangulation.
+	 * @return whether the triangle lies inside the polygon.
+	 */
+	public boolean isInterior(Triangle triangle)
+	{
+		return interior.contains(triangle);
+	}
+
+}
@@ -0,0 +1,388 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Arrays;
+
+/**
+ * Extraction of proximity graphs that are subgraphs of the Delaunay graph:
+ * the Gabriel graph, the relative neighborhood graph, the Urquhart graph and
+ * the Euclidean minimum spanning tree.
+ *
+ * All methods work on a {@link DelaunayGraph} snapshot and return edges as a
+ * flat array of site numbers, where edge e connects sites
+ * <code>edges[2 * e]</code> and <code>edges[2 * e + 1]</code>. The first site
+ * of each edge is the one with the smaller number. Each Delaunay edge is
+ * tested once, mostly by looking at the two triangles that share it, and the
+ * tests are executed in parallel. Since the Delaunay graph has a linear
+ * number of edges, the extraction takes linear time for typical inputs. The
+ * spanning tree sorts the edges by a radix sort, which is linear as well.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class ProximityGraphs
+{
+
+	private static final int GRAIN = 4096;
+
+	// Digits of the radix sort of edge lengths
+	private static final int RADIX_BITS = 16;
+	private static final int RADIX = 1 << RADIX_BITS;
+
+	/**
+	 * Decides whether an edge is part of a graph. The edge connects site i
+	 * and the neighbor of i stored at the specified position of the neighbor
+	 * array.
+	 */
+	private interface EdgeFilter
+	{
+
+		boolean accept(DelaunayGraph<?> graph, int i, int position);
+
+	}
+
+	/**
+	 * Retrieve all edges of the Delaunay graph between sites.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 * @return the edges as pairs of site numbers.
+	 */
+	public static int[] delaunayEdges(DelaunayGraph<?> graph)
+	{
+		return filter(graph, (g, i, position) -> true);
+	}
+
+	/**
+	 * Retrieve the edges of the Gabriel graph, i.e. the edges whose diametral
+	 * circle contains no other site, neither inside nor on its boundary.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 * @return the edges as pairs of site numbers.
+	 */
+	public static int[] gabrielGraph(DelaunayGraph<?> graph)
+	{
+		return filter(graph, ProximityGraphs::isGabriel);
+	}
+
+	/**
+	 * Retrieve the edges of the relative neighborhood graph, i.e. the edges
+	 * (i, j) for which no other site k is closer to both i and j than they are
+	 * to each other.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 * @return the edges as pairs of site numbers.
+	 */
+	public static int[] relativeNeighborhoodGraph(DelaunayGraph<?> graph)
+	{
+		final int n = graph.size();
+		final ThreadLocal<LuneSearch> searches = ThreadLocal
+				.withInitial(() -> new LuneSearch(n));
+		// The relative neighborhood graph is a subgraph of the Gabriel graph
+		return filter(graph, (g, i, position) -> isGabriel(g, i, position)
+				&& searches.get().isEmpty(g, i, g.getNeighbor(position)));
+	}
+
+	/**
+	 * Retrieve the edges of the Urquhart graph, which is obtained by removing
+	 * the longest edge of each Delaunay triangle. Edges of equal length are
+	 * ordered by the numbers of their sites.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 * @return the edges as pairs of site numbers.
+	 */
+	public static int[] urquhartGraph(DelaunayGraph<?> graph)
+	{
+		return filter(graph, (g, i, position) -> {
+			int j = g.getNeighbor(position);
+			for (int k : apexes(g, i, position)) {
+				if (k < 0 || k == j) {
+					continue;
+				}
+				if (compareEdges(g, i, j, i, k) > 0
+						&& compareEdges(g, i, j, j, k) > 0) {
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Compute the Euclidean minimum spanning tree of the sites using
+	 * Kruskal's algorithm on the Delaunay edges, which contain all edges of
+	 * the tree.
+	 *
+	 * @param graph
+	 *            the Delaunay graph.
+	 * @return the edges of the tree as pairs of site numbers, ordered by
+	 *         increasing length.
+	 */
+	public static int[] minimumSpanningTree(final DelaunayGraph<?> graph)
+	{
+		final int[] edges = delaunayEdges(graph);
+		int m = edges.length / 2;
+
+		final double[] lengths = new double[m];
+		ParallelUtil.forEachRange(m, GRAIN, (from, to) -> {
+			for (int e = from; e < to; e++) {
+				lengths[e] = distanceSq(graph, edges[2 * e], edges[2 * e + 1]);
+			}
+		});
+		int[] order = sortByLength(lengths);
+
+		int n = graph.size();
+		int[] parent = new int[n];
+		for (int i = 0; i < n; i++) {
+			parent[i] = i;
+		}
+		int[] tree = new int[2 * Math.max(0, n - 1)];
+		int size = 0;
+		for (int x = 0; x < m && size < tree.length; x++) {
+			int e = order[x];
+			int a = find(parent, edges[2 * e]);
+			int b = find(parent, edges[2 * e + 1]);
+			if (a == b) {
+				continue;
+			}
+			parent[a] = b;
+			tree[size++] = edges[2 * e];
+			tree[size++] = edges[2 * e + 1];
+		}
+		return size == tree.length ? tree : Arrays.copyOf(tree, size);
+	}
+
+	/**
+	 * Sort the edges by length with a stable radix sort on the bits of the
+	 * lengths, which are ordered like the lengths since these are not
+	 * negative. This takes linear time, regardless of how many lengths are
+	 * equal or close to each other.
+	 */
+	private static int[] sortByLength(double[] lengths)
+	{
+		int m = lengths.length;
+		long[] keys = new long[m];
+		int[] order = new int[m];
+		for (int e = 0; e < m; e++) {
+			keys[e] = Double.doubleToLongBits(lengths[e]);
+			order[e] = e;
+		}
+		if (m == 0) {
+			return order;
+		}
+		long[] keysTemp = new long[m];
+		int[] orderTemp = new int[m];
+		int[] counts = new int[RADIX + 1];
+		for (int shift = 0; shift < 64; shift += RADIX_BITS) {
+			Arrays.fill(counts, 0);
+			for (int x = 0; x < m; x++) {
+				counts[(int) (keys[x] >>> shift & RADIX - 1) + 1]++;
+			}
+			// Skip digits that are the same for all keys
+			if (counts[(int) (keys[0] >>> shift & RADIX - 1) + 1] == m) {
+				continue;
+			}
+			for (int d = 0; d < RADIX; d++) {
+				counts[d + 1] += counts[d];
+			}
+			for (int x = 0; x < m; x++) {
+				int d = (int) (keys[x] >>> shift & RADIX - 1);
+				int y = counts[d]++;
+				keysTemp[y] = keys[x];
+				orderTemp[y] = order[x];
+			}
+			long[] k = keys;
+			keys = keysTemp;
+			keysTemp = k;
+			int[] o = order;
+			order = orderTemp;
+			orderTemp = o;
+		}
+		return order;
+	}
+
+	/**
+	 * Collect the Delaunay edges accepted by the filter. Each edge is tested
+	 * from its site with the smaller number only.
+	 */
+	private static int[] filter(final DelaunayGraph<?> graph,
+			final EdgeFilter filter)
+	{
+		final int n = graph.size();
+		final boolean[] accepted = new boolean[graph.getNeighborsStart(n)];
+		final int[] counts = new int[n + 1];
+		ParallelUtil.forEachRange(n, GRAIN, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				int end = graph.getNeighborsStart(i + 1);
+				for (int p = graph.getNeighborsStart(i); p < end; p++) {
+					if (graph.getNeighbor(p) > i
+							&& filter.accept(graph, i, p)) {
+						accepted[p] = true;
+						counts[i + 1]++;
+					}
+				}
+			}
+		});
+		for (int i = 0; i < n; i++) {
+			counts[i + 1] += counts[i];
+		}
+		final int[] edges = new int[2 * counts[n]];
+		ParallelUtil.forEachRange(n, GRAIN, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				int e = counts[i];
+				int end = graph.getNeighborsStart(i + 1);
+				for (int p = graph.getNeighborsStart(i); p < end; p++) {
+					if (accepted[p]) {
+						edges[2 * e] = i;
+						edges[2 * e + 1] = graph.getNeighbor(p);
+						e++;
+					}
+				}
+			}
+		});
+		return edges;
+	}
+
+	private static boolean isGabriel(DelaunayGraph<?> g, int i, int position)
+	{
+		int j = g.getNeighbor(position);
+		for (int k : apexes(g, i, position)) {
+			if (k < 0 || k == j) {
+				continue;
+			}
+			double dot = (g.getX(i) - g.getX(k)) * (g.getX(j) - g.getX(k))
+					+ (g.getY(i) - g.getY(k)) * (g.getY(j) - g.getY(k));
+			if (dot <= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The state of the searches for sites in lunes executed by one thread.
+	 * Visited sites are marked with the number of the current search, so
+	 * that the marks do not have to be reset between searches.
+	 */
+	private static class LuneSearch
+	{
+
+		private final int[] marks;
+		private int stamp = 0;
+		private int[] queue = new int[16];
+
+		LuneSearch(int n)
+		{
+			marks = new int[n];
+		}
+
+		/**
+		 * Check whether the lune of the edge (i, j) is free of sites. Each
+		 * site closer to i than j is reachable from i by a Delaunay path
+		 * through sites that are closer to i than j as well, hence a search
+		 * from i that is bounded by the circle around i through j finds all
+		 * candidates.
+		 */
+		boolean isEmpty(DelaunayGraph<?> g, int i, int j)
+		{
+			if (++stamp == Integer.MAX_VALUE) {
+				Arrays.fill(marks, 0);
+				stamp = 1;
+			}
+			double d = distanceSq(g, i, j);
+			marks[i] = stamp;
+			queue[0] = i;
+			int size = 1;
+			for (int x = 0; x < size; x++) {
+				int site = queue[x];
+				int end = g.getNeighborsStart(site + 1);
+				for (int p = g.getNeighborsStart(site); p < end; p++) {
+					int k = g.getNeighbor(p);
+					if (k < 0 || k == j || marks[k] == stamp
+							|| distanceSq(g, i, k) >= d) {
+						continue;
+					}
+					if (distanceSq(g, j, k) < d) {
+						return false;
+					}
+					marks[k] = stamp;
+					if (size == queue.length) {
+						queue = Arrays.copyOf(queue, 2 * size);
+					}
+					queue[size++] = k;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Get the third vertices of the two triangles that share the edge from
+	 * site i to the neighbor at the specified position, i.e. the neighbors
+	 * before and after it in rotational order.
+	 */
+	private static int[] apexes(DelaunayGraph<?> graph, int i, int position)
+	{
+		int start = graph.getNeighborsStart(i);
+		int end = graph.getNeighborsStart(i + 1);
+		int previous = position == start ? end - 1 : position - 1;
+		int next = position + 1 == end ? start : position + 1;
+		return new int[] { graph.getNeighbor(previous),
+				graph.getNeighbor(next) };
+	}
+
+	/**
+	 * Compare edges (a, b) and (c, d) by length, then by the numbers of their
+	 * sites.
+	 */
+	private static int compareEdges(DelaunayGraph<?> graph, int a, int b,
+			int c, int d)
+	{
+		int cmp = Double.compare(distanceSq(graph, a, b),
+				distanceSq(graph, c, d));
+		if (cmp != 0) {
+			return cmp;
+		}
+		cmp = Integer.compare(Math.min(a, b), Math.min(c, d));
+		if (cmp != 0) {
+			return cmp;
+		}
+		return Integer.compare(Math.max(a, b), Math.max(c, d));
+	}
+
+	private static double distanceSq(DelaunayGraph<?> graph, int i, int j)
+	{
+		double dx = graph.getX(i) - graph.getX(j);
+		double dy = graph.getY(i) - graph.getY(j);
+		return dx * dx + dy * dy;
+	}
+
+	private static int find(int[] parent, int i)
+	{
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+}
@@ -0,0 +1,301 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+
+import com.slimjars.dist.gnu.trove.list.TDoubleList;
+import com.slimjars.dist.gnu.trove.list.array.TDoubleArrayList;
+
+import de.topobyte.adt.graph.UndirectedGraph;
+import de.topobyte.jts.utils.JtsHelper;
+import de.topobyte.jts.utils.PolygonHelper;
+
+/**
+ * A Voronoi Diagram that is computed directly using Fortune's sweep-line
+ * algorithm in O(n log n) time. In contrast to {@link VoronoiDiagram}, no
+ * Delaunay Triangulation is built, which makes this class a good fit for batch
+ * jobs that are only interested in the Voronoi cells.
+ *
+ * Sites are collected using {@link #put(Object, double, double)} and the
+ * diagram is computed lazily when it is queried for the first time after
+ * adding sites. Since Voronoi cells of sites on the convex hull are unbounded,
+ * all cells are clipped to a rectangle specified on construction.
+ *
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class SweepVoronoiDiagram<T>
+{
+
+	private final double minX, minY, maxX, maxY;
+
+	private TDoubleList xs = new TDoubleArrayList();
+	private TDoubleList ys = new TDoubleArrayList();
+	private List<T> things = new ArrayList<>();
+
+	// The result of the last sweep, null if sites have been added since
+	private FortuneSweep sweep = null;
+	private double[] sx, sy; // Distinct sites, sorted by y, then x
+	private int[] perm; // Index of sorted site in the list of things
+
+	/**
+	 * Create an empty Voronoi Diagram whose cells will be clipped to the
+	 * specified envelope.
+	 *
+	 * @param clip
+	 *            the rectangle to clip cells to.
+	 */
+	public SweepVoronoiDiagram(Envelope clip)
+	{
+		this(clip.getMinX(), clip.getMinY(), clip.getMaxX(), clip.getMaxY());
+	}
+
+	/**
+	 * Create an empty Voronoi Diagram whose cells will be clipped to the
+	 * specified rectangle.
+	 *
+	 * @param minX
+	 *            the minimum x coordinate of the clipping rectangle.
+	 * @param minY
+	 *            the minimum y coordinate of the clipping rectangle.
+	 * @param maxX
+	 *            the maximum x coordinate of the clipping rectangle.
+	 * @param maxY
+	 *            the maximum y coordinate of the clipping rectangle.
+	 */
+	public SweepVoronoiDiagram(double minX, double minY, double maxX,
+			double maxY)
+	{
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	/**
+	 * Add a point to the diagram at position <code>x, y</code> and associate
+	 * <code>thing</code> with this point. If multiple objects are added at the
+	 * same position, only the first one is kept.
+	 *
+	 * @param thing
+	 *            the object to associate.
+	 * @param x
+	 *            the ordinate.
+	 * @param y
+	 *            the coordinate.
+	 */
+	public void put(T thing, double x, double y)
+	{
+		xs.add(x);
+		ys.add(y);
+		things.add(thing);
+		sweep = null;
+	}
+
+	/**
+	 * Retrieve a mapping from inserted objects to the polygons of the Voronoi
+	 * Diagram.
+	 *
+	 * @return the map from inserted objects to their polygons.
+	 */
+	public Map<T, Geometry> getPolygons()
+	{
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
+		compute();
+
+		int n = sx.length;
+		int m = sweep.getNumberOfEdges();
+
+		// Collect the clipped edge end points per site
+		int[] offsets = new int[n + 1];
+		double[] segment = new double[4];
+		for (int e = 0; e < m; e++) {
+			offsets[sweep.getLeftSite(e) + 1] += 2;
+			offsets[sweep.getRightSite(e) + 1] += 2;
+		}
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] fill = new int[n];
+		double[] px = new double[offsets[n]];
+		double[] py = new double[offsets[n]];
+		boolean[] used = new boolean[offsets[n]];
+		for (int e = 0; e < m; e++) {
+			if (!sweep.clip(e, minX, minY, maxX, maxY, segment)) {
+				continue;
+			}
+			for (int site : new int[] { sweep.getLeftSite(e),
+					sweep.getRightSite(e) }) {
+				int k = offsets[site] + fill[site];
+				px[k] = segment[0];
+				py[k] = segment[1];
+				px[k + 1] = segment[2];
+				py[k + 1] = segment[3];
+				used[k] = used[k + 1] = true;
+				fill[site] += 2;
+			}
+		}
+
+		// The corners of the rectangle belong to the cell of their nearest site
+		double[] cx = { minX, maxX, maxX, minX };
+		double[] cy = { minY, minY, maxY, maxY };
+		int[] cornerSite = new int[4];
+		for (int c = 0; c < 4; c++) {
+			double best = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < n; i++) {
+				double dx = sx[i] - cx[c], dy = sy[i] - cy[c];
+				double d = dx * dx + dy * dy;
+				if (d < best) {
+					best = d;
+					cornerSite[c] = i;
+				}
+			}
+		}
+
+		GeometryFactory factory = new GeometryFactory();
+		Map<T, Geometry> map = new HashMap<>();
+		List<double[]> points = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			points.clear();
+			for (int k = offsets[i]; k < offsets[i] + fill[i]; k++) {
+				if (used[k]) {
+					points.add(new double[] { px[k], py[k] });
+				}
+			}
+			for (int c = 0; c < 4; c++) {
+				if (cornerSite[c] == i) {
+					points.add(new double[] { cx[c], cy[c] });
+				}
+			}
+			Geometry polygon = convexPolygon(points, factory);
+			if (polygon != null) {
+				map.put(things.get(perm[i]), polygon);
+			}
+		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"SweepVoronoiDiagram.getPolygons", map.size());
+		return map;
+	}
+
+	/**
+	 * Retrieve a graph that represents the neighbor relationship of the Voronoi
+	 * Cells.
+	 *
+	 * @return a graph mapping sites to sites.
+	 */
+	public UndirectedGraph<Pnt> getSiteGraph()
+	{
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
+		compute();
+
+		int n = sx.length;
+		Pnt[] sites = new Pnt[n];
+		UndirectedGraph<Pnt> graph = new UndirectedGraph<>();
+		for (int i = 0; i < n; i++) {
+			sites[i] = new Pnt(sx[i], sy[i]);
+			graph.addNode(sites[i]);
+		}
+		for (int e = 0; e < sweep.getNumberOfEdges(); e++) {
+			if (sweep.isDegenerate(e)) {
+				continue;
+			}
+			graph.addEdge(sites[sweep.getLeftSite(e)],
+					sites[sweep.getRightSite(e)]);
+		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"SweepVoronoiDiagram.getSiteGraph", n);
+		return graph;
+	}
+
+	private void compute()
+	{
+		if (sweep != null) {
+			return;
+		}
+		int n = xs.size();
+		sx = xs.toArray();
+		sy = ys.toArray();
+		perm = new int[n];
+		for (int i = 0; i < n; i++) {
+			perm[i] = i;
+		}
+		int k = FortuneSweep.sortAndDeduplicate(sx, sy, perm, n);
+		if (k < n) {
+			sx = Arrays.copyOf(sx, k);
+			sy = Arrays.copyOf(sy, k);
+			perm = Arrays.copyOf(perm, k);
+		}
+		sweep = new FortuneSweep(sx, sy, k);
+		sweep.run();
+	}
+
+	/**
+	 * Build a polygon from the vertices of a convex polygon given in arbitrary
+	 * order, possibly containing duplicates.
+	 */
+	private static Geometry convexPolygon(List<double[]> points,
+			GeometryFactory factory)
+	{
+		if (points.size() < 3) {
+			return null;
+		}
+		double mx = 0, my = 0;
+		for (double[] p : points) {
+			mx += p[0];
+			my += p[1];
+		}
+		final double cx = mx / points.size();
+		final double cy = my / points.size();
+		points.sort((a, b) -> Double.compare(Math.atan2(a[1] - cy, a[0] - cx),
+				Math.atan2(b[1] - cy, b[0] - cx)));
+
+		TDoubleList rx = new TDoubleArrayList(points.size());
+		TDoubleList ry = new TDoubleArrayList(points.size());
+		for (double[] p : points) {
+			int k = rx.size();
+			if (k > 0 && rx.get(k - 1) == p[0] && ry.get(k - 1) == p[1]) {
+				continue;
+			}
+			rx.add(p[0]);
+			ry.add(p[1]);
+		}
+		int k = rx.size();
+		if (k > 1 && rx.get(0) == rx.get(k - 1) && ry.get(0) == ry.get(k - 1)) {
+			rx.removeAt(k - 1);
+			ry.removeAt(k - 1);
+		}
+		if (rx.size() < 3) {
+			return null;
+		}
+		LinearRing ring = JtsHelper.toLinearRing(rx, ry, false);
+		return PolygonHelper.polygonFromLinearRing(ring, factory);
+	}
+
+}
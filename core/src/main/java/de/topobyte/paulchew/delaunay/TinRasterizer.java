@@ -0,0 +1,497 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Rasterizes a triangulated irregular network (TIN) onto a regular grid. Each
+ * site carries a value, and the pixels covered by a triangle get the value of
+ * the plane through its three vertices at the pixel center, which is the same
+ * as barycentric interpolation of the vertex values.
+ * 
+ * The grid covers a rectangle with its first row at the top, i.e. at the
+ * maximum y coordinate. Pixels are stored row by row. Pixels that are not
+ * covered by a triangle with three sites as vertices get a no-data value,
+ * NaN by default.
+ * 
+ * Instead of locating each pixel in the triangulation, triangles are scan
+ * converted. The grid is split into square tiles, the triangles are assigned
+ * to the tiles they overlap and the tiles are processed in parallel on the
+ * common fork/join pool. The rasterizer works on a {@link TriangleMesh}
+ * snapshot, so the triangulation may be modified afterwards.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class TinRasterizer<T>
+{
+
+	/**
+	 * The type of samples written to files.
+	 */
+	public enum SampleType
+	{
+		/**
+		 * Little-endian 32 bit floating point numbers.
+		 */
+		FLOAT32(4),
+		/**
+		 * Little-endian 64 bit floating point numbers.
+		 */
+		FLOAT64(8);
+
+		private final int bytes;
+
+		private SampleType(int bytes)
+		{
+			this.bytes = bytes;
+		}
+
+		/**
+		 * @return the number of bytes per sample.
+		 */
+		public int getBytes()
+		{
+			return bytes;
+		}
+	}
+
+	// Upper bound for the size of a single mapped region of an output file
+	private static final long MAX_MAPPING = 1 << 30;
+
+	private final TriangleMesh<T> mesh;
+	private final double[] values;
+
+	private int tileSize = 256;
+	private double noData = Double.NaN;
+
+	/**
+	 * Create a rasterizer for the current state of a triangulation.
+	 * 
+	 * @param t
+	 *            the triangulation.
+	 * @param value
+	 *            a function that determines the value of each site from its
+	 *            associated object.
+	 */
+	public TinRasterizer(Triangulation<T> t, ToDoubleFunction<? super T> value)
+	{
+		this(new TriangleMesh<>(t), value);
+	}
+
+	/**
+	 * Create a rasterizer based on an existing snapshot of a triangulation.
+	 * 
+	 * @param mesh
+	 *            the snapshot of the triangulation.
+	 * @param value
+	 *            a function that determines the value of each site from its
+	 *            associated object.
+	 */
+	public TinRasterizer(TriangleMesh<T> mesh,
+			ToDoubleFunction<? super T> value)
+	{
+		this.mesh = mesh;
+		values = new double[mesh.getNumberOfVertices()];
+		Arrays.fill(values, Double.NaN);
+		for (int v = 0; v < mesh.getNumberOfSites(); v++) {
+			values[v] = value.applyAsDouble(mesh.getData(v));
+		}
+	}
+
+	/**
+	 * @return the width and height of the tiles processed in parallel.
+	 */
+	public int getTileSize()
+	{
+		return tileSize;
+	}
+
+	/**
+	 * @param tileSize
+	 *            the width and height of the tiles processed in parallel.
+	 * @throws IllegalArgumentException
+	 *             if tileSize is less than 1.
+	 */
+	public void setTileSize(int tileSize)
+	{
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("tile size must be positive: "
+					+ tileSize);
+		}
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * @return the value of pixels not covered by the TIN.
+	 */
+	public double getNoData()
+	{
+		return noData;
+	}
+
+	/**
+	 * @param noData
+	 *            the value of pixels not covered by the TIN.
+	 */
+	public void setNoData(double noData)
+	{
+		this.noData = noData;
+	}
+
+	/**
+	 * Rasterize into an array of floats.
+	 * 
+	 * @param envelope
+	 *            the rectangle covered by the grid.
+	 * @param width
+	 *            the number of columns.
+	 * @param height
+	 *            the number of rows.
+	 * @param raster
+	 *            the array to store pixel values in, of length at least width
+	 *            * height.
+	 */
+	public void rasterize(Envelope envelope, final int width, int height,
+			final float[] raster)
+	{
+		checkSize(width, height, raster.length);
+		rasterize(envelope, width, height, new Target() {
+
+			@Override
+			public void fill(int row, int from, int to, double value)
+			{
+				int offset = row * width;
+				Arrays.fill(raster, offset + from, offset + to, (float) value);
+			}
+
+			@Override
+			public void span(int row, int from, int to, double z, double dz)
+			{
+				int offset = row * width;
+				for (int col = from; col < to; col++) {
+					raster[offset + col] = (float) (z + (col - from) * dz);
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * Rasterize into an array of doubles.
+	 * 
+	 * @param envelope
+	 *            the rectangle covered by the grid.
+	 * @param width
+	 *            the number of columns.
+	 * @param height
+	 *            the number of rows.
+	 * @param raster
+	 *            the array to store pixel values in, of length at least width
+	 *            * height.
+	 */
+	public void rasterize(Envelope envelope, final int width, int height,
+			final double[] raster)
+	{
+		checkSize(width, height, raster.length);
+		rasterize(envelope, width, height, new Target() {
+
+			@Override
+			public void fill(int row, int from, int to, double value)
+			{
+				int offset = row * width;
+				Arrays.fill(raster, offset + from, offset + to, value);
+			}
+
+			@Override
+			public void span(int row, int from, int to, double z, double dz)
+			{
+				int offset = row * width;
+				for (int col = from; col < to; col++) {
+					raster[offset + col] = z + (col - from) * dz;
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * Rasterize into a file of raw samples, which is memory-mapped for
+	 * writing. The file is created or overwritten and has a size of width *
+	 * height * the size of a sample.
+	 * 
+	 * @param envelope
+	 *            the rectangle covered by the grid.
+	 * @param width
+	 *            the number of columns.
+	 * @param height
+	 *            the number of rows.
+	 * @param path
+	 *            the file to write to.
+	 * @param type
+	 *            the type of samples to write.
+	 * @throws IOException
+	 *             on failure while writing.
+	 */
+	public void rasterize(Envelope envelope, final int width, int height,
+			Path path, final SampleType type) throws IOException
+	{
+		final int bytes = type.getBytes();
+		long rowBytes = (long) width * bytes;
+		final int rowsPerMapping = (int) Math.max(1, MAX_MAPPING / rowBytes);
+		int mappings = (height + rowsPerMapping - 1) / rowsPerMapping;
+		final MappedByteBuffer[] buffers = new MappedByteBuffer[mappings];
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (int i = 0; i < mappings; i++) {
+				int rows = Math.min(rowsPerMapping,
+						height - i * rowsPerMapping);
+				buffers[i] = channel.map(MapMode.READ_WRITE,
+						i * rowsPerMapping * rowBytes, rows * rowBytes);
+				buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+
+		rasterize(envelope, width, height, new Target() {
+
+			@Override
+			public void fill(int row, int from, int to, double value)
+			{
+				span(row, from, to, value, 0);
+			}
+
+			@Override
+			public void span(int row, int from, int to, double z, double dz)
+			{
+				MappedByteBuffer buffer = buffers[row / rowsPerMapping];
+				int offset = (row % rowsPerMapping) * width * bytes;
+				for (int col = from; col < to; col++) {
+					double value = z + (col - from) * dz;
+					if (type == SampleType.FLOAT32) {
+						buffer.putFloat(offset + col * 4, (float) value);
+					} else {
+						buffer.putDouble(offset + col * 8, value);
+					}
+				}
+			}
+
+		});
+		for (MappedByteBuffer buffer : buffers) {
+			buffer.force();
+		}
+	}
+
+	private static void checkSize(int width, int height, int length)
+	{
+		if ((long) width * height > length) {
+			throw new IllegalArgumentException("raster too small: " + length
+					+ " < " + width + " * " + height);
+		}
+	}
+
+	/**
+	 * Receives pixel values of one row of a tile at a time. Since tiles do not
+	 * overlap, implementations are called concurrently for distinct pixels.
+	 */
+	private interface Target
+	{
+
+		/**
+		 * Set the pixels from column from (inclusive) to column to
+		 * (exclusive) to a constant value.
+		 */
+		void fill(int row, int from, int to, double value);
+
+		/**
+		 * Set the pixels from column from (inclusive) to column to
+		 * (exclusive) to z + (col - from) * dz.
+		 */
+		void span(int row, int from, int to, double z, double dz);
+
+	}
+
+	private void rasterize(Envelope envelope, final int width,
+			final int height, final Target target)
+	{
+		final double minX = envelope.getMinX();
+		final double maxY = envelope.getMaxY();
+		final double dx = envelope.getWidth() / width;
+		final double dy = envelope.getHeight() / height;
+		final int size = tileSize;
+		final int tilesX = (width + size - 1) / size;
+		int tilesY = (height + size - 1) / size;
+		int numTiles = tilesX * tilesY;
+
+		// Assign triangles to the tiles their pixel ranges overlap
+		int n = mesh.size();
+		int[] bounds = new int[4];
+		final int[] offsets = new int[numTiles + 1];
+		for (int i = 0; i < n; i++) {
+			if (pixelBounds(i, minX, maxY, dx, dy, width, height, bounds)) {
+				for (int ty = bounds[2] / size; ty <= bounds[3] / size; ty++) {
+					for (int tx = bounds[0] / size; tx <= bounds[1]
+							/ size; tx++) {
+						offsets[ty * tilesX + tx + 1]++;
+					}
+				}
+			}
+		}
+		for (int tile = 0; tile < numTiles; tile++) {
+			offsets[tile + 1] += offsets[tile];
+		}
+		int[] fill = Arrays.copyOf(offsets, numTiles);
+		final int[] assigned = new int[offsets[numTiles]];
+		for (int i = 0; i < n; i++) {
+			if (pixelBounds(i, minX, maxY, dx, dy, width, height, bounds)) {
+				for (int ty = bounds[2] / size; ty <= bounds[3] / size; ty++) {
+					for (int tx = bounds[0] / size; tx <= bounds[1]
+							/ size; tx++) {
+						assigned[fill[ty * tilesX + tx]++] = i;
+					}
+				}
+			}
+		}
+
+		ParallelUtil.forEachRange(numTiles, 1, (from, to) -> {
+			int[] pixels = new int[4];
+			for (int tile = from; tile < to; tile++) {
+				int col0 = (tile % tilesX) * size;
+				int row0 = (tile / tilesX) * size;
+				int col1 = Math.min(width, col0 + size) - 1;
+				int row1 = Math.min(height, row0 + size) - 1;
+				for (int row = row0; row <= row1; row++) {
+					target.fill(row, col0, col1 + 1, noData);
+				}
+				for (int k = offsets[tile]; k < offsets[tile + 1]; k++) {
+					int i = assigned[k];
+					pixelBounds(i, minX, maxY, dx, dy, width, height, pixels);
+					scan(i, minX, maxY, dx, dy, Math.max(col0, pixels[0]),
+							Math.min(col1, pixels[1]),
+							Math.max(row0, pixels[2]),
+							Math.min(row1, pixels[3]), target);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Determine the range of columns and rows whose pixel centers may lie in
+	 * a triangle, clamped to the grid. Triangles with a vertex that is not a
+	 * site and degenerate triangles are skipped.
+	 * 
+	 * @return false if no pixels need to be considered.
+	 */
+	private boolean pixelBounds(int i, double minX, double maxY, double dx,
+			double dy, int width, int height, int[] bounds)
+	{
+		double x0 = Double.POSITIVE_INFINITY, x1 = Double.NEGATIVE_INFINITY;
+		double y0 = Double.POSITIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for (int k = 0; k < 3; k++) {
+			int v = mesh.getVertex(i, k);
+			if (Double.isNaN(values[v])) {
+				return false;
+			}
+			x0 = Math.min(x0, mesh.getX(v));
+			x1 = Math.max(x1, mesh.getX(v));
+			y0 = Math.min(y0, mesh.getY(v));
+			y1 = Math.max(y1, mesh.getY(v));
+		}
+		bounds[0] = (int) Math.max(0, Math.ceil((x0 - minX) / dx - 0.5));
+		bounds[1] = (int) Math.min(width - 1,
+				Math.floor((x1 - minX) / dx - 0.5));
+		bounds[2] = (int) Math.max(0, Math.ceil((maxY - y1) / dy - 0.5));
+		bounds[3] = (int) Math.min(height - 1,
+				Math.floor((maxY - y0) / dy - 0.5));
+		return bounds[0] <= bounds[1] && bounds[2] <= bounds[3];
+	}
+
+	/**
+	 * Write the pixels of a triangle within the specified ranges of columns
+	 * and rows.
+	 */
+	private void scan(int i, double minX, double maxY, double dx, double dy,
+			int col0, int col1, int row0, int row1, Target target)
+	{
+		int a = mesh.getVertex(i, 0);
+		int b = mesh.getVertex(i, 1);
+		int c = mesh.getVertex(i, 2);
+		double ax = mesh.getX(a), ay = mesh.getY(a), az = values[a];
+		double ux = mesh.getX(b) - ax, uy = mesh.getY(b) - ay;
+		double vx = mesh.getX(c) - ax, vy = mesh.getY(c) - ay;
+		double uz = values[b] - az, vz = values[c] - az;
+		double det = ux * vy - vx * uy;
+		if (det == 0) {
+			return;
+		}
+		// The plane: z = az + gx * (x - ax) + gy * (y - ay)
+		double gx = (uz * vy - vz * uy) / det;
+		double gy = (ux * vz - vx * uz) / det;
+		double dz = gx * dx;
+
+		for (int row = row0; row <= row1; row++) {
+			double y = maxY - (row + 0.5) * dy;
+			// Intersect the line through the pixel centers with the edges
+			double left = Double.POSITIVE_INFINITY;
+			double right = Double.NEGATIVE_INFINITY;
+			for (int k = 0; k < 3; k++) {
+				int p = mesh.getVertex(i, k);
+				int q = mesh.getVertex(i, (k + 1) % 3);
+				double px = mesh.getX(p), py = mesh.getY(p);
+				double qx = mesh.getX(q), qy = mesh.getY(q);
+				if (y < Math.min(py, qy) || y > Math.max(py, qy)) {
+					continue;
+				}
+				if (py == qy) {
+					left = Math.min(left, Math.min(px, qx));
+					right = Math.max(right, Math.max(px, qx));
+					continue;
+				}
+				double x = px + (y - py) / (qy - py) * (qx - px);
+				left = Math.min(left, x);
+				right = Math.max(right, x);
+			}
+			int from = (int) Math.max(col0,
+					Math.ceil((left - minX) / dx - 0.5));
+			int to = (int) Math.min(col1,
+					Math.floor((right - minX) / dx - 0.5));
+			if (from > to) {
+				continue;
+			}
+			double x = minX + (from + 0.5) * dx;
+			double z = az + gx * (x - ax) + gy * (y - ay);
+			target.span(row, from, to + 1, z, dz);
+		}
+	}
+
+}
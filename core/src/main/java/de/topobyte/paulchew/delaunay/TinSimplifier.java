@@ -0,0 +1,451 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Simplifies a dense set of elevation samples to a triangulated irregular
+ * network (TIN) with far fewer vertices, using greedy insertion as described
+ * by Garland and Heckbert. Starting from the convex hull of the samples, the
+ * sample with the largest vertical error is inserted repeatedly, until all
+ * samples are within a tolerance of the TIN or a maximum number of vertices
+ * is reached.
+ * 
+ * Each triangle owns the samples within it and knows its worst sample, and
+ * the triangles are kept in a heap ordered by that error. When a sample is
+ * inserted, only the samples of the triangles that have been replaced are
+ * redistributed to the new triangles, and only the new triangles are
+ * evaluated and pushed onto the heap. The triangles affected by an insertion
+ * are tracked with a {@link TriangulationListener}.
+ * 
+ * The resulting triangulation has a vertex at infinity and associates each
+ * site with the index of the sample it has been created from.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class TinSimplifier
+{
+
+	// Number of triangles up to which samples are located by testing each
+	private static final int LINEAR_SEARCH = 32;
+
+	private final double[] xs, ys, zs;
+	private final int n;
+
+	private double tolerance = 0;
+	private int maxVertices = Integer.MAX_VALUE;
+
+	/**
+	 * Create a simplifier for the specified samples.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the samples.
+	 * @param ys
+	 *            the y coordinates of the samples.
+	 * @param zs
+	 *            the elevations of the samples.
+	 * @param n
+	 *            the number of samples.
+	 */
+	public TinSimplifier(double[] xs, double[] ys, double[] zs, int n)
+	{
+		this.xs = xs;
+		this.ys = ys;
+		this.zs = zs;
+		this.n = n;
+	}
+
+	/**
+	 * @param tolerance
+	 *            the maximum vertical distance of any sample from the TIN.
+	 * @return this simplifier.
+	 */
+	public TinSimplifier setTolerance(double tolerance)
+	{
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * @param maxVertices
+	 *            the maximum number of vertices of the TIN. Insertion stops
+	 *            when this number is reached, even if the tolerance is not
+	 *            met yet.
+	 * @return this simplifier.
+	 */
+	public TinSimplifier setMaxVertices(int maxVertices)
+	{
+		this.maxVertices = maxVertices;
+		return this;
+	}
+
+	/**
+	 * The samples within a triangle and the one with the largest error.
+	 */
+	private static class Cell
+	{
+
+		final Triangle triangle;
+		int[] samples;
+		int size = 0;
+		int worst = -1;
+		double error = 0;
+		boolean alive = true;
+
+		Cell(Triangle triangle, int capacity)
+		{
+			this.triangle = triangle;
+			samples = new int[Math.max(4, capacity)];
+		}
+
+		void add(int sample)
+		{
+			if (size == samples.length) {
+				samples = Arrays.copyOf(samples, 2 * size);
+			}
+			samples[size++] = sample;
+		}
+
+	}
+
+	/**
+	 * Records the triangles replaced by a single insertion.
+	 */
+	private static class Changes implements TriangulationListener
+	{
+
+		final Set<Triangle> added = new LinkedHashSet<>();
+		final List<Triangle> removed = new ArrayList<>();
+
+		@Override
+		public void triangleAdded(Triangle triangle)
+		{
+			added.add(triangle);
+		}
+
+		@Override
+		public void triangleRemoved(Triangle triangle)
+		{
+			if (!added.remove(triangle)) {
+				removed.add(triangle);
+			}
+		}
+
+		void clear()
+		{
+			added.clear();
+			removed.clear();
+		}
+
+	}
+
+	/**
+	 * Build the simplified TIN.
+	 * 
+	 * @return a triangulation of a subset of the samples, associating each
+	 *         site with the index of its sample.
+	 */
+	public Triangulation<Integer> simplify()
+	{
+		Triangulation<Integer> t = new Triangulation<>();
+		for (int i : convexHull()) {
+			t.delaunayPlace(new Pnt(xs[i], ys[i]), i);
+		}
+
+		Map<Triangle, Cell> cells = new HashMap<>();
+		PriorityQueue<Cell> heap = new PriorityQueue<>(
+				(a, b) -> Double.compare(b.error, a.error));
+
+		// Distribute all samples to the initial triangles
+		List<Cell> created = new ArrayList<>();
+		for (Triangle triangle : t) {
+			created.add(new Cell(triangle, n / Math.max(1, t.size())));
+		}
+		int[] all = new int[n];
+		for (int i = 0; i < n; i++) {
+			all[i] = i;
+		}
+		distribute(t, all, n, created);
+		for (Cell cell : created) {
+			evaluate(t, cell);
+			cells.put(cell.triangle, cell);
+			heap.add(cell);
+		}
+
+		Changes changes = new Changes();
+		t.addListener(changes);
+		int[] buffer = new int[16];
+		while (!heap.isEmpty() && t.getData().size() < maxVertices) {
+			Cell cell = heap.poll();
+			if (!cell.alive) {
+				continue;
+			}
+			if (cell.worst < 0 || cell.error <= tolerance) {
+				break;
+			}
+			int sample = cell.worst;
+			changes.clear();
+			t.delaunayPlace(new Pnt(xs[sample], ys[sample]), sample);
+
+			// Collect the samples of the replaced triangles
+			int size = 0;
+			for (Triangle triangle : changes.removed) {
+				Cell old = cells.remove(triangle);
+				if (old == null) {
+					continue;
+				}
+				old.alive = false;
+				if (size + old.size > buffer.length) {
+					buffer = Arrays.copyOf(buffer,
+							Math.max(2 * buffer.length, size + old.size));
+				}
+				System.arraycopy(old.samples, 0, buffer, size, old.size);
+				size += old.size;
+			}
+
+			created.clear();
+			int capacity = size / Math.max(1, changes.added.size());
+			for (Triangle triangle : changes.added) {
+				created.add(new Cell(triangle, capacity));
+			}
+			distribute(t, buffer, size, created);
+			for (Cell c : created) {
+				evaluate(t, c);
+				cells.put(c.triangle, c);
+				heap.add(c);
+			}
+		}
+		t.removeListener(changes);
+		return t;
+	}
+
+	/**
+	 * Assign samples to the cells of the triangles containing them. Samples
+	 * that coincide with a vertex are dropped, since they are represented by
+	 * the vertex or can not be inserted anymore.
+	 */
+	private void distribute(Triangulation<Integer> t, int[] samples,
+			int size, List<Cell> targets)
+	{
+		int m = targets.size();
+		double[] coords = new double[6 * m];
+		for (int k = 0; k < m; k++) {
+			Triangle triangle = targets.get(k).triangle;
+			Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+			if (orientation(a.coord(0), a.coord(1), b.coord(0), b.coord(1),
+					c.coord(0), c.coord(1)) < 0) {
+				Pnt tmp = b;
+				b = c;
+				c = tmp;
+			}
+			coords[6 * k] = a.coord(0);
+			coords[6 * k + 1] = a.coord(1);
+			coords[6 * k + 2] = b.coord(0);
+			coords[6 * k + 3] = b.coord(1);
+			coords[6 * k + 4] = c.coord(0);
+			coords[6 * k + 5] = c.coord(1);
+		}
+
+		Map<Triangle, Integer> lookup = null;
+		if (m > LINEAR_SEARCH) {
+			lookup = new HashMap<>();
+			for (int k = 0; k < m; k++) {
+				lookup.put(targets.get(k).triangle, k);
+			}
+		}
+
+		int last = 0;
+		for (int i = 0; i < size; i++) {
+			int sample = samples[i];
+			double x = xs[sample], y = ys[sample];
+			int k = -1;
+			if (lookup != null) {
+				Triangle triangle = t.locate(new Pnt(x, y));
+				Integer found = triangle == null ? null : lookup.get(triangle);
+				if (found != null && contains(coords, 6 * found, x, y)) {
+					k = found;
+				}
+			}
+			// A sample on the boundary of the new triangles may have been
+			// located in an unchanged neighbor, test the new ones then
+			if (k < 0) {
+				k = find(coords, m, x, y, last);
+			}
+			if (k < 0) {
+				continue;
+			}
+			last = k;
+			if (!isVertex(coords, 6 * k, x, y)) {
+				targets.get(k).add(sample);
+			}
+		}
+	}
+
+	/**
+	 * Find a triangle that contains a point, testing the triangles starting
+	 * at position start, since samples tend to be clustered.
+	 * 
+	 * @return the position of the triangle; -1 if there is none.
+	 */
+	private static int find(double[] coords, int m, double x, double y,
+			int start)
+	{
+		for (int j = 0; j < m; j++) {
+			int k = (start + j) % m;
+			if (contains(coords, 6 * k, x, y)) {
+				return k;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean contains(double[] coords, int o, double x,
+			double y)
+	{
+		return orientation(coords[o], coords[o + 1], coords[o + 2],
+				coords[o + 3], x, y) >= 0
+				&& orientation(coords[o + 2], coords[o + 3], coords[o + 4],
+						coords[o + 5], x, y) >= 0
+				&& orientation(coords[o + 4], coords[o + 5], coords[o],
+						coords[o + 1], x, y) >= 0;
+	}
+
+	private static boolean isVertex(double[] coords, int o, double x,
+			double y)
+	{
+		for (int v = 0; v < 3; v++) {
+			if (coords[o + 2 * v] == x && coords[o + 2 * v + 1] == y) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine the sample of a cell with the largest vertical distance from
+	 * the plane through the vertices of its triangle.
+	 */
+	private void evaluate(Triangulation<Integer> t, Cell cell)
+	{
+		Map<Pnt, Integer> data = t.getData();
+		Triangle triangle = cell.triangle;
+		Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+		double ax = a.coord(0), ay = a.coord(1), az = zs[data.get(a)];
+		double ux = b.coord(0) - ax, uy = b.coord(1) - ay;
+		double vx = c.coord(0) - ax, vy = c.coord(1) - ay;
+		double uz = zs[data.get(b)] - az, vz = zs[data.get(c)] - az;
+		double det = ux * vy - vx * uy;
+		if (det == 0) {
+			return;
+		}
+		double gx = (uz * vy - vz * uy) / det;
+		double gy = (ux * vz - vx * uz) / det;
+		for (int i = 0; i < cell.size; i++) {
+			int sample = cell.samples[i];
+			double error = Math.abs(zs[sample] - az - gx * (xs[sample] - ax)
+					- gy * (ys[sample] - ay));
+			if (error > cell.error) {
+				cell.error = error;
+				cell.worst = sample;
+			}
+		}
+	}
+
+	/**
+	 * Compute the vertices of the convex hull using Andrew's monotone chain
+	 * algorithm. Samples on the boundary between hull vertices are omitted.
+	 * Before sorting, samples inside the polygon through the extreme samples
+	 * in eight directions are discarded, which usually leaves very few.
+	 */
+	private int[] convexHull()
+	{
+		// Extremes of x, x - y, y, -x - y, -x, y - x, -y, x + y (ccw)
+		int[] extremes = new int[8];
+		double[] best = new double[8];
+		Arrays.fill(best, Double.NEGATIVE_INFINITY);
+		for (int i = 0; i < n; i++) {
+			double x = xs[i], y = ys[i];
+			double[] keys = { x, x + y, y, y - x, -x, -x - y, -y, x - y };
+			for (int d = 0; d < 8; d++) {
+				if (keys[d] > best[d]) {
+					best[d] = keys[d];
+					extremes[d] = i;
+				}
+			}
+		}
+		int[] candidates = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			boolean inside = true;
+			for (int d = 0; d < 8 && inside; d++) {
+				int a = extremes[d], b = extremes[(d + 1) % 8];
+				if (a != b && orientation(xs[a], ys[a], xs[b], ys[b], xs[i],
+						ys[i]) <= 0) {
+					inside = false;
+				}
+			}
+			if (!inside || n < 3) {
+				candidates[m++] = i;
+			}
+		}
+
+		Integer[] order = new Integer[m];
+		for (int i = 0; i < m; i++) {
+			order[i] = candidates[i];
+		}
+		Arrays.sort(order, (i, j) -> xs[i] != xs[j]
+				? Double.compare(xs[i], xs[j]) : Double.compare(ys[i], ys[j]));
+		int[] hull = new int[2 * m];
+		int k = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			int start = k;
+			for (int p = 0; p < m; p++) {
+				int i = order[pass == 0 ? p : m - 1 - p];
+				while (k >= start + 2 && orientation(xs[hull[k - 2]],
+						ys[hull[k - 2]], xs[hull[k - 1]], ys[hull[k - 1]],
+						xs[i], ys[i]) <= 0) {
+					k--;
+				}
+				hull[k++] = i;
+			}
+			k--; // The last point is the first one of the other chain
+		}
+		return Arrays.copyOf(hull, Math.max(0, k));
+	}
+
+	/**
+	 * @return the sign of the orientation of the triangle a, b, c: positive
+	 *         if counterclockwise, negative if clockwise, zero if collinear,
+	 *         determined exactly.
+	 */
+	private static int orientation(double ax, double ay, double bx,
+			double by, double cx, double cy)
+	{
+		return Triangulation.orientation(ax, ay, bx, by, cx, cy);
+	}
+
+}
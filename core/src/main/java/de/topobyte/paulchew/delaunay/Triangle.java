@@ -44,6 +44,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A Triangle is an immutable Set of exactly three Pnts.
@@ -66,10 +67,23 @@ public class Triangle extends ArraySet<Pnt>
 
 	private static final long serialVersionUID = -655708935104319539L;
 
+	/*
+	 * Width of the band around the circumcircle, relative to the squared
+	 * magnitude of the involved coordinates, within which the fast
+	 * circumcircle test defers to the determinant test.
+	 */
+	private static final double CIRCUMCIRCLE_EPSILON = 1e-10;
+
 	private int idNumber; // The id number
 	private Pnt circumcenter = null; // The triangle's circumcenter
 
-	private static int idGenerator = 0; // Used to create id numbers
+	// The circumcenter and squared circumradius, computed on construction
+	private final double centerX, centerY, radiusSq;
+	// True iff one of the vertices is the vertex at infinity
+	private final boolean infinite;
+
+	// Used to create id numbers, shared by triangulations built concurrently
+	private static final AtomicInteger idGenerator = new AtomicInteger();
 	static boolean moreInfo = false; // True iff more info in toString
 
 	/**
@@ -92,10 +106,27 @@ public class Triangle extends ArraySet<Pnt>
 	public Triangle(Collection<? extends Pnt> collection)
 	{
 		super(collection);
-		idNumber = idGenerator++;
+		idNumber = idGenerator.getAndIncrement();
 		if (this.size() != 3) {
 			throw new IllegalArgumentException("Triangle must have 3 vertices");
 		}
+
+		Pnt a = get(0), b = get(1), c = get(2);
+		infinite = a == InfinitePnt.INSTANCE || b == InfinitePnt.INSTANCE
+				|| c == InfinitePnt.INSTANCE;
+
+		// Compute the circumcenter relative to the first vertex
+		double ax = a.coord(0), ay = a.coord(1);
+		double bx = b.coord(0) - ax, by = b.coord(1) - ay;
+		double cx = c.coord(0) - ax, cy = c.coord(1) - ay;
+		double b2 = bx * bx + by * by;
+		double c2 = cx * cx + cy * cy;
+		double d = 2 * (bx * cy - by * cx);
+		double ux = (cy * b2 - by * c2) / d;
+		double uy = (bx * c2 - cx * b2) / d;
+		centerX = ax + ux;
+		centerY = ay + uy;
+		radiusSq = ux * ux + uy * uy;
 	}
 
 	@Override
@@ -170,11 +201,81 @@ public class Triangle extends ArraySet<Pnt>
 	public Pnt getCircumcenter()
 	{
 		if (circumcenter == null) {
-			circumcenter = Pnt.circumcenter(this.toArray(new Pnt[0]));
+			circumcenter = new Pnt(centerX, centerY);
 		}
 		return circumcenter;
 	}
 
+	/**
+	 * A triangulation without an initial triangle connects each edge of the
+	 * convex hull to a symbolic vertex at infinity. Such triangles have no
+	 * circumcircle and no area.
+	 * 
+	 * @return whether one of the vertices is the vertex at infinity
+	 */
+	public boolean isInfinite()
+	{
+		return infinite;
+	}
+
+	/**
+	 * @return the x coordinate of the triangle's circumcenter
+	 */
+	public double getCircumcenterX()
+	{
+		return centerX;
+	}
+
+	/**
+	 * @return the y coordinate of the triangle's circumcenter
+	 */
+	public double getCircumcenterY()
+	{
+		return centerY;
+	}
+
+	/**
+	 * @return the square of the triangle's circumradius
+	 */
+	public double getCircumradiusSq()
+	{
+		return radiusSq;
+	}
+
+	/**
+	 * Test relation between a point and the circumcircle of this triangle.
+	 * Compares the distance of the point to the cached circumcenter with the
+	 * circumradius and only falls back to an exact test if the point is too
+	 * close to the circle for the comparison to be reliable. Degenerate
+	 * triangles are tested with {@link Pnt#vsCircumcircle(Pnt[])}.
+	 * 
+	 * @param point
+	 *            the point to test
+	 * @return -1, 0, or +1 for inside, on, or outside of circumcircle
+	 */
+	public int vsCircumcircle(Pnt point)
+	{
+		double px = point.coord(0), py = point.coord(1);
+		double dx = px - centerX, dy = py - centerY;
+		double diff = dx * dx + dy * dy - radiusSq;
+		double scale = Math.max(Math.max(Math.abs(px), Math.abs(py)),
+				Math.max(Math.abs(centerX), Math.abs(centerY)));
+		scale += Math.sqrt(radiusSq);
+		double band = CIRCUMCIRCLE_EPSILON * scale * scale;
+		if (diff > band) {
+			return +1;
+		}
+		if (diff < -band) {
+			return -1;
+		}
+		Pnt a = get(0), b = get(1), c = get(2);
+		int orientation = Triangulation.orientation(a, b, c);
+		if (orientation == 0) {
+			return point.vsCircumcircle(this.toArray(new Pnt[0]));
+		}
+		return -orientation * Triangulation.incircle(a, b, c, point);
+	}
+
 	/* The following two methods ensure that a Triangle is immutable */
 
 	@Override
@@ -0,0 +1,395 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, array-based snapshot of the triangles of a triangulation.
+ * Vertices and triangles are numbered consecutively. The sites come first,
+ * followed by the vertices of the initial triangle, if any; triangles at
+ * infinity are not part of the snapshot. The vertices of each triangle are
+ * stored in counterclockwise order and for each edge of a triangle, the
+ * triangle on the other side is stored, or -1 if there is none.
+ * 
+ * Triangles are numbered in the order of a Hilbert curve through their
+ * centroids, which is used to find a good starting triangle for point
+ * location by walking. Like {@link DelaunayGraph}, the snapshot consists of
+ * primitive arrays only and is safe to be queried from multiple threads
+ * concurrently.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+public class TriangleMesh<T>
+{
+
+	private static final int GRAIN = 4096;
+
+	private final int numSites;
+	private final int numVertices;
+	private final int n;
+
+	private final double[] xs, ys;
+	private final List<T> data;
+
+	private final int[] vertices; // Vertices of triangle i: 3i, 3i+1, 3i+2
+	private final int[] neighbors; // Across the edge from vertex k to k+1
+	private final double[] centerXs, centerYs, radiiSq;
+
+	private final HilbertCurve curve;
+	private final long[] keys; // Curve index of each centroid, ascending
+
+	/**
+	 * Create a snapshot of the current state of a triangulation.
+	 * 
+	 * @param t
+	 *            the triangulation.
+	 */
+	public TriangleMesh(final Triangulation<T> t)
+	{
+		Map<Pnt, T> pointToData = t.getData();
+		numSites = pointToData.size();
+
+		final Map<Pnt, Integer> index = new HashMap<>();
+		final List<Pnt> points = new ArrayList<>(pointToData.keySet());
+		for (int i = 0; i < numSites; i++) {
+			index.put(points.get(i), i);
+		}
+		Triangle initial = t.getInitialTriangle();
+		if (initial != null) {
+			for (Pnt vertex : initial) {
+				index.put(vertex, points.size());
+				points.add(vertex);
+			}
+		}
+		numVertices = points.size();
+		xs = new double[numVertices];
+		ys = new double[numVertices];
+		data = new ArrayList<>(numSites);
+		for (int i = 0; i < numVertices; i++) {
+			Pnt point = points.get(i);
+			xs[i] = point.coord(0);
+			ys[i] = point.coord(1);
+			if (i < numSites) {
+				data.add(pointToData.get(point));
+			}
+		}
+
+		// Number the triangles along the curve
+		final Triangle[] unordered = t.getTriangles().values()
+				.toArray(new Triangle[0]);
+		n = unordered.length;
+		double[] cx = new double[n];
+		double[] cy = new double[n];
+		for (int i = 0; i < n; i++) {
+			for (Pnt vertex : unordered[i]) {
+				cx[i] += vertex.coord(0) / 3;
+				cy[i] += vertex.coord(1) / 3;
+			}
+		}
+		curve = HilbertCurve.of(xs, ys, numSites);
+		final int[] order = curve.sort(cx, cy, n);
+		keys = new long[n];
+		final Triangle[] triangles = new Triangle[n];
+		final Map<Triangle, Integer> numbers = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			int o = order[i];
+			triangles[i] = unordered[o];
+			keys[i] = curve.key(cx[o], cy[o]);
+			numbers.put(triangles[i], i);
+		}
+
+		vertices = new int[3 * n];
+		neighbors = new int[3 * n];
+		centerXs = new double[n];
+		centerYs = new double[n];
+		radiiSq = new double[n];
+		ParallelUtil.forEachRange(n, GRAIN, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				Triangle triangle = triangles[i];
+				int a = index.get(triangle.get(0));
+				int b = index.get(triangle.get(1));
+				int c = index.get(triangle.get(2));
+				if (orientation(a, b, xs[c], ys[c]) < 0) {
+					int tmp = b;
+					b = c;
+					c = tmp;
+				}
+				vertices[3 * i] = a;
+				vertices[3 * i + 1] = b;
+				vertices[3 * i + 2] = c;
+				for (int k = 0; k < 3; k++) {
+					Pnt opposite = points.get(vertices[3 * i + (k + 2) % 3]);
+					Triangle neighbor = t.neighborOpposite(opposite, triangle);
+					Integer number = neighbor == null ? null
+							: numbers.get(neighbor);
+					neighbors[3 * i + k] = number == null ? -1 : number;
+				}
+				centerXs[i] = triangle.getCircumcenterX();
+				centerYs[i] = triangle.getCircumcenterY();
+				radiiSq[i] = triangle.getCircumradiusSq();
+			}
+		});
+	}
+
+	/**
+	 * @return the number of triangles.
+	 */
+	public int size()
+	{
+		return n;
+	}
+
+	/**
+	 * @return the number of vertices, including vertices of the initial
+	 *         triangle.
+	 */
+	public int getNumberOfVertices()
+	{
+		return numVertices;
+	}
+
+	/**
+	 * @return the number of sites. The sites are numbered from 0 to this
+	 *         value - 1.
+	 */
+	public int getNumberOfSites()
+	{
+		return numSites;
+	}
+
+	/**
+	 * @param v
+	 *            the number of a vertex.
+	 * @return whether the vertex is a site, i.e. not a vertex of the initial
+	 *         triangle.
+	 */
+	public boolean isSite(int v)
+	{
+		return v < numSites;
+	}
+
+	/**
+	 * @param v
+	 *            the number of a vertex.
+	 * @return the x coordinate of the vertex.
+	 */
+	public double getX(int v)
+	{
+		return xs[v];
+	}
+
+	/**
+	 * @param v
+	 *            the number of a vertex.
+	 * @return the y coordinate of the vertex.
+	 */
+	public double getY(int v)
+	{
+		return ys[v];
+	}
+
+	/**
+	 * @param v
+	 *            the number of a site.
+	 * @return the object associated with the site.
+	 */
+	public T getData(int v)
+	{
+		return data.get(v);
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @param k
+	 *            0, 1 or 2.
+	 * @return the number of the k-th vertex of the triangle in
+	 *         counterclockwise order.
+	 */
+	public int getVertex(int i, int k)
+	{
+		return vertices[3 * i + k];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @param k
+	 *            0, 1 or 2.
+	 * @return the number of the triangle across the edge from vertex k to
+	 *         vertex k + 1 (mod 3) of the triangle; -1 if that edge is on
+	 *         the boundary.
+	 */
+	public int getNeighbor(int i, int k)
+	{
+		return neighbors[3 * i + k];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @return the x coordinate of the circumcenter of the triangle.
+	 */
+	public double getCircumcenterX(int i)
+	{
+		return centerXs[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @return the y coordinate of the circumcenter of the triangle.
+	 */
+	public double getCircumcenterY(int i)
+	{
+		return centerYs[i];
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @return the squared radius of the circumcircle of the triangle.
+	 */
+	public double getCircumradiusSq(int i)
+	{
+		return radiiSq[i];
+	}
+
+	/**
+	 * Find a triangle that contains the specified position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position.
+	 * @param y
+	 *            the y coordinate of the query position.
+	 * @return the number of a triangle containing the position; -1 if it is
+	 *         not covered by the mesh.
+	 */
+	public int locate(double x, double y)
+	{
+		if (n == 0) {
+			return -1;
+		}
+		return locate(x, y, start(x, y));
+	}
+
+	/**
+	 * Find a triangle that contains the specified position by walking from
+	 * the specified triangle towards it. This is fast if the triangle is close
+	 * to the position, for example the result of a previous query for a
+	 * nearby position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position.
+	 * @param y
+	 *            the y coordinate of the query position.
+	 * @param start
+	 *            the number of the triangle to start at.
+	 * @return the number of a triangle containing the position; -1 if it is
+	 *         not covered by the mesh.
+	 */
+	public int locate(double x, double y, int start)
+	{
+		int current = start;
+		int previous = -1;
+		// The walk terminates on Delaunay meshes, guard against rounding
+		for (int steps = 0; steps <= n; steps++) {
+			int next = -1;
+			for (int k = 0; k < 3; k++) {
+				int neighbor = neighbors[3 * current + k];
+				if (neighbor == previous && neighbor >= 0) {
+					continue;
+				}
+				if (orientation(vertices[3 * current + k],
+						vertices[3 * current + (k + 1) % 3], x, y) < 0) {
+					if (neighbor < 0) {
+						return -1;
+					}
+					next = neighbor;
+					break;
+				}
+			}
+			if (next < 0) {
+				return current;
+			}
+			previous = current;
+			current = next;
+		}
+		for (int i = 0; i < n; i++) {
+			if (contains(i, x, y)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param i
+	 *            the number of a triangle.
+	 * @param x
+	 *            the x coordinate of the query position.
+	 * @param y
+	 *            the y coordinate of the query position.
+	 * @return whether the triangle contains the position, including its
+	 *         boundary.
+	 */
+	public boolean contains(int i, double x, double y)
+	{
+		for (int k = 0; k < 3; k++) {
+			if (orientation(vertices[3 * i + k],
+					vertices[3 * i + (k + 1) % 3], x, y) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Find a triangle close to the specified position by looking up its
+	 * position on the Hilbert curve.
+	 */
+	private int start(double x, double y)
+	{
+		int i = Arrays.binarySearch(keys, curve.key(x, y));
+		if (i < 0) {
+			i = -i - 1;
+		}
+		return i < n ? i : n - 1;
+	}
+
+	/**
+	 * Sign of the orientation of the position relative to the edge from
+	 * vertex a to vertex b: positive if it is to the left.
+	 */
+	private int orientation(int a, int b, double x, double y)
+	{
+		double ax = xs[a], ay = ys[a];
+		double det = (xs[b] - ax) * (y - ay) - (ys[b] - ay) * (x - ax);
+		return det > 0 ? 1 : (det < 0 ? -1 : 0);
+	}
+
+}
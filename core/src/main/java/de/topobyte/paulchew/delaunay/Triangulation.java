@@ -41,17 +41,28 @@
 package de.topobyte.paulchew.delaunay;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
 import com.slimjars.dist.gnu.trove.procedure.TObjectProcedure;
 
 import de.topobyte.adt.graph.Graph;
@@ -66,7 +77,13 @@ import de.topobyte.jsi.GenericRTree;
  * O(n log n) methods, but they require that the sites are all known initially.
  *
  * A Triangulation is a Set of Triangles. A Triangulation is unmodifiable as a
- * Set; the only way to change it is to add sites (via delaunayPlace).
+ * Set; the only way to change it is to add sites (via delaunayPlace) and
+ * constrained edges between sites (via insertSegment).
+ *
+ * A Triangulation either starts with an initial triangle that all sites have
+ * to fall into, or with a symbolic vertex at infinity that every edge of the
+ * convex hull forms a triangle with. Such infinite triangles are used for
+ * navigation only, they are not members of the Set.
  *
  * @author Paul Chew
  *
@@ -84,13 +101,45 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 
 	private static final long serialVersionUID = -3437333122694986680L;
 
+	/**
+	 * The ways of restoring the Delaunay property after inserting a site.
+	 */
+	public enum InsertionStrategy
+	{
+		/**
+		 * Remove all triangles whose circumcircle contains the new site and
+		 * connect the boundary of the resulting cavity to the site.
+		 */
+		BOWYER_WATSON,
+		/**
+		 * Split the triangle (or the two triangles sharing the edge) that
+		 * contains the new site and flip edges until all triangles are
+		 * Delaunay.
+		 */
+		LAWSON
+	}
+
 	Map<Integer, Triangle> triangles = new HashMap<>();
 	GenericRTree<Triangle> spidx = new GenericRTree<>();
 
 	private Map<Pnt, T> pointToData;
+	private List<Pnt> sites = new ArrayList<>(); // In order of insertion
+	private Map<Pnt, Triangle> pointToTriangle; // Some triangle for each vertex
 	private Triangle initialTriangle;
+	private int modifications = 0; // Number of successful insertions
+
+	private boolean infinite = false; // True iff using the vertex at infinity
+	private int infiniteTriangles = 0; // Number of triangles at infinity
+	private Map<Pnt, T> pending = null; // Collinear sites, see placePending()
+	private Set<ArraySet<Pnt>> constraints = new HashSet<>(); // Fixed edges
 
 	private Triangle mostRecent = null; // Most recently "active" triangle
+	private transient TriangulationMonitor monitor = null;
+	// Copied on modification, so listeners may remove themselves
+	private transient TriangulationListener[] listeners = null;
+	private int circumcircleTests = 0; // Number of evaluated circumcircle tests
+	private InsertionStrategy insertionStrategy =
+			InsertionStrategy.BOWYER_WATSON;
 	private UndirectedGraph<Triangle> triGraph; // Holds triangles for
 												// navigation
 
@@ -105,15 +154,34 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 		initialTriangle = triangle;
 		triGraph = new UndirectedGraph<>();
 		pointToData = new HashMap<>();
-		triGraph.addNode(triangle);
+		pointToTriangle = new HashMap<>();
 		mostRecent = triangle;
 
-		spidx.add(DelaunayUtil.triangleBox(triangle), triangle);
-		triangles.put(triangle.hashCode(), triangle);
+		addTriangle(triangle);
 	}
 
 	/**
-	 * @return the triangle this triangulation has been began with.
+	 * Create a triangulation that accepts sites at any finite position. The
+	 * convex hull of the sites is connected to a symbolic vertex at infinity
+	 * instead of an initial triangle, so there are no vertices besides the
+	 * sites.
+	 * 
+	 * Triangles can only be built once three sites that are not collinear
+	 * have been inserted. Until then, sites are kept aside and are neither
+	 * reported by {@link #getData()} nor by {@link #isSite(Pnt)}.
+	 */
+	public Triangulation()
+	{
+		infinite = true;
+		triGraph = new UndirectedGraph<>();
+		pointToData = new HashMap<>();
+		pointToTriangle = new HashMap<>();
+		pending = new LinkedHashMap<>();
+	}
+
+	/**
+	 * @return the triangle this triangulation has been began with; null if
+	 *         the triangulation uses a vertex at infinity.
 	 */
 	public Triangle getInitialTriangle()
 	{
@@ -125,13 +193,49 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	@Override
 	public Iterator<Triangle> iterator()
 	{
-		return triGraph.getNodes().iterator();
+		final Iterator<Triangle> iterator = triGraph.getNodes().iterator();
+		if (!infinite) {
+			return iterator;
+		}
+		// Skip the triangles at infinity
+		return new Iterator<Triangle>() {
+
+			private Triangle next = advance();
+
+			private Triangle advance()
+			{
+				while (iterator.hasNext()) {
+					Triangle triangle = iterator.next();
+					if (!triangle.isInfinite()) {
+						return triangle;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return next != null;
+			}
+
+			@Override
+			public Triangle next()
+			{
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Triangle triangle = next;
+				next = advance();
+				return triangle;
+			}
+		};
 	}
 
 	@Override
 	public int size()
 	{
-		return triGraph.getNodes().size();
+		return triGraph.getNodes().size() - infiniteTriangles;
 	}
 
 	public Graph<Triangle> getGraph()
@@ -155,11 +259,45 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	@Override
 	public boolean contains(Object triangle)
 	{
+		if (triangle instanceof Triangle && ((Triangle) triangle).isInfinite()) {
+			return false;
+		}
 		return triGraph.getNodes().contains(triangle);
 	}
 
 	/**
-	 * Report neighbor opposite the given vertex of triangle.
+	 * @return whether this triangulation uses a vertex at infinity instead of
+	 *         an initial triangle.
+	 */
+	public boolean hasInfiniteVertex()
+	{
+		return infinite;
+	}
+
+	/**
+	 * Report the vertices of the convex hull of the sites in order (cw or
+	 * ccw). Only available for triangulations with a vertex at infinity.
+	 * 
+	 * @return the vertices of the convex hull; empty if no triangles have been
+	 *         built yet
+	 * @throws IllegalStateException
+	 *             if the triangulation has an initial triangle
+	 */
+	public List<Pnt> convexHull()
+	{
+		if (!infinite) {
+			throw new IllegalStateException("no vertex at infinity");
+		}
+		if (incidentTriangle(InfinitePnt.INSTANCE) == null) {
+			return new ArrayList<>();
+		}
+		return adjacentVertices(InfinitePnt.INSTANCE);
+	}
+
+	/**
+	 * Report neighbor opposite the given vertex of triangle. In a
+	 * triangulation with a vertex at infinity, the neighbor may be a triangle
+	 * at infinity.
 	 * 
 	 * @param site
 	 *            a vertex of triangle
@@ -227,7 +365,260 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	}
 
 	/**
-	 * Locate the triangle with point inside it or on its boundary.
+	 * Report the vertices connected to site by an edge of the triangulation,
+	 * in the same rotational order as {@link #surroundingTriangles(Pnt,
+	 * Triangle)}. The result may include vertices of the initial triangle or
+	 * the vertex at infinity.
+	 * 
+	 * @param site
+	 *            a site of this triangulation
+	 * @return the vertices adjacent to site
+	 * @throws IllegalArgumentException
+	 *             if site is not a vertex of this triangulation
+	 */
+	public List<Pnt> adjacentVertices(Pnt site)
+	{
+		Triangle triangle = incidentTriangle(site);
+		if (triangle == null) {
+			throw new IllegalArgumentException("Site not in triangulation");
+		}
+		List<Triangle> list = surroundingTriangles(site, triangle);
+		List<Pnt> vertices = new ArrayList<>(list.size());
+		for (int i = 0; i < list.size(); i++) {
+			Triangle current = list.get(i);
+			Triangle next = list.get(i + 1 == list.size() ? 0 : i + 1);
+			for (Pnt vertex : current) {
+				if (!vertex.equals(site) && next.contains(vertex)) {
+					vertices.add(vertex);
+					break;
+				}
+			}
+		}
+		return vertices;
+	}
+
+	/**
+	 * Find the site closest to point. Starts at the triangle containing point
+	 * and walks along Delaunay edges towards point as long as the distance
+	 * decreases, which ends at the nearest site.
+	 * 
+	 * @param point
+	 *            the query position
+	 * @return the nearest site; null if no sites have been inserted
+	 */
+	Pnt closestSite(Pnt point)
+	{
+		if (pointToData.isEmpty()) {
+			return null;
+		}
+		Triangle triangle = locate(point);
+		if (triangle == null) {
+			triangle = mostRecent;
+		}
+		Pnt current = null;
+		double best = Double.POSITIVE_INFINITY;
+		for (Pnt vertex : triangle) {
+			double d = distanceSq(vertex, point);
+			if (isSite(vertex) && d < best) {
+				best = d;
+				current = vertex;
+			}
+		}
+		if (current == null) {
+			current = pointToData.keySet().iterator().next();
+			best = distanceSq(current, point);
+		}
+		while (true) {
+			Pnt next = null;
+			for (Pnt vertex : adjacentVertices(current)) {
+				double d = distanceSq(vertex, point);
+				if (isSite(vertex) && d < best) {
+					best = d;
+					next = vertex;
+				}
+			}
+			if (next == null) {
+				return current;
+			}
+			current = next;
+		}
+	}
+
+	/**
+	 * Find the site nearest to the specified position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position
+	 * @param y
+	 *            the y coordinate of the query position
+	 * @return the object associated with the nearest site; null if no sites
+	 *         have been inserted
+	 */
+	public T nearestSite(double x, double y)
+	{
+		Pnt site = closestSite(new Pnt(x, y));
+		return site == null ? null : pointToData.get(site);
+	}
+
+	/**
+	 * Find the k sites nearest to the specified position.
+	 * 
+	 * The sites within any circle induce a connected subgraph of the Delaunay
+	 * graph, so the sites can be enumerated in order of increasing distance by
+	 * a best-first search that starts at the nearest site.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position
+	 * @param y
+	 *            the y coordinate of the query position
+	 * @param k
+	 *            the number of sites to find
+	 * @return the objects associated with the k nearest sites, ordered by
+	 *         increasing distance
+	 */
+	public List<T> kNearest(double x, double y, int k)
+	{
+		return nearest(x, y, k, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Find all sites within the specified distance of a position.
+	 * 
+	 * @param x
+	 *            the x coordinate of the query position
+	 * @param y
+	 *            the y coordinate of the query position
+	 * @param radius
+	 *            the maximum distance
+	 * @return the objects associated with the sites within radius, ordered by
+	 *         increasing distance; empty if radius is negative or NaN
+	 */
+	public List<T> withinRadius(double x, double y, double radius)
+	{
+		if (!(radius >= 0)) {
+			return new ArrayList<>();
+		}
+		return nearest(x, y, Integer.MAX_VALUE, radius * radius);
+	}
+
+	private List<T> nearest(double x, double y, int k, double maxDistanceSq)
+	{
+		List<T> result = new ArrayList<>();
+		Pnt point = new Pnt(x, y);
+		Pnt start = closestSite(point);
+		if (start == null || k <= 0) {
+			return result;
+		}
+
+		Set<Pnt> visited = new HashSet<>();
+		PriorityQueue<Candidate> queue = new PriorityQueue<>();
+		visited.add(start);
+		queue.add(new Candidate(start, distanceSq(start, point)));
+		while (!queue.isEmpty() && result.size() < k) {
+			Candidate candidate = queue.remove();
+			if (candidate.distance > maxDistanceSq) {
+				break;
+			}
+			result.add(pointToData.get(candidate.site));
+			for (Pnt vertex : adjacentVertices(candidate.site)) {
+				if (isSite(vertex) && visited.add(vertex)) {
+					queue.add(new Candidate(vertex, distanceSq(vertex, point)));
+				}
+			}
+		}
+		return result;
+	}
+
+	private static class Candidate implements Comparable<Candidate>
+	{
+
+		final Pnt site;
+		final double distance;
+
+		Candidate(Pnt site, double distance)
+		{
+			this.site = site;
+			this.distance = distance;
+		}
+
+		@Override
+		public int compareTo(Candidate o)
+		{
+			return Double.compare(distance, o.distance);
+		}
+
+	}
+
+	static double distanceSq(Pnt a, Pnt b)
+	{
+		double dx = a.coord(0) - b.coord(0);
+		double dy = a.coord(1) - b.coord(1);
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * Find all triangles that intersect the specified rectangle. Starts at the
+	 * triangle containing the center of the rectangle and visits adjacent
+	 * triangles as long as they intersect the rectangle, so the running time
+	 * is proportional to the number of triangles reported.
+	 * 
+	 * @param envelope
+	 *            the query rectangle
+	 * @return the triangles intersecting envelope
+	 */
+	public List<Triangle> trianglesIntersecting(final Envelope envelope)
+	{
+		List<Triangle> result = new ArrayList<>();
+		Coordinate center = envelope.centre();
+		Triangle start = locate(new Pnt(center.x, center.y));
+		if (start == null || start.isInfinite()) {
+			// The center is not covered, find any intersecting triangle
+			final Triangle[] found = new Triangle[1];
+			spidx.intersects(DelaunayUtil.envelopeBox(envelope),
+					new TObjectProcedure<Triangle>() {
+
+						@Override
+						public boolean execute(Triangle triangle)
+						{
+							if (DelaunayUtil.triangleIntersects(triangle,
+									envelope)) {
+								found[0] = triangle;
+								return false;
+							}
+							return true;
+						}
+					});
+			start = found[0];
+			if (start == null) {
+				return result;
+			}
+		}
+
+		Set<Triangle> visited = new HashSet<>();
+		Queue<Triangle> queue = new LinkedList<>();
+		visited.add(start);
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			Triangle current = queue.remove();
+			if (current.isInfinite()
+					|| !DelaunayUtil.triangleIntersects(current, envelope)) {
+				continue;
+			}
+			result.add(current);
+			for (Triangle neighbor : triGraph.getEdgesOut(current)) {
+				if (visited.add(neighbor)) {
+					queue.add(neighbor);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Locate the triangle with point inside it or on its boundary. In a
+	 * triangulation with a vertex at infinity, points outside of the convex
+	 * hull are located in a triangle at infinity whose hull edge faces the
+	 * point.
 	 * 
 	 * @param point
 	 *            the point to locate
@@ -235,44 +626,117 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	 */
 	public Triangle locate(final Pnt point)
 	{
-		Triangle triangle = mostRecent;
-		if (!this.contains(triangle)) {
-			triangle = null;
-		}
+		return locate(point, false);
+	}
+
+	/**
+	 * Locate the triangle with point inside it or on its boundary.
+	 * 
+	 * @param point
+	 *            the point to locate
+	 * @param inserting
+	 *            whether point is about to be inserted. Circumcircle tests
+	 *            are only counted while inserting, so that concurrent queries
+	 *            do not modify this triangulation.
+	 * @return the triangle that holds point; null if no such triangle
+	 */
+	private Triangle locate(final Pnt point, boolean inserting)
+	{
+		TriangulationMonitor monitor = this.monitor;
+		long start = monitor == null ? 0 : System.nanoTime();
 
-		final Set<Triangle> founds = new HashSet<>();
-		spidx.intersects(DelaunayUtil.pntBox(point),
-				new TObjectProcedure<Triangle>() {
+		ContainmentProcedure procedure = new ContainmentProcedure(point);
+		spidx.intersects(DelaunayUtil.pntBox(point), procedure);
+		Set<Triangle> founds = procedure.founds;
 
-					@Override
-					public boolean execute(Triangle striangle)
-					{
-						// check for containment
-						if (point.isOutside(striangle.toArray(new Pnt[0])) == null) {
-							founds.add(striangle);
-						}
-						return true;
-					}
-				});
-		if (founds.size() > 1) {
-			System.out.println(String.format("size is: %d of point %s",
-					founds.size(), point.stringRepresentation()));
+		Triangle result = null;
+		if (founds.size() == 1) {
+			result = founds.iterator().next();
+		} else if (founds.size() > 1) {
+			// Point on an edge or vertex, pick a triangle with non-empty cavity
+			Object event = FlightRecorderEvents.beginLocateFallback();
 			for (Triangle t : founds) {
-				System.out.println(t.stringRepresentation());
+				Set<Triangle> cavity = getCavity(point, t, inserting);
+				if (cavity.size() != 0) {
+					result = t;
+					break;
+				}
 			}
+			FlightRecorderEvents.endLocateFallback(event, point, founds.size(),
+					result != null);
+		} else if (infinite) {
+			result = locateOutside(point);
 		}
 
-		if (founds.size() == 1) {
-			return founds.iterator().next();
+		if (monitor != null) {
+			monitor.located(point, procedure.candidates, founds.size(),
+					System.nanoTime() - start);
+		}
+		return result;
+	}
+
+	/**
+	 * Find a triangle at infinity that is in conflict with a point outside of
+	 * the convex hull by walking along the hull. The walk starts at the most
+	 * recently created triangle at infinity and proceeds in both directions
+	 * alternately, so that it takes time proportional to the distance along
+	 * the hull between the last change of the hull and the point.
+	 */
+	private Triangle locateOutside(Pnt point)
+	{
+		Triangle start = incidentTriangle(InfinitePnt.INSTANCE);
+		if (start == null) {
+			return null;
+		}
+		if (conflicts(start, point)) {
+			return start;
 		}
-		for (Triangle t : founds) {
-			Set<Triangle> cavity = getCavity(point, t);
-			if (cavity.size() != 0) {
-				return t;
+		ArraySet<Pnt> edge = start.facetOpposite(InfinitePnt.INSTANCE);
+		Triangle[] current = { start, start };
+		Pnt[] guide = { edge.get(0), edge.get(1) };
+		while (true) {
+			for (int i = 0; i < 2; i++) {
+				Triangle previous = current[i];
+				current[i] = neighborOpposite(guide[i], previous);
+				guide[i] = previous.getVertexButNot(InfinitePnt.INSTANCE,
+						guide[i]);
+				if (current[i] == current[1 - i]) {
+					return null; // All triangles at infinity visited
+				}
+				if (conflicts(current[i], point)) {
+					return current[i];
+				}
 			}
 		}
+	}
+
+	/**
+	 * Collects the triangles that contain a point from the candidates found
+	 * in the spatial index.
+	 */
+	private static class ContainmentProcedure implements
+			TObjectProcedure<Triangle>
+	{
+
+		private final Pnt point;
+		private final Set<Triangle> founds = new HashSet<>();
+		private int candidates = 0;
+
+		ContainmentProcedure(Pnt point)
+		{
+			this.point = point;
+		}
+
+		@Override
+		public boolean execute(Triangle triangle)
+		{
+			candidates++;
+			if (contains(triangle, point)) {
+				founds.add(triangle);
+			}
+			return true;
+		}
 
-		return null;
 	}
 
 	/**
@@ -284,28 +748,152 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	 * @param data
 	 *            the data to associate with this site.
 	 * @throws IllegalArgumentException
-	 *             if site does not lie in any triangle
+	 *             if site does not lie in any triangle or, with a vertex at
+	 *             infinity, if site is not finite
 	 */
 	public void delaunayPlace(Pnt site, T data)
 	{
+		if (infinite) {
+			if (!Double.isFinite(site.coord(0))
+					|| !Double.isFinite(site.coord(1))) {
+				throw new IllegalArgumentException("Site is not finite: "
+						+ site);
+			}
+			if (pending != null) {
+				placePending(site, data);
+				return;
+			}
+		}
+		if (pointToData.containsKey(site)) {
+			return; // Already a site, don't rely on locating it
+		}
+
 		// Uses straightforward scheme rather than best asymptotic time
+		TriangulationMonitor monitor = this.monitor;
+		long start = monitor == null ? 0 : System.nanoTime();
+		int tests = circumcircleTests;
+		Object event = FlightRecorderEvents.beginInsertion();
+		int cavitySize = -1; // Recorded as is if the insertion fails
+		try {
+			// Locate containing triangle
+			Triangle triangle = locate(site, true);
+			// Give up if no containing triangle or if site is already in DT
+			if (triangle == null) {
+				throw new IllegalArgumentException("No containing triangle for "
+						+ site.stringRepresentation());
+			}
+			if (triangle.contains(site)) {
+				cavitySize = 0;
+				return;
+			}
 
-		// Locate containing triangle
-		Triangle triangle = locate(site);
-		// Give up if no containing triangle or if site is already in DT
-		if (triangle == null) {
-			System.out.println(site.stringRepresentation());
-			throw new IllegalArgumentException("No containing triangle");
+			// A site on a constrained edge splits it into two constrained edges
+			ArraySet<Pnt> split = null;
+			if (!constraints.isEmpty()) {
+				split = constrainedEdgeThrough(site, triangle);
+				if (split != null) {
+					constraints.remove(split);
+				}
+			}
+
+			// Determine the cavity and update the triangulation
+			long located = monitor == null ? 0 : System.nanoTime();
+			long determined = located;
+			if (insertionStrategy == InsertionStrategy.LAWSON) {
+				cavitySize = flipInsert(site, triangle);
+			}
+			if (cavitySize < 0) {
+				Set<Triangle> cavity = getCavity(site, triangle, true);
+				determined = monitor == null ? 0 : System.nanoTime();
+				mostRecent = update(site, cavity);
+				cavitySize = cavity.size();
+			}
+			if (split != null) {
+				constraints.add(edge(split.get(0), site));
+				constraints.add(edge(site, split.get(1)));
+			}
+
+			addSite(site, data);
+			modifications++;
+
+			if (monitor != null) {
+				long updated = System.nanoTime();
+				monitor.inserted(site, cavitySize, circumcircleTests - tests,
+						located - start, determined - located,
+						updated - determined);
+			}
+		} finally {
+			FlightRecorderEvents.endInsertion(event, site, cavitySize,
+					triangles.size());
+		}
+	}
+
+	/**
+	 * Keep sites aside as long as they are collinear. Once a site is not
+	 * collinear with the others, build the first triangle and the three
+	 * triangles at infinity around it, then insert the collected sites.
+	 */
+	private void placePending(Pnt site, T data)
+	{
+		if (pending.containsKey(site)) {
+			return;
+		}
+		Iterator<Pnt> iterator = pending.keySet().iterator();
+		if (pending.size() < 2) {
+			pending.put(site, data);
+			return;
 		}
-		if (triangle.contains(site)) {
+		Pnt a = iterator.next(), b = iterator.next();
+		if (orientation(a, b, site) == 0) {
+			pending.put(site, data);
 			return;
 		}
 
-		// Determine the cavity and update the triangulation
-		Set<Triangle> cavity = getCavity(site, triangle);
-		mostRecent = update(site, cavity);
+		Map<Pnt, T> collinear = pending;
+		pending = null;
+		Pnt infinity = InfinitePnt.INSTANCE;
+		Triangle triangle = new Triangle(a, b, site);
+		List<Triangle> created = new ArrayList<>(4);
+		created.add(triangle);
+		created.add(new Triangle(a, b, infinity));
+		created.add(new Triangle(b, site, infinity));
+		created.add(new Triangle(site, a, infinity));
+		replace(new ArrayList<Triangle>(), created);
+		mostRecent = triangle;
+		addSite(a, collinear.remove(a));
+		addSite(b, collinear.remove(b));
+		addSite(site, data);
+		modifications += 3;
 
-		this.pointToData.put(site, data);
+		for (Map.Entry<Pnt, T> entry : collinear.entrySet()) {
+			delaunayPlace(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Test whether point is inside or on the circumcircle of triangle, i.e.
+	 * whether triangle has to be removed when inserting point. The circumcircle
+	 * of a triangle at infinity degenerates to the open half-plane beyond its
+	 * hull edge, plus the interior of the edge itself.
+	 */
+	private boolean conflicts(Triangle triangle, Pnt point)
+	{
+		if (!triangle.isInfinite()) {
+			return triangle.vsCircumcircle(point) != 1;
+		}
+		ArraySet<Pnt> edge = triangle.facetOpposite(InfinitePnt.INSTANCE);
+		Pnt a = edge.get(0), b = edge.get(1);
+		Triangle inner = neighborOpposite(InfinitePnt.INSTANCE, triangle);
+		Pnt c = inner.getVertexButNot(a, b);
+		int side = orientation(a, b, point) * orientation(a, b, c);
+		if (side != 0) {
+			return side < 0;
+		}
+		double dot = (point.coord(0) - a.coord(0))
+				* (point.coord(0) - b.coord(0))
+				+ (point.coord(1) - a.coord(1))
+						* (point.coord(1) - b.coord(1));
+		return dot < 0;
 	}
 
 	/**
@@ -315,9 +903,11 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	 *            the site causing the cavity
 	 * @param triangle
 	 *            the triangle containing site
+	 * @param count
+	 *            whether to count the circumcircle tests for the monitor
 	 * @return set of all triangles that have site in their circumcircle
 	 */
-	private Set<Triangle> getCavity(Pnt site, Triangle triangle)
+	private Set<Triangle> getCavity(Pnt site, Triangle triangle, boolean count)
 	{
 		Set<Triangle> encroached = new HashSet<>();
 		Queue<Triangle> toBeChecked = new LinkedList<>();
@@ -326,19 +916,27 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 		marked.add(triangle);
 		while (!toBeChecked.isEmpty()) {
 			Triangle current = toBeChecked.remove();
-			if (site.vsCircumcircle(current.toArray(new Pnt[0])) == 1) {
+			if (!conflicts(current, site)) {
 				continue; // Site outside triangle => triangle not in cavity
 			}
 			encroached.add(current);
-			// Check the neighbors
+			// Check the neighbors, the cavity does not extend beyond
+			// constrained edges
 			for (Triangle neighbor : triGraph.getEdgesOut(current)) {
 				if (marked.contains(neighbor)) {
 					continue;
 				}
+				if (!constraints.isEmpty() && constraints
+						.contains(sharedEdge(current, neighbor))) {
+					continue;
+				}
 				marked.add(neighbor);
 				toBeChecked.add(neighbor);
 			}
 		}
+		if (count && monitor != null) {
+			circumcircleTests += marked.size();
+		}
 		return encroached;
 	}
 
@@ -355,12 +953,9 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 	private Triangle update(Pnt site, Set<Triangle> cavity)
 	{
 		Set<Set<Pnt>> boundary = new HashSet<>();
-		Set<Triangle> theTriangles = new HashSet<>();
 
-		// Find boundary facets and adjacent triangles
-		// System.out.println("cavity size: " + cavity.size());
+		// Find boundary facets
 		for (Triangle triangle : cavity) {
-			theTriangles.addAll(neighbors(triangle));
 			for (Pnt vertex : triangle) {
 				Set<Pnt> facet = triangle.facetOpposite(vertex);
 				if (boundary.contains(facet)) {
@@ -370,41 +965,769 @@ public class Triangulation<T> extends AbstractSet<Triangle> implements
 				}
 			}
 		}
-		theTriangles.removeAll(cavity); // Adj triangles only
-
-		// Remove the cavity triangles from the triangulation
-		for (Triangle triangle : cavity) {
-			triGraph.removeNode(triangle);
-			triangles.remove(triangle.hashCode());
-			spidx.delete(DelaunayUtil.triangleBox(triangle), triangle);
-		}
-
-		// Build each new triangle and add it to the triangulation
-		Set<Triangle> newTriangles = new HashSet<>();
 		if (boundary.size() == 0) {
-			System.out.println("no boundary facets found");
+			throw new IllegalStateException("no boundary facets found");
 		}
+
+		// Build each new triangle and replace the cavity with them
+		List<Triangle> newTriangles = new ArrayList<>(boundary.size());
 		for (Set<Pnt> vertices : boundary) {
 			vertices.add(site);
-			Triangle tri = new Triangle(vertices);
-			triGraph.addNode(tri);
-			triangles.put(tri.hashCode(), tri);
-			spidx.add(DelaunayUtil.triangleBox(tri), tri);
-			newTriangles.add(tri);
-		}
-
-		// Update the graph links for each new triangle
-		theTriangles.addAll(newTriangles); // Adj triangle + new triangles
-		for (Triangle triangle : newTriangles) {
-			for (Triangle other : theTriangles) {
-				if (triangle.isNeighbor(other)) {
+			newTriangles.add(new Triangle(vertices));
+		}
+		replace(new ArrayList<>(cavity), newTriangles);
+
+		// Return one of the new triangles
+		return newTriangles.get(0);
+	}
+
+	/**
+	 * Insert site by splitting the triangle that contains it (or the two
+	 * triangles sharing the edge it lies on) and flipping edges opposite the
+	 * site until all triangles are Delaunay again.
+	 * 
+	 * @param site
+	 *            the new site
+	 * @param triangle
+	 *            the triangle containing site
+	 * @return the number of triangles replaced in total; -1 if site lies on
+	 *         or outside of the boundary of the triangulation or close to but
+	 *         not on an edge, which is left to {@link #update(Pnt, Set)}
+	 */
+	private int flipInsert(Pnt site, Triangle triangle)
+	{
+		if (triangle.isInfinite()) {
+			return -1;
+		}
+
+		// Determine the edge that site lies on, if any. Sites that are only
+		// close to an edge would produce slivers and are left to the cavity.
+		Pnt[] vertices = triangle.toArray(new Pnt[0]);
+		int[] relation = site.relation(vertices);
+		ArraySet<Pnt> edge = null;
+		Pnt apex = null; // The vertex opposite edge
+		for (int i = 0; i < 3; i++) {
+			Pnt a = vertices[(i + 1) % 3], b = vertices[(i + 2) % 3];
+			int side = orientation(a, b, site);
+			if (side != 0 && side != orientation(a, b, vertices[i])) {
+				return -1;
+			} else if (side == 0 || relation[i] == 0) {
+				if (edge != null || side != 0) {
+					return -1;
+				}
+				edge = triangle.facetOpposite(vertices[i]);
+				apex = vertices[i];
+			}
+		}
+
+		List<Triangle> split = new ArrayList<>(2);
+		split.add(triangle);
+		if (edge != null) {
+			Triangle other = neighborOpposite(apex, triangle);
+			if (other == null || other.isInfinite()) {
+				return -1;
+			}
+			split.add(other);
+		}
+
+		return splitAndFlip(site, split, edge);
+	}
+
+	/**
+	 * Connect site to the vertices of one triangle containing it or of two
+	 * triangles sharing an edge that site lies on, then flip edges opposite
+	 * the site until all triangles are Delaunay again. Constrained edges and
+	 * edges of the boundary are never flipped.
+	 * 
+	 * @param site
+	 *            the new site
+	 * @param split
+	 *            the triangles to split
+	 * @param edge
+	 *            the edge shared by the triangles; null if splitting a single
+	 *            triangle
+	 * @return the number of triangles replaced in total
+	 */
+	private int splitAndFlip(Pnt site, List<Triangle> split,
+			ArraySet<Pnt> edge)
+	{
+		List<Triangle> created = new ArrayList<>(4);
+		for (Triangle t : split) {
+			for (Pnt vertex : t) {
+				ArraySet<Pnt> facet = t.facetOpposite(vertex);
+				if (!facet.equals(edge)) {
+					facet.add(site);
+					created.add(new Triangle(facet));
+				}
+			}
+		}
+		replace(split, created);
+		int replaced = split.size();
+
+		// Flip edges opposite site as long as they are not Delaunay
+		Deque<Triangle> stack = new ArrayDeque<>(created);
+		List<Triangle> flipped = new ArrayList<>(2);
+		List<Triangle> flips = new ArrayList<>(2);
+		while (!stack.isEmpty()) {
+			Triangle t = stack.pop();
+			if (!contains(t)) {
+				continue; // Already flipped away
+			}
+			Triangle neighbor = neighborOpposite(site, t);
+			if (neighbor == null || neighbor.isInfinite()) {
+				continue; // Edges of the boundary are never flipped
+			}
+			ArraySet<Pnt> facet = t.facetOpposite(site);
+			if (constraints.contains(facet)) {
+				continue; // Constrained edges are never flipped
+			}
+			Pnt a = facet.get(0), b = facet.get(1);
+			Pnt opposite = neighbor.getVertexButNot(a, b);
+			if (monitor != null) {
+				circumcircleTests++;
+			}
+			if (t.vsCircumcircle(opposite) != -1) {
+				continue;
+			}
+			// Only flip if the quadrilateral is convex, which might not be the
+			// case for nearly degenerate triangles due to rounding
+			int convex = orientation(site, a, b);
+			if (orientation(site, a, opposite) != convex
+					|| orientation(site, opposite, b) != convex) {
+				continue;
+			}
+			flipped.clear();
+			flipped.add(t);
+			flipped.add(neighbor);
+			flips.clear();
+			flips.add(new Triangle(site, a, opposite));
+			flips.add(new Triangle(site, opposite, b));
+			replace(flipped, flips);
+			replaced++;
+			stack.push(flips.get(0));
+			stack.push(flips.get(1));
+		}
+		mostRecent = incidentTriangle(site);
+		return replaced;
+	}
+
+	/**
+	 * Insert a segment between two sites as a constrained edge. The triangles
+	 * crossed by the segment are removed and the two polygons on either side
+	 * of the segment are retriangulated. Sites lying on the segment split it
+	 * into several constrained edges. Afterwards, the triangulation is a
+	 * constrained Delaunay triangulation: constrained edges are never removed
+	 * by inserting sites, a site inserted on a constrained edge splits it.
+	 * 
+	 * @param a
+	 *            the first end point, a site of this triangulation.
+	 * @param b
+	 *            the second end point, a site of this triangulation.
+	 * @throws IllegalArgumentException
+	 *             if one of the end points is not a site or if the segment
+	 *             properly intersects a constrained edge.
+	 */
+	public void insertSegment(Pnt a, Pnt b)
+	{
+		if (!isSite(a) || !isSite(b)) {
+			throw new IllegalArgumentException("End point is not a site");
+		}
+		while (!a.equals(b)) {
+			a = insertSegmentPart(a, b);
+		}
+		modifications++;
+	}
+
+	/**
+	 * Insert a site on a constrained edge and replace the edge with two
+	 * constrained edges from its end points to the new site. In contrast to
+	 * {@link #delaunayPlace(Pnt, Object)}, the site does not have to lie
+	 * exactly on the edge, which allows splitting edges at computed points
+	 * that are subject to rounding: the triangles sharing the edge are split
+	 * at the site and the Delaunay property is restored by flipping edges.
+	 * 
+	 * @param a
+	 *            the first end point of the constrained edge.
+	 * @param b
+	 *            the second end point of the constrained edge.
+	 * @param site
+	 *            the new site, on or very close to the edge.
+	 * @param data
+	 *            the data to associate with the new site.
+	 * @throws IllegalArgumentException
+	 *             if the edge is not constrained or the site already exists.
+	 */
+	public void splitSegment(Pnt a, Pnt b, Pnt site, T data)
+	{
+		ArraySet<Pnt> edge = edge(a, b);
+		if (!constraints.contains(edge)) {
+			throw new IllegalArgumentException("Edge is not constrained");
+		}
+		if (pointToData.containsKey(site)) {
+			throw new IllegalArgumentException("Site exists already");
+		}
+		List<Triangle> split = new ArrayList<>(2);
+		for (Triangle triangle : surroundingTriangles(a, incidentTriangle(a))) {
+			if (triangle.contains(b)) {
+				split.add(triangle);
+			}
+		}
+		constraints.remove(edge);
+		splitAndFlip(site, split, edge);
+		constraints.add(edge(a, site));
+		constraints.add(edge(site, b));
+		addSite(site, data);
+		modifications++;
+	}
+
+	/**
+	 * Constrain the edge from a towards b up to the first site on the
+	 * segment, retriangulating the triangles crossed by it.
+	 * 
+	 * @return the site on the segment that has been reached.
+	 */
+	private Pnt insertSegmentPart(Pnt a, Pnt b)
+	{
+		// Find the triangle around a that the segment leaves a through
+		Triangle start = null;
+		Pnt left = null, right = null;
+		for (Triangle t : surroundingTriangles(a, incidentTriangle(a))) {
+			if (t.isInfinite()) {
+				continue;
+			}
+			if (t.contains(b)) {
+				constraints.add(edge(a, b));
+				return b;
+			}
+			Pnt p = t.getVertexButNot(a), q = t.getVertexButNot(a, p);
+			if (orientation(a, p, q) < 0) {
+				Pnt tmp = p;
+				p = q;
+				q = tmp;
+			}
+			int op = orientation(a, p, b), oq = orientation(a, q, b);
+			if (op == 0 && isAhead(a, p, b)) {
+				constraints.add(edge(a, p));
+				return p;
+			}
+			if (oq == 0 && isAhead(a, q, b)) {
+				constraints.add(edge(a, q));
+				return q;
+			}
+			if (op > 0 && oq < 0) {
+				start = t;
+				right = p;
+				left = q;
+			}
+		}
+		if (start == null) {
+			throw new IllegalStateException("No triangle crossed by segment");
+		}
+
+		// Walk along the segment, collecting the crossed triangles and the
+		// vertices to its left and right
+		List<Triangle> crossed = new ArrayList<>();
+		List<Pnt> leftChain = new ArrayList<>();
+		List<Pnt> rightChain = new ArrayList<>();
+		leftChain.add(a);
+		leftChain.add(left);
+		rightChain.add(a);
+		rightChain.add(right);
+		Triangle triangle = start;
+		crossed.add(triangle);
+		Pnt end;
+		while (true) {
+
+			if (constraints.contains(edge(left, right))) {
+				throw new IllegalArgumentException(
+						"Segment intersects a constrained edge");
+			}
+			Pnt apex = triangle.getVertexButNot(left, right);
+			triangle = neighborOpposite(apex, triangle);
+			crossed.add(triangle);
+			Pnt vertex = triangle.getVertexButNot(left, right);
+			int side = orientation(a, b, vertex);
+			if (vertex.equals(b) || side == 0) {
+				end = vertex;
+				break;
+			} else if (side > 0) {
+				leftChain.add(vertex);
+				left = vertex;
+			} else {
+				rightChain.add(vertex);
+				right = vertex;
+			}
+		}
+		leftChain.add(end);
+		rightChain.add(end);
+
+		List<Triangle> created = new ArrayList<>();
+		fillPseudoPolygon(leftChain, 0, leftChain.size() - 1, created);
+		fillPseudoPolygon(rightChain, 0, rightChain.size() - 1, created);
+		replace(crossed, created);
+		constraints.add(edge(a, end));
+		mostRecent = created.get(0);
+		return end;
+	}
+
+	/**
+	 * Triangulate the polygon formed by the chain of vertices from index i to
+	 * index j and the edge between them, in a constrained Delaunay fashion:
+	 * the edge forms a triangle with the vertex whose circumcircle contains no
+	 * other vertex of the chain, the remaining parts are filled recursively.
+	 */
+	private static void fillPseudoPolygon(List<Pnt> chain, int i, int j,
+			List<Triangle> created)
+	{
+		if (j - i < 2) {
+			return;
+		}
+		Pnt u = chain.get(i), w = chain.get(j);
+		int c = i + 1;
+		for (int k = i + 2; k < j; k++) {
+			if (inCircle(u, chain.get(c), w, chain.get(k))) {
+				c = k;
+			}
+		}
+		created.add(new Triangle(u, chain.get(c), w));
+		fillPseudoPolygon(chain, i, c, created);
+		fillPseudoPolygon(chain, c, j, created);
+	}
+
+	/**
+	 * @return whether d lies strictly inside the circle through a, b and c.
+	 */
+	private static boolean inCircle(Pnt a, Pnt b, Pnt c, Pnt d)
+	{
+		double dx = d.coord(0), dy = d.coord(1);
+		double adx = a.coord(0) - dx, ady = a.coord(1) - dy;
+		double bdx = b.coord(0) - dx, bdy = b.coord(1) - dy;
+		double cdx = c.coord(0) - dx, cdy = c.coord(1) - dy;
+		double det = (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy)
+				+ (bdx * bdx + bdy * bdy) * (cdx * ady - adx * cdy)
+				+ (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+		return det * orientation(a, b, c) > 0;
+	}
+
+	/**
+	 * @return whether p lies in the direction of b as seen from a.
+	 */
+	private static boolean isAhead(Pnt a, Pnt p, Pnt b)
+	{
+		return (p.coord(0) - a.coord(0)) * (b.coord(0) - a.coord(0))
+				+ (p.coord(1) - a.coord(1)) * (b.coord(1) - a.coord(1)) > 0;
+	}
+
+	/**
+	 * Find a constrained edge of triangle that site lies on.
+	 */
+	private ArraySet<Pnt> constrainedEdgeThrough(Pnt site, Triangle triangle)
+	{
+		for (Pnt vertex : triangle) {
+			ArraySet<Pnt> facet = triangle.facetOpposite(vertex);
+			if (facet.contains(InfinitePnt.INSTANCE)
+					|| !constraints.contains(facet)) {
+				continue;
+			}
+			if (orientation(facet.get(0), facet.get(1), site) == 0) {
+				return facet;
+			}
+		}
+		return null;
+	}
+
+	private static ArraySet<Pnt> edge(Pnt a, Pnt b)
+	{
+		ArraySet<Pnt> edge = new ArraySet<>(2);
+		edge.add(a);
+		edge.add(b);
+		return edge;
+	}
+
+	private static ArraySet<Pnt> sharedEdge(Triangle t1, Triangle t2)
+	{
+		ArraySet<Pnt> edge = new ArraySet<>(2);
+		for (Pnt vertex : t1) {
+			if (t2.contains(vertex)) {
+				edge.add(vertex);
+			}
+		}
+		return edge;
+	}
+
+	/**
+	 * Check whether the edge between two vertices has been inserted as a
+	 * constrained edge.
+	 * 
+	 * @param a
+	 *            the first vertex.
+	 * @param b
+	 *            the second vertex.
+	 * @return whether the edge is constrained.
+	 */
+	public boolean isConstrained(Pnt a, Pnt b)
+	{
+		return constraints.contains(edge(a, b));
+	}
+
+	/**
+	 * @return the constrained edges, each as a set of its two end points.
+	 */
+	public Set<? extends Set<Pnt>> getConstraints()
+	{
+		return Collections.unmodifiableSet(constraints);
+	}
+
+	/**
+	 * Replace some adjacent triangles with new triangles covering the same
+	 * area, and link the new triangles with their neighbors.
+	 */
+	private void replace(List<Triangle> removed, List<Triangle> added)
+	{
+		Set<Triangle> adjacent = new HashSet<>();
+		for (Triangle triangle : removed) {
+			adjacent.addAll(neighbors(triangle));
+		}
+		adjacent.removeAll(removed);
+		for (Triangle triangle : removed) {
+			removeTriangle(triangle);
+		}
+
+		// Match facets of the new triangles with each other and with the
+		// facets of the adjacent triangles
+		Map<Set<Pnt>, Triangle> facets = new HashMap<>();
+		for (Triangle triangle : adjacent) {
+			for (Pnt vertex : triangle) {
+				facets.put(triangle.facetOpposite(vertex), triangle);
+			}
+		}
+		for (Triangle triangle : added) {
+			addTriangle(triangle);
+		}
+		for (Triangle triangle : added) {
+			for (Pnt vertex : triangle) {
+				Set<Pnt> facet = triangle.facetOpposite(vertex);
+				Triangle other = facets.remove(facet);
+				if (other != null) {
 					triGraph.addEdge(triangle, other);
+				} else {
+					facets.put(facet, triangle);
 				}
 			}
 		}
+	}
 
-		// Return one of the new triangles
-		return newTriangles.iterator().next();
+	// Relative error bound of the floating point orientation determinant
+	private static final double ORIENTATION_ERROR = 3.3306690738754716e-16;
+
+	/**
+	 * Determine the orientation exactly: the floating point determinant is
+	 * used if it is far enough from zero for its sign to be reliable, exact
+	 * arithmetic otherwise. Consistent signs matter for nearly collinear
+	 * sites on the convex hull, whose triangles at infinity would otherwise
+	 * be classified inconsistently.
+	 * 
+	 * @return the sign of the orientation of the triangle a, b, c: positive
+	 *         if counterclockwise, negative if clockwise, zero if collinear.
+	 */
+	static int orientation(Pnt a, Pnt b, Pnt c)
+	{
+		return orientation(a.coord(0), a.coord(1), b.coord(0), b.coord(1),
+				c.coord(0), c.coord(1));
+	}
+
+	/**
+	 * Test whether a point lies inside of a triangle or on its boundary. The
+	 * test is exact, so that points are located consistently even where
+	 * rounding errors exceed the tolerance of {@link Pnt#relation(Pnt[])},
+	 * e.g. with large coordinates. Degenerate triangles contain no point.
+	 */
+	static boolean contains(Triangle triangle, Pnt point)
+	{
+		Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+		int orientation = orientation(a, b, c);
+		return orientation != 0
+				&& orientation(a, b, point) != -orientation
+				&& orientation(b, c, point) != -orientation
+				&& orientation(c, a, point) != -orientation;
+	}
+
+	/**
+	 * Determine the orientation of the triangle (ax, ay), (bx, by), (cx, cy)
+	 * exactly, see {@link #orientation(Pnt, Pnt, Pnt)}.
+	 */
+	static int orientation(double ax, double ay, double bx, double by,
+			double cx, double cy)
+	{
+		double left = (bx - ax) * (cy - ay);
+		double right = (by - ay) * (cx - ax);
+		double det = left - right;
+		double bound = ORIENTATION_ERROR * (Math.abs(left) + Math.abs(right));
+		if (det > bound) {
+			return 1;
+		} else if (-det > bound) {
+			return -1;
+		} else if (!Double.isFinite(det)) {
+			return 0;
+		}
+		BigDecimal bax = new BigDecimal(ax), bay = new BigDecimal(ay);
+		BigDecimal exact = new BigDecimal(bx).subtract(bax)
+				.multiply(new BigDecimal(cy).subtract(bay))
+				.subtract(new BigDecimal(by).subtract(bay)
+						.multiply(new BigDecimal(cx).subtract(bax)));
+		return exact.signum();
+	}
+
+	/**
+	 * Relative error bound of the floating point incircle determinant, see
+	 * Shewchuk's "Adaptive Precision Floating-Point Arithmetic and Fast
+	 * Robust Geometric Predicates".
+	 */
+	private static final double INCIRCLE_ERROR = 1.1102230246251577e-15;
+
+	/**
+	 * Determine exactly whether d lies inside of the circle through a, b and
+	 * c, in the same manner as {@link #orientation(Pnt, Pnt, Pnt)}. The
+	 * determinant is evaluated relative to d, so that its floating point
+	 * value is reliable in most cases even for large coordinates.
+	 * 
+	 * @return positive if d lies inside of the circle and a, b, c are
+	 *         oriented counterclockwise or d lies outside and they are
+	 *         oriented clockwise, negative in the opposite cases, zero if d
+	 *         is on the circle.
+	 */
+	static int incircle(Pnt a, Pnt b, Pnt c, Pnt d)
+	{
+		double dx = d.coord(0), dy = d.coord(1);
+		double adx = a.coord(0) - dx, ady = a.coord(1) - dy;
+		double bdx = b.coord(0) - dx, bdy = b.coord(1) - dy;
+		double cdx = c.coord(0) - dx, cdy = c.coord(1) - dy;
+		double alift = adx * adx + ady * ady;
+		double blift = bdx * bdx + bdy * bdy;
+		double clift = cdx * cdx + cdy * cdy;
+		double bc = bdx * cdy - cdx * bdy;
+		double ca = cdx * ady - adx * cdy;
+		double ab = adx * bdy - bdx * ady;
+		double det = alift * bc + blift * ca + clift * ab;
+		double permanent = (Math.abs(bdx * cdy) + Math.abs(cdx * bdy)) * alift
+				+ (Math.abs(cdx * ady) + Math.abs(adx * cdy)) * blift
+				+ (Math.abs(adx * bdy) + Math.abs(bdx * ady)) * clift;
+		double bound = INCIRCLE_ERROR * permanent;
+		if (det > bound) {
+			return 1;
+		} else if (-det > bound) {
+			return -1;
+		} else if (!Double.isFinite(det)) {
+			return 0;
+		}
+		BigDecimal ex = new BigDecimal(dx), ey = new BigDecimal(dy);
+		BigDecimal[] x = new BigDecimal[3], y = new BigDecimal[3];
+		Pnt[] vertices = { a, b, c };
+		for (int i = 0; i < 3; i++) {
+			x[i] = new BigDecimal(vertices[i].coord(0)).subtract(ex);
+			y[i] = new BigDecimal(vertices[i].coord(1)).subtract(ey);
+		}
+		BigDecimal exact = BigDecimal.ZERO;
+		for (int i = 0; i < 3; i++) {
+			int j = (i + 1) % 3, k = (i + 2) % 3;
+			BigDecimal lift = x[i].multiply(x[i]).add(y[i].multiply(y[i]));
+			BigDecimal cross = x[j].multiply(y[k]).subtract(
+					x[k].multiply(y[j]));
+			exact = exact.add(lift.multiply(cross));
+		}
+		return exact.signum();
+	}
+
+	/**
+	 * Record a site that has become part of the triangulation.
+	 */
+	private void addSite(Pnt site, T data)
+	{
+		pointToData.put(site, data);
+		sites.add(site);
+	}
+
+	/**
+	 * Add a triangle to the graph and the lookup structures. Links to
+	 * neighbors have to be created separately.
+	 * 
+	 * @param triangle
+	 *            the triangle to add
+	 */
+	private void addTriangle(Triangle triangle)
+	{
+		triGraph.addNode(triangle);
+		if (triangle.isInfinite()) {
+			infiniteTriangles++;
+		} else {
+			triangles.put(triangle.hashCode(), triangle);
+			spidx.add(DelaunayUtil.triangleBox(triangle), triangle);
+			if (listeners != null) {
+				for (TriangulationListener listener : listeners) {
+					listener.triangleAdded(triangle);
+				}
+			}
+		}
+		for (Pnt vertex : triangle) {
+			pointToTriangle.put(vertex, triangle);
+		}
+	}
+
+	/**
+	 * Remove a triangle from the graph and the lookup structures. The caller
+	 * has to make sure that each vertex of the triangle gets assigned a new
+	 * incident triangle by adding triangles afterwards.
+	 * 
+	 * @param triangle
+	 *            the triangle to remove
+	 */
+	private void removeTriangle(Triangle triangle)
+	{
+		triGraph.removeNode(triangle);
+		if (triangle.isInfinite()) {
+			infiniteTriangles--;
+		} else {
+			triangles.remove(triangle.hashCode());
+			spidx.delete(DelaunayUtil.triangleBox(triangle), triangle);
+			if (listeners != null) {
+				for (TriangulationListener listener : listeners) {
+					listener.triangleRemoved(triangle);
+				}
+			}
+		}
+	}
+
+	/**
+	 * True iff point has been inserted as a site. This is not the case for the
+	 * vertices of the initial triangle.
+	 * 
+	 * @param point
+	 *            the point to check
+	 * @return whether point is a site of this triangulation
+	 */
+	public boolean isSite(Pnt point)
+	{
+		return pointToData.containsKey(point);
+	}
+
+	/**
+	 * Find a triangle that has the specified site as a vertex. This is a
+	 * constant time lookup and yields a suitable starting triangle for
+	 * {@link #surroundingTriangles(Pnt, Triangle)}.
+	 * 
+	 * @param site
+	 *            a vertex of this triangulation
+	 * @return a triangle incident to site; null if site is not a vertex
+	 */
+	public Triangle incidentTriangle(Pnt site)
+	{
+		return pointToTriangle.get(site);
+	}
+
+	/**
+	 * Install a monitor that gets notified about point locations and
+	 * insertions. Pass null to disable monitoring.
+	 * 
+	 * @param monitor
+	 *            the monitor to install or null.
+	 */
+	public void setMonitor(TriangulationMonitor monitor)
+	{
+		this.monitor = monitor;
+	}
+
+	/**
+	 * @return the installed monitor; null if none is installed.
+	 */
+	public TriangulationMonitor getMonitor()
+	{
+		return monitor;
+	}
+
+	/**
+	 * Add a listener that gets notified about triangles being added and
+	 * removed. Listeners are notified in the order they have been added.
+	 * 
+	 * @param listener
+	 *            the listener to add.
+	 */
+	public void addListener(TriangulationListener listener)
+	{
+		if (listeners == null) {
+			listeners = new TriangulationListener[] { listener };
+		} else {
+			listeners = Arrays.copyOf(listeners, listeners.length + 1);
+			listeners[listeners.length - 1] = listener;
+		}
+	}
+
+	/**
+	 * Remove a listener that has been added before.
+	 * 
+	 * @param listener
+	 *            the listener to remove.
+	 * @return whether the listener has been found.
+	 */
+	public boolean removeListener(TriangulationListener listener)
+	{
+		if (listeners == null) {
+			return false;
+		}
+		int n = listeners.length;
+		for (int i = 0; i < n; i++) {
+			if (listeners[i] != listener) {
+				continue;
+			}
+			if (n == 1) {
+				listeners = null;
+				return true;
+			}
+			TriangulationListener[] remaining = Arrays.copyOf(listeners, n - 1);
+			System.arraycopy(listeners, i + 1, remaining, i, n - i - 1);
+			listeners = remaining;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Select how the Delaunay property is restored when inserting sites. The
+	 * default is {@link InsertionStrategy#BOWYER_WATSON}.
+	 * 
+	 * @param insertionStrategy
+	 *            the strategy to use for subsequent insertions.
+	 */
+	public void setInsertionStrategy(InsertionStrategy insertionStrategy)
+	{
+		this.insertionStrategy = insertionStrategy;
+	}
+
+	/**
+	 * @return the strategy used for inserting sites.
+	 */
+	public InsertionStrategy getInsertionStrategy()
+	{
+		return insertionStrategy;
+	}
+
+	/**
+	 * @return a counter that is incremented with every modification of the
+	 *         triangulation.
+	 */
+	int getModificationCount()
+	{
+		return modifications;
+	}
+
+	/**
+	 * @param i
+	 *            the position of a site in the order sites have become part
+	 *            of the triangulation.
+	 * @return the site.
+	 */
+	Pnt getSite(int i)
+	{
+		return sites.get(i);
 	}
 
 	/**
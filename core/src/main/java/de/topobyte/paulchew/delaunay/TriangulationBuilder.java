@@ -0,0 +1,266 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import com.slimjars.dist.gnu.trove.list.TDoubleList;
+import com.slimjars.dist.gnu.trove.list.array.TDoubleArrayList;
+
+/**
+ * Builds a triangulation from a batch of points. Since all points are known
+ * in advance, a suitable initial triangle is chosen automatically and the
+ * points can be inserted in an order that differs from the order they have
+ * been added in.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class TriangulationBuilder<T>
+{
+
+	/**
+	 * The order in which points are inserted into the triangulation.
+	 */
+	public enum Order
+	{
+		/**
+		 * The order in which points have been added to the builder.
+		 */
+		INPUT,
+		/**
+		 * A random permutation.
+		 */
+		RANDOM,
+		/**
+		 * The order of a Hilbert curve covering the points.
+		 */
+		HILBERT
+	}
+
+	private Order order = Order.RANDOM;
+	private long seed = 0;
+	private TriangulationMonitor monitor = null;
+	private Triangulation.InsertionStrategy insertionStrategy =
+			Triangulation.InsertionStrategy.BOWYER_WATSON;
+
+	private TDoubleList xs = new TDoubleArrayList();
+	private TDoubleList ys = new TDoubleArrayList();
+	private List<T> things = new ArrayList<>();
+
+	/**
+	 * @param order
+	 *            the order to insert points in.
+	 * @return this builder.
+	 */
+	public TriangulationBuilder<T> setOrder(Order order)
+	{
+		this.order = order;
+		return this;
+	}
+
+	/**
+	 * @param seed
+	 *            the seed for the random permutation used by
+	 *            {@link Order#RANDOM}.
+	 * @return this builder.
+	 */
+	public TriangulationBuilder<T> setSeed(long seed)
+	{
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @param monitor
+	 *            a monitor to install on the triangulation before inserting
+	 *            points, may be null.
+	 * @return this builder.
+	 */
+	public TriangulationBuilder<T> setMonitor(TriangulationMonitor monitor)
+	{
+		this.monitor = monitor;
+		return this;
+	}
+
+	/**
+	 * @param insertionStrategy
+	 *            the strategy the triangulation uses for inserting points.
+	 * @return this builder.
+	 */
+	public TriangulationBuilder<T> setInsertionStrategy(
+			Triangulation.InsertionStrategy insertionStrategy)
+	{
+		this.insertionStrategy = insertionStrategy;
+		return this;
+	}
+
+	/**
+	 * Add a point at position <code>x, y</code> and associate
+	 * <code>thing</code> with it.
+	 * 
+	 * @param x
+	 *            the x coordinate.
+	 * @param y
+	 *            the y coordinate.
+	 * @param thing
+	 *            the object to associate.
+	 */
+	public void add(double x, double y, T thing)
+	{
+		xs.add(x);
+		ys.add(y);
+		things.add(thing);
+	}
+
+	/**
+	 * Add a batch of points and associate each with the object returned by
+	 * <code>data</code> for its index, i.e. its position in the sequence of all
+	 * points added to this builder.
+	 * 
+	 * @param xs
+	 *            the x coordinates.
+	 * @param ys
+	 *            the y coordinates.
+	 * @param n
+	 *            the number of points to add.
+	 * @param data
+	 *            a function providing the object to associate with each point.
+	 */
+	public void addAll(double[] xs, double[] ys, int n, IntFunction<T> data)
+	{
+		int offset = things.size();
+		this.xs.add(xs, 0, n);
+		this.ys.add(ys, 0, n);
+		for (int i = 0; i < n; i++) {
+			things.add(data.apply(offset + i));
+		}
+	}
+
+	/**
+	 * Create a sink that adds all points it receives to this builder. This
+	 * allows feeding the output of a point reader directly into the builder.
+	 * Insertion does not overlap with reading, since the initial triangle
+	 * and the random or Hilbert order depend on all points; the
+	 * triangulation is created by {@link #build()} once reading is done.
+	 * 
+	 * @param data
+	 *            a function providing the object to associate with each point,
+	 *            given its index.
+	 * @return a sink that adds points to this builder.
+	 */
+	public PointSink sink(final IntFunction<T> data)
+	{
+		return (x, y, n) -> addAll(x, y, n, data);
+	}
+
+	/**
+	 * @return the number of points added so far.
+	 */
+	public int size()
+	{
+		return things.size();
+	}
+
+	/**
+	 * Create a triangulation of all points added so far.
+	 * 
+	 * @return the new triangulation.
+	 */
+	public Triangulation<T> build()
+	{
+		int n = things.size();
+		double[] x = xs.toArray();
+		double[] y = ys.toArray();
+
+		Triangulation<T> t = new Triangulation<>(boundingTriangle(x, y, n));
+		t.setMonitor(monitor);
+		t.setInsertionStrategy(insertionStrategy);
+		int[] permutation = permutation(x, y, n);
+		for (int i = 0; i < n; i++) {
+			int k = permutation[i];
+			t.delaunayPlace(new Pnt(x[k], y[k]), things.get(k));
+		}
+		return t;
+	}
+
+	private int[] permutation(double[] x, double[] y, int n)
+	{
+		switch (order) {
+		default:
+		case INPUT: {
+			int[] permutation = new int[n];
+			for (int i = 0; i < n; i++) {
+				permutation[i] = i;
+			}
+			return permutation;
+		}
+		case RANDOM: {
+			int[] permutation = new int[n];
+			Random random = new Random(seed);
+			for (int i = 0; i < n; i++) {
+				int j = random.nextInt(i + 1);
+				permutation[i] = permutation[j];
+				permutation[j] = i;
+			}
+			return permutation;
+		}
+		case HILBERT:
+			return HilbertCurve.of(x, y, n).sort(x, y, n);
+		}
+	}
+
+	/**
+	 * Create a triangle that contains the bounding box of the specified points
+	 * well within its interior.
+	 * 
+	 * @param xs
+	 *            the x coordinates of the points.
+	 * @param ys
+	 *            the y coordinates of the points.
+	 * @param n
+	 *            the number of points.
+	 * @return a triangle suitable as the initial triangle of a triangulation
+	 *         of the points.
+	 */
+	public static Triangle boundingTriangle(double[] xs, double[] ys, int n)
+	{
+		double minX = 0, minY = 0, maxX = 0, maxY = 0;
+		if (n > 0) {
+			minX = maxX = xs[0];
+			minY = maxY = ys[0];
+		}
+		for (int i = 1; i < n; i++) {
+			minX = Math.min(minX, xs[i]);
+			maxX = Math.max(maxX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		double cx = (minX + maxX) / 2;
+		double cy = (minY + maxY) / 2;
+		double d = 10 * Math.max(1, Math.max(maxX - minX, maxY - minY));
+		return new Triangle(new Pnt(cx - d, cy - d), new Pnt(cx + d, cy - d),
+				new Pnt(cx, cy + d));
+	}
+
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * A callback interface for tracking the triangles of a {@link Triangulation}
+ * as they are created and destroyed. Listeners are added using
+ * {@link Triangulation#addListener(TriangulationListener)}.
+ * 
+ * Each insertion replaces a set of triangles with a set of new ones. With
+ * {@link Triangulation.InsertionStrategy#LAWSON}, a triangle may be added and
+ * removed again during the same insertion. Triangles at infinity are not
+ * reported. Methods are invoked synchronously on the thread modifying the
+ * triangulation, before the new triangles are linked to their neighbors, so
+ * implementations should only record the triangles and must not query the
+ * triangulation.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface TriangulationListener
+{
+
+	/**
+	 * Called when a triangle has been added to the triangulation.
+	 * 
+	 * @param triangle
+	 *            the new triangle.
+	 */
+	public void triangleAdded(Triangle triangle);
+
+	/**
+	 * Called when a triangle has been removed from the triangulation.
+	 * 
+	 * @param triangle
+	 *            the removed triangle.
+	 */
+	public void triangleRemoved(Triangle triangle);
+
+}
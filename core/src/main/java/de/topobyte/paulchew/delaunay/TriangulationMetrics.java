@@ -0,0 +1,197 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@link TriangulationMonitor} that aggregates counters, timers and
+ * histograms. An instance may be shared by several triangulations and can be
+ * exposed via JMX using {@link #register(String)}.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class TriangulationMetrics implements TriangulationMonitor,
+		TriangulationMetricsMXBean
+{
+
+	private final LongAdder insertions = new LongAdder();
+	private final LongAdder locates = new LongAdder();
+	private final LongAdder ambiguousLocates = new LongAdder();
+	private final LongAdder failedLocates = new LongAdder();
+	private final LongAdder containmentTests = new LongAdder();
+	private final LongAdder circumcircleTests = new LongAdder();
+
+	private final LongAdder locateNanos = new LongAdder();
+	private final LongAdder cavityNanos = new LongAdder();
+	private final LongAdder updateNanos = new LongAdder();
+
+	private final Histogram locateCandidates = new Histogram();
+	private final Histogram locateTimes = new Histogram();
+	private final Histogram cavitySizes = new Histogram();
+	private final Histogram insertNanos = new Histogram();
+
+	@Override
+	public void located(Pnt point, int candidates, int containing, long nanos)
+	{
+		locates.increment();
+		containmentTests.add(candidates);
+		locateCandidates.record(candidates);
+		locateTimes.record(nanos);
+		if (containing > 1) {
+			ambiguousLocates.increment();
+		} else if (containing == 0) {
+			failedLocates.increment();
+		}
+	}
+
+	@Override
+	public void inserted(Pnt site, int cavitySize, int circumcircleTests,
+			long locateNanos, long cavityNanos, long updateNanos)
+	{
+		insertions.increment();
+		this.circumcircleTests.add(circumcircleTests);
+		this.locateNanos.add(locateNanos);
+		this.cavityNanos.add(cavityNanos);
+		this.updateNanos.add(updateNanos);
+		cavitySizes.record(cavitySize);
+		insertNanos.record(locateNanos + cavityNanos + updateNanos);
+	}
+
+	/**
+	 * Register this instance with the platform MBean server.
+	 * 
+	 * @param name
+	 *            a name that distinguishes this instance from others.
+	 * @return the name this instance has been registered with.
+	 * @throws JMException
+	 *             if registration fails, e.g. because the name is already in
+	 *             use.
+	 */
+	public ObjectName register(String name) throws JMException
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(
+				"de.topobyte.paulchew.delaunay:type=TriangulationMetrics,name="
+						+ ObjectName.quote(name));
+		server.registerMBean(this, objectName);
+		return objectName;
+	}
+
+	@Override
+	public long getInsertions()
+	{
+		return insertions.sum();
+	}
+
+	@Override
+	public long getLocates()
+	{
+		return locates.sum();
+	}
+
+	@Override
+	public long getAmbiguousLocates()
+	{
+		return ambiguousLocates.sum();
+	}
+
+	@Override
+	public long getFailedLocates()
+	{
+		return failedLocates.sum();
+	}
+
+	@Override
+	public long getContainmentTests()
+	{
+		return containmentTests.sum();
+	}
+
+	@Override
+	public long getCircumcircleTests()
+	{
+		return circumcircleTests.sum();
+	}
+
+	@Override
+	public long getLocateNanos()
+	{
+		return locateNanos.sum();
+	}
+
+	@Override
+	public long getCavityNanos()
+	{
+		return cavityNanos.sum();
+	}
+
+	@Override
+	public long getUpdateNanos()
+	{
+		return updateNanos.sum();
+	}
+
+	@Override
+	public long[] getLocateCandidatesHistogram()
+	{
+		return locateCandidates.getCounts();
+	}
+
+	@Override
+	public long[] getLocateNanosHistogram()
+	{
+		return locateTimes.getCounts();
+	}
+
+	@Override
+	public long[] getCavitySizeHistogram()
+	{
+		return cavitySizes.getCounts();
+	}
+
+	@Override
+	public long[] getInsertNanosHistogram()
+	{
+		return insertNanos.getCounts();
+	}
+
+	@Override
+	public void reset()
+	{
+		insertions.reset();
+		locates.reset();
+		ambiguousLocates.reset();
+		failedLocates.reset();
+		containmentTests.reset();
+		circumcircleTests.reset();
+		locateNanos.reset();
+		cavityNanos.reset();
+		updateNanos.reset();
+		locateCandidates.reset();
+		locateTimes.reset();
+		cavitySizes.reset();
+		insertNanos.reset();
+	}
+
+}
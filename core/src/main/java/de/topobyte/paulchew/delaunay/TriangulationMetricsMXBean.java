@@ -0,0 +1,60 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * The management interface of {@link TriangulationMetrics}.
+ * 
+ * Histograms are reported as arrays of counts with exponentially growing
+ * buckets: element 0 counts the value 0 and element k counts the values in
+ * the range [2^(k-1), 2^k).
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface TriangulationMetricsMXBean
+{
+
+	public long getInsertions();
+
+	public long getLocates();
+
+	public long getAmbiguousLocates();
+
+	public long getFailedLocates();
+
+	public long getContainmentTests();
+
+	public long getCircumcircleTests();
+
+	public long getLocateNanos();
+
+	public long getCavityNanos();
+
+	public long getUpdateNanos();
+
+	public long[] getLocateCandidatesHistogram();
+
+	public long[] getLocateNanosHistogram();
+
+	public long[] getCavitySizeHistogram();
+
+	public long[] getInsertNanosHistogram();
+
+	public void reset();
+
+}
@@ -0,0 +1,72 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * A callback interface for observing the work done by a
+ * {@link Triangulation}. A monitor can be installed using
+ * {@link Triangulation#setMonitor(TriangulationMonitor)}. As long as no
+ * monitor is installed, no timing information is gathered at all.
+ * 
+ * Methods are invoked synchronously on the thread modifying the
+ * triangulation, so implementations should return quickly.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface TriangulationMonitor
+{
+
+	/**
+	 * Called after each point location.
+	 * 
+	 * @param point
+	 *            the point that has been located.
+	 * @param candidates
+	 *            the number of triangles whose bounding box contains the point.
+	 *            Each of them has been tested for containment.
+	 * @param containing
+	 *            the number of triangles that contain the point. Values larger
+	 *            than one occur for points on edges or vertices, zero for
+	 *            points outside of the initial triangle.
+	 * @param nanos
+	 *            the time spent in nanoseconds.
+	 */
+	public void located(Pnt point, int candidates, int containing, long nanos);
+
+	/**
+	 * Called after a new site has been inserted.
+	 * 
+	 * @param site
+	 *            the new site.
+	 * @param cavitySize
+	 *            the number of triangles that have been replaced.
+	 * @param circumcircleTests
+	 *            the number of circumcircle tests evaluated during insertion,
+	 *            including those for disambiguating the point location.
+	 * @param locateNanos
+	 *            the time spent locating the site in nanoseconds.
+	 * @param cavityNanos
+	 *            the time spent determining the cavity in nanoseconds.
+	 * @param updateNanos
+	 *            the time spent replacing the cavity triangles and linking the
+	 *            new triangles to their neighbors in nanoseconds.
+	 */
+	public void inserted(Pnt site, int cavitySize, int circumcircleTests,
+			long locateNanos, long cavityNanos, long updateNanos);
+
+}
@@ -0,0 +1,212 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * A lazy view of the Voronoi cells of a triangulation as a mapping from site
+ * data objects to cell polygons. In contrast to
+ * {@link VoronoiUtil#getVoronoiCells(Triangulation)}, cells are only built
+ * when they are requested, which takes time proportional to the degree of the
+ * site. Built cells are kept in a size-bounded LRU cache. For a triangulation
+ * with a vertex at infinity, the unbounded cells of the sites on the convex
+ * hull map to null.
+ * 
+ * The view reflects the current state of the triangulation. Inserting sites
+ * into the triangulation invalidates the cache, so this class is intended for
+ * read-mostly access. The view itself is unmodifiable. Reading the view from
+ * several threads is safe as long as the triangulation is not modified at
+ * the same time.
+ * 
+ * If several sites are associated with equal objects (including null), the
+ * key maps to the cell of the site that has become part of the triangulation
+ * first.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with points.
+ */
+public class VoronoiCellMap<T> extends AbstractMap<T, Geometry>
+{
+
+	private final Triangulation<T> t;
+	private final GeometryFactory factory = new GeometryFactory();
+	private final LruCache<T, Geometry> cache;
+
+	private final Map<T, Pnt> sites = new HashMap<>();
+	private int synced = 0; // Number of sites of t added to sites
+	private int modifications = -1; // State of t that sites is valid for
+
+	/**
+	 * Create a view on the Voronoi cells of a triangulation.
+	 * 
+	 * @param t
+	 *            the Delaunay Triangulation
+	 * @param cacheSize
+	 *            the maximum number of cell polygons to keep.
+	 */
+	public VoronoiCellMap(Triangulation<T> t, int cacheSize)
+	{
+		this.t = t;
+		cache = new LruCache<>(cacheSize);
+	}
+
+	/**
+	 * Get the mapping from data objects to sites, adding the sites that have
+	 * been inserted since the last access.
+	 */
+	private synchronized Map<T, Pnt> sites()
+	{
+		if (modifications != t.getModificationCount()) {
+			cache.clear();
+			modifications = t.getModificationCount();
+			Map<Pnt, T> data = t.getData();
+			for (int n = data.size(); synced < n; synced++) {
+				Pnt site = t.getSite(synced);
+				sites.putIfAbsent(data.get(site), site);
+			}
+		}
+		return sites;
+	}
+
+	private Geometry cell(T thing, Pnt site, boolean store)
+	{
+		// Building cells while iterating is not counted as cache misses
+		Geometry polygon = store ? cache.lookup(thing) : cache.peek(thing);
+		if (polygon != null) {
+			return polygon;
+		}
+		polygon = VoronoiUtil.getVoronoiCell(site, t.incidentTriangle(site), t,
+				factory);
+		if (store && polygon != null) {
+			cache.put(thing, polygon);
+		}
+		return polygon;
+	}
+
+	@Override
+	public Geometry get(Object key)
+	{
+		Pnt site = sites().get(key);
+		if (site == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T thing = (T) key;
+		return cell(thing, site, true);
+	}
+
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return sites().containsKey(key);
+	}
+
+	@Override
+	public int size()
+	{
+		return sites().size();
+	}
+
+	/**
+	 * Iterating the entries builds the cells on the fly. Cells that are not in
+	 * the cache already are not added to it, so that iterating the whole
+	 * diagram does not evict the working set of {@link #get(Object)}.
+	 */
+	@Override
+	public Set<Map.Entry<T, Geometry>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<T, Geometry>>() {
+
+			@Override
+			public Iterator<Map.Entry<T, Geometry>> iterator()
+			{
+				final Iterator<Map.Entry<T, Pnt>> it = sites().entrySet()
+						.iterator();
+				return new Iterator<Map.Entry<T, Geometry>>() {
+
+					@Override
+					public boolean hasNext()
+					{
+						return it.hasNext();
+					}
+
+					@Override
+					public Map.Entry<T, Geometry> next()
+					{
+						Map.Entry<T, Pnt> entry = it.next();
+						T thing = entry.getKey();
+						Geometry polygon = cell(thing, entry.getValue(), false);
+						return new SimpleImmutableEntry<>(thing, polygon);
+					}
+
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return VoronoiCellMap.this.size();
+			}
+
+		};
+	}
+
+	/**
+	 * @return the maximum number of polygons kept in the cache.
+	 */
+	public int getCacheSize()
+	{
+		return cache.getCapacity();
+	}
+
+	/**
+	 * @return the number of lookups that could be answered from the cache.
+	 */
+	public long getCacheHits()
+	{
+		return cache.getHits();
+	}
+
+	/**
+	 * @return the number of lookups that required building a polygon.
+	 */
+	public long getCacheMisses()
+	{
+		return cache.getMisses();
+	}
+
+	/**
+	 * @return the number of polygons that have been evicted from the cache.
+	 */
+	public long getCacheEvictions()
+	{
+		return cache.getEvictions();
+	}
+
+}
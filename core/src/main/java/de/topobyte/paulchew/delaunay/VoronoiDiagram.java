@@ -18,8 +18,10 @@
 package de.topobyte.paulchew.delaunay;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 
 import de.topobyte.adt.graph.UndirectedGraph;
@@ -40,7 +42,20 @@ public class VoronoiDiagram<T> implements Serializable
 
 	private static final long serialVersionUID = 4327366541235396721L;
 
+	private static final int POLYGON_CACHE_SIZE = 10000;
+
 	private Triangulation<T> t;
+	private transient VoronoiCellMap<T> polygons = null;
+
+	/**
+	 * Create an empty Voronoi Diagram that accepts sites anywhere in the plane.
+	 * The cells of sites on the convex hull are unbounded and map to null in
+	 * {@link #getPolygons()}.
+	 */
+	public VoronoiDiagram()
+	{
+		t = new Triangulation<>();
+	}
 
 	/**
 	 * Create an empty Voronoi Diagram. An initial triangle has to be specified
@@ -109,13 +124,44 @@ public class VoronoiDiagram<T> implements Serializable
 
 	/**
 	 * Retrieve a mapping from inserted objects to the polygons of the Voronoi
-	 * Diagram.
+	 * Diagram. The returned map is a lazy {@link VoronoiCellMap} view that
+	 * builds polygons on access and caches recently used ones.
 	 * 
 	 * @return the map from inserted objects to their polygons.
 	 */
 	public Map<T, Geometry> getPolygons()
 	{
-		return VoronoiUtil.getVoronoiCells(t);
+		if (polygons == null) {
+			polygons = new VoronoiCellMap<>(t, POLYGON_CACHE_SIZE);
+		}
+		return polygons;
+	}
+
+	/**
+	 * Retrieve the polygons of those Voronoi cells that intersect the
+	 * specified rectangle. The running time is proportional to the number of
+	 * cells reported.
+	 * 
+	 * @param envelope
+	 *            the query rectangle.
+	 * @return the map from inserted objects to their polygons.
+	 */
+	public Map<T, Geometry> cellsIntersecting(Envelope envelope)
+	{
+		return VoronoiUtil.getVoronoiCellsIntersecting(t, envelope);
+	}
+
+	/**
+	 * Retrieve the triangles of the underlying triangulation that intersect
+	 * the specified rectangle.
+	 * 
+	 * @param envelope
+	 *            the query rectangle.
+	 * @return the triangles intersecting envelope.
+	 */
+	public List<Triangle> trianglesIntersecting(Envelope envelope)
+	{
+		return t.trianglesIntersecting(envelope);
 	}
 
 	/**
@@ -0,0 +1,65 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for slow extractions of Voronoi cells or site
+ * graphs.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+@Name("de.topobyte.paulchew.delaunay.VoronoiExtraction")
+@Label("Voronoi Extraction")
+@Category("Delaunay")
+@Description("Extraction of a batch of Voronoi cells or a site graph")
+@Threshold("10 ms")
+class VoronoiExtractionEvent extends Event
+{
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Sites")
+	@Description("Number of sites or cells extracted")
+	int sites;
+
+	/**
+	 * Commit this event if it passes the configured threshold.
+	 * 
+	 * @param operation
+	 *            the name of the operation.
+	 * @param sites
+	 *            the number of sites or cells extracted.
+	 */
+	void commit(String operation, int sites)
+	{
+		if (shouldCommit()) {
+			this.operation = operation;
+			this.sites = sites;
+			commit();
+		}
+	}
+
+}
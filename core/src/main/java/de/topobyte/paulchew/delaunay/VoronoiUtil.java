@@ -19,10 +19,14 @@ package de.topobyte.paulchew.delaunay;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LinearRing;
@@ -44,7 +48,10 @@ public class VoronoiUtil
 {
 
 	/**
-	 * Create a mapping from site data objects to Voronoi cells.
+	 * Create a mapping from site data objects to Voronoi cells. For a
+	 * triangulation with a vertex at infinity, the unbounded cells of the
+	 * sites on the convex hull are omitted, see
+	 * {@link #getVoronoiCells(Triangulation, Envelope)}.
 	 * 
 	 * @param t
 	 *            the Delaunay Triangulation
@@ -53,21 +60,56 @@ public class VoronoiUtil
 	 */
 	public static <T> Map<T, Geometry> getVoronoiCells(Triangulation<T> t)
 	{
-		Set<Pnt> done = new HashSet<>(t.getInitialTriangle());
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
 		GeometryFactory factory = new GeometryFactory();
 		Map<T, Geometry> map = new HashMap<>();
-		for (Triangle triangle : t) {
-			for (Pnt site : triangle) {
-				if (done.contains(site)) {
-					continue;
-				}
-				done.add(site);
+		for (Map.Entry<Pnt, T> entry : t.getData().entrySet()) {
+			Pnt site = entry.getKey();
+			Polygon polygon = getVoronoiCell(site, t.incidentTriangle(site), t,
+					factory);
+			if (polygon != null) {
+				map.put(entry.getValue(), polygon);
+			}
+		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"getVoronoiCells", map.size());
+		return map;
+	}
 
-				T thing = t.getData().get(site);
-				Polygon polygon = getVoronoiCell(site, triangle, t, factory);
-				map.put(thing, polygon);
+	/**
+	 * Create a mapping from site data objects to Voronoi cells clipped to a
+	 * rectangle. In contrast to {@link #getVoronoiCells(Triangulation)}, this
+	 * includes the unbounded cells of the sites on the convex hull of a
+	 * triangulation with a vertex at infinity. Cells that do not intersect the
+	 * rectangle are omitted.
+	 * 
+	 * @param t
+	 *            the Delaunay Triangulation
+	 * @param clip
+	 *            the rectangle to clip cells to
+	 * 
+	 * @return the dual Voronoi cells.
+	 */
+	public static <T> Map<T, Geometry> getVoronoiCells(Triangulation<T> t,
+			Envelope clip)
+	{
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
+		GeometryFactory factory = new GeometryFactory();
+		Map<T, Geometry> map = new HashMap<>();
+		TDoubleList xs = new TDoubleArrayList();
+		TDoubleList ys = new TDoubleArrayList();
+		for (Map.Entry<Pnt, T> entry : t.getData().entrySet()) {
+			Pnt site = entry.getKey();
+			List<Triangle> list = t.surroundingTriangles(site,
+					t.incidentTriangle(site));
+			cellRing(t, list, reach(site, list, clip), xs, ys);
+			DelaunayUtil.clipConvexPolygon(xs, ys, clip);
+			if (xs.size() >= 3) {
+				map.put(entry.getValue(), polygon(xs, ys, factory));
 			}
 		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"getVoronoiCells", map.size());
 		return map;
 	}
 
@@ -82,7 +124,7 @@ public class VoronoiUtil
 	 *            the Delaunay Triangulation
 	 * @param factory
 	 *            a GeometryFactory to create geometries
-	 * @return the cell polygon
+	 * @return the cell polygon; null if the cell is unbounded
 	 */
 	public static <T> Polygon getVoronoiCell(Pnt site, Triangle triangle,
 			Triangulation<T> t, GeometryFactory factory)
@@ -90,68 +132,222 @@ public class VoronoiUtil
 		List<Triangle> list = t.surroundingTriangles(site, triangle);
 		TDoubleList xs = new TDoubleArrayList(list.size());
 		TDoubleList ys = new TDoubleArrayList(list.size());
-		Pnt[] vertices = new Pnt[list.size()];
-		int i = 0;
 		for (Triangle tri : list) {
-			Pnt ccenter = tri.getCircumcenter();
-			vertices[i++] = ccenter;
-			xs.add(ccenter.coord(0));
-			ys.add(ccenter.coord(1));
+			if (tri.isInfinite()) {
+				return null;
+			}
+			xs.add(tri.getCircumcenterX());
+			ys.add(tri.getCircumcenterY());
 		}
+		return polygon(xs, ys, factory);
+	}
+
+	private static Polygon polygon(TDoubleList xs, TDoubleList ys,
+			GeometryFactory factory)
+	{
 		LinearRing ring = JtsHelper.toLinearRing(xs, ys, false);
 		Polygon polygon = PolygonHelper.polygonFromLinearRing(ring, factory);
 		return polygon;
 	}
 
 	/**
-	 * Create a neighbor graph of the inserted sites of a triangulation. Sites
-	 * are considered neighbors if their Voronoi cells share a common edge.
-	 * 
-	 * @param t
-	 *            the Delaunay Triangulation
+	 * Collect the vertices of a Voronoi cell from the triangles surrounding
+	 * its site. Triangles at infinity only occur around sites on the convex
+	 * hull of a triangulation with a vertex at infinity. Each of them stands
+	 * for an unbounded edge of the cell, which starts at the circumcenter of
+	 * the adjacent finite triangle and runs perpendicular to the hull edge.
+	 * Such edges are cut off at distance reach and joined by an additional
+	 * vertex, which keeps the ring convex.
 	 * 
-	 * @return a graph of sites.
+	 * @return whether the cell is bounded
 	 */
-	public static UndirectedGraph<Pnt> createSiteGraph(Triangulation<?> t)
+	private static boolean cellRing(Triangulation<?> t, List<Triangle> list,
+			double reach, TDoubleList xs, TDoubleList ys)
 	{
-		UndirectedGraph<Pnt> graph = new UndirectedGraph<>();
+		xs.clear();
+		ys.clear();
+		int n = list.size();
+		double[] directions = new double[4]; // Of up to two unbounded edges
+		int unbounded = 0;
+		int first = -1; // Position of the first unbounded edge in the ring
+		boolean joined = false;
+		for (int i = 0; i < n; i++) {
+			Triangle triangle = list.get(i);
+			if (!triangle.isInfinite()) {
+				xs.add(triangle.getCircumcenterX());
+				ys.add(triangle.getCircumcenterY());
+				continue;
+			}
+			Pnt infinity = InfinitePnt.INSTANCE;
+			ArraySet<Pnt> edge = triangle.facetOpposite(infinity);
+			Triangle inner = t.neighborOpposite(infinity, triangle);
+			Pnt a = edge.get(0), b = edge.get(1);
+			Pnt c = inner.getVertexButNot(a, b);
+			double nx = b.coord(1) - a.coord(1);
+			double ny = a.coord(0) - b.coord(0);
+			if (nx * (c.coord(0) - a.coord(0))
+					+ ny * (c.coord(1) - a.coord(1)) > 0) {
+				nx = -nx;
+				ny = -ny;
+			}
+			double length = Math.sqrt(nx * nx + ny * ny);
+			nx /= length;
+			ny /= length;
+			if (unbounded == 1 && first == xs.size() - 1) {
+				// Join the previous unbounded edge
+				addJoint(xs, ys, xs.size() - 1, directions, nx, ny, reach);
+				joined = true;
+			}
+			if (unbounded == 0) {
+				first = xs.size();
+			}
+			directions[2 * unbounded] = nx;
+			directions[2 * unbounded + 1] = ny;
+			unbounded++;
+			xs.add(inner.getCircumcenterX() + reach * nx);
+			ys.add(inner.getCircumcenterY() + reach * ny);
+		}
+		if (unbounded == 2 && !joined) {
+			// The unbounded edges are the last and the first one of the ring
+			addJoint(xs, ys, xs.size() - 1, directions, directions[0],
+					directions[1], reach);
+		}
+		return unbounded == 0;
+	}
 
-		HashSet<Pnt> done = new HashSet<>(t.getInitialTriangle());
-		for (Triangle triangle : t) {
-			for (Pnt site : triangle) {
-				if (done.contains(site)) {
-					continue;
-				}
-				graph.addNode(site);
-				done.add(site);
+	/**
+	 * Append a vertex that joins the end of the unbounded edge at position i
+	 * with direction (directions[0], directions[1]) and the end of the
+	 * following one with direction (nx, ny).
+	 */
+	private static void addJoint(TDoubleList xs, TDoubleList ys, int i,
+			double[] directions, double nx, double ny, double reach)
+	{
+		double bx = directions[0] + nx, by = directions[1] + ny;
+		double length = Math.sqrt(bx * bx + by * by);
+		if (length == 0) {
+			return;
+		}
+		xs.add(xs.get(i) + reach * bx / length);
+		ys.add(ys.get(i) + reach * by / length);
+	}
+
+	/**
+	 * Determine a distance for cutting off the unbounded edges of the cell of
+	 * site, such that the part cut off does not intersect the envelope.
+	 */
+	private static double reach(Pnt site, List<Triangle> list,
+			Envelope envelope)
+	{
+		double sx = site.coord(0), sy = site.coord(1);
+		double dx = Math.max(Math.abs(envelope.getMinX() - sx),
+				Math.abs(envelope.getMaxX() - sx));
+		double dy = Math.max(Math.abs(envelope.getMinY() - sy),
+				Math.abs(envelope.getMaxY() - sy));
+		double max = 0;
+		for (Triangle triangle : list) {
+			if (!triangle.isInfinite()) {
+				max = Math.max(max, Math.hypot(
+						triangle.getCircumcenterX() - sx,
+						triangle.getCircumcenterY() - sy));
 			}
 		}
+		return 2 * (Math.sqrt(dx * dx + dy * dy) + max) + 1;
+	}
 
-		done = new HashSet<>(t.getInitialTriangle());
+	/**
+	 * Create a mapping from site data objects to Voronoi cells for those cells
+	 * that intersect the specified rectangle. Starts at the site nearest to the
+	 * center of the rectangle and visits neighboring sites as long as their
+	 * cells intersect the rectangle, so the running time is proportional to
+	 * the number of cells reported.
+	 * 
+	 * @param t
+	 *            the Delaunay Triangulation
+	 * @param envelope
+	 *            the query rectangle
+	 * @return the Voronoi cells intersecting envelope. Unbounded cells of a
+	 *         triangulation with a vertex at infinity are clipped to the
+	 *         envelope.
+	 */
+	public static <T> Map<T, Geometry> getVoronoiCellsIntersecting(
+			Triangulation<T> t, Envelope envelope)
+	{
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
+		GeometryFactory factory = new GeometryFactory();
+		Map<T, Geometry> map = new HashMap<>();
+		Coordinate center = envelope.centre();
+		Pnt start = t.closestSite(new Pnt(center.x, center.y));
+		if (start == null) {
+			FlightRecorderEvents.endVoronoiExtraction(event,
+					"getVoronoiCellsIntersecting", 0);
+			return map;
+		}
 
-		for (Triangle triangle : t) {
-			for (Pnt site : triangle) {
-				if (done.contains(site)) {
+		TDoubleList xs = new TDoubleArrayList();
+		TDoubleList ys = new TDoubleArrayList();
+		Set<Pnt> visited = new HashSet<>();
+		Queue<Pnt> queue = new LinkedList<>();
+		visited.add(start);
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			Pnt site = queue.remove();
+			List<Triangle> list = t.surroundingTriangles(site,
+					t.incidentTriangle(site));
+			if (cellRing(t, list, 0, xs, ys)) {
+				if (!DelaunayUtil.convexPolygonIntersects(xs.toArray(),
+						ys.toArray(), xs.size(), site.coord(0), site.coord(1),
+						envelope)) {
 					continue;
 				}
-				done.add(site);
-				if (!graph.containsNode(site)) {
+			} else {
+				cellRing(t, list, reach(site, list, envelope), xs, ys);
+				DelaunayUtil.clipConvexPolygon(xs, ys, envelope);
+				if (xs.size() < 3) {
 					continue;
 				}
+			}
+			map.put(t.getData().get(site), polygon(xs, ys, factory));
 
-				List<Triangle> list = t.surroundingTriangles(site, triangle);
-				for (Triangle tri : list) {
-					for (Pnt s : tri) {
-						if (!graph.containsNode(s)) {
-							continue;
-						}
-						if (!s.equals(site)) {
-							graph.addEdge(site, s);
-						}
+			for (Triangle tri : list) {
+				for (Pnt neighbor : tri) {
+					if (t.isSite(neighbor) && visited.add(neighbor)) {
+						queue.add(neighbor);
 					}
 				}
 			}
 		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"getVoronoiCellsIntersecting", map.size());
+		return map;
+	}
+
+	/**
+	 * Create a neighbor graph of the inserted sites of a triangulation. Sites
+	 * are considered neighbors if their Voronoi cells share a common edge.
+	 * 
+	 * @param t
+	 *            the Delaunay Triangulation
+	 * 
+	 * @return a graph of sites.
+	 */
+	public static UndirectedGraph<Pnt> createSiteGraph(Triangulation<?> t)
+	{
+		Object event = FlightRecorderEvents.beginVoronoiExtraction();
+		UndirectedGraph<Pnt> graph = new UndirectedGraph<>();
+
+		for (Pnt site : t.getData().keySet()) {
+			graph.addNode(site);
+		}
+		for (Pnt site : t.getData().keySet()) {
+			for (Pnt neighbor : t.adjacentVertices(site)) {
+				if (t.isSite(neighbor)) {
+					graph.addEdge(site, neighbor);
+				}
+			}
+		}
+		FlightRecorderEvents.endVoronoiExtraction(event,
+				"createSiteGraph", graph.getNodes().size());
 		return graph;
 	}
 
@@ -0,0 +1,56 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * Writes features as a sequence of records. Each record consists of the
+ * length of the geometry in 4 bytes, the geometry as little-endian WKB and
+ * the properties as described in
+ * {@link FeatureEncoder#properties(ExportBuffer, ExportFeature, boolean)}.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ *
+ * @param <T>
+ *            the type of objects associated with sites.
+ */
+class WkbEncoder<T> extends FeatureEncoder<T>
+{
+
+	private static final int WKB_POLYGON = 3;
+
+	WkbEncoder(DataCodec<T> codec, String[] names)
+	{
+		super(codec, names);
+	}
+
+	@Override
+	void feature(ExportBuffer buffer, long index, ExportFeature<T> feature)
+	{
+		buffer.putInt(1 + 4 + 4 + 4 + 16 * feature.n);
+		buffer.put((byte) 1); // Little endian
+		buffer.putInt(WKB_POLYGON);
+		buffer.putInt(1); // Number of rings
+		buffer.putInt(feature.n);
+		for (int i = 0; i < feature.n; i++) {
+			buffer.putDouble(feature.xs[i]);
+			buffer.putDouble(feature.ys[i]);
+		}
+		properties(buffer, feature, false);
+	}
+
+}
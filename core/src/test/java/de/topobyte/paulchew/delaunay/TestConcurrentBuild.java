@@ -0,0 +1,75 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestConcurrentBuild
+{
+
+	/**
+	 * Main program; used for testing. Builds several triangulations in
+	 * parallel, as the load test does with multiple threads, and checks that
+	 * their triangles got distinct ids, which the triangulations use as keys.
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int threads = 4;
+		int n = 20000;
+		List<Triangulation<Integer>> triangulations = new ArrayList<>();
+		List<Thread> workers = new ArrayList<>();
+		for (int k = 0; k < threads; k++) {
+			Triangulation<Integer> t = new Triangulation<>();
+			triangulations.add(t);
+			Random random = new Random(k);
+			workers.add(new Thread(() -> {
+				for (int i = 0; i < n; i++) {
+					t.delaunayPlace(new Pnt(random.nextDouble(),
+							random.nextDouble()), i);
+				}
+			}));
+		}
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		Set<Integer> ids = new HashSet<>();
+		int total = 0, inconsistent = 0;
+		for (Triangulation<Integer> t : triangulations) {
+			if (t.triangles.size() != t.size()) {
+				inconsistent++;
+			}
+			for (Triangle triangle : t) {
+				ids.add(triangle.hashCode());
+				total++;
+			}
+		}
+		System.out.println("Inconsistent triangulations: " + inconsistent
+				+ " (should be 0)");
+		System.out.println("Distinct ids: " + ids.size() + " (should be "
+				+ total + ")");
+	}
+
+}
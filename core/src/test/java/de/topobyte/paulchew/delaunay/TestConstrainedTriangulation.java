@@ -0,0 +1,111 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.topobyte.paulchew.delaunay.Triangulation.InsertionStrategy;
+
+public class TestConstrainedTriangulation
+{
+
+	/**
+	 * Main program; used for testing. Inserts constrained edges into
+	 * triangulations with a vertex at infinity, using both insertion
+	 * strategies, refines them and checks the structure of the results.
+	 */
+	public static void main(String[] args)
+	{
+		for (InsertionStrategy strategy : InsertionStrategy.values()) {
+			System.out.println("Insertion strategy: " + strategy);
+			test(strategy);
+		}
+	}
+
+	private static void test(InsertionStrategy strategy)
+	{
+		Triangulation<Integer> t = new Triangulation<>();
+		t.setInsertionStrategy(strategy);
+		Random random = new Random(1);
+		int n = 0;
+		for (; n < 1000; n++) {
+			t.delaunayPlace(new Pnt(random.nextDouble() * 1000,
+					random.nextDouble() * 1000), n);
+		}
+
+		// A square and an open polyline, each crossing many triangles
+		List<List<Pnt>> polylines = new ArrayList<>();
+		polylines.add(polyline(200, 200, 400, 200, 400, 400, 200, 400, 200,
+				200));
+		polylines.add(polyline(550, 100, 950, 100, 950, 500, 600, 500, 600,
+				900));
+		int segments = 0;
+		for (List<Pnt> polyline : polylines) {
+			for (Pnt site : polyline) {
+				t.delaunayPlace(site, n++);
+			}
+			for (int i = 0; i + 1 < polyline.size(); i++) {
+				t.insertSegment(polyline.get(i), polyline.get(i + 1));
+				segments++;
+			}
+		}
+		System.out.println("constrained: constraints "
+				+ t.getConstraints().size() + " (should be at least "
+				+ segments + ")");
+		check("constrained", t);
+
+		double area = TriangulationChecks.area(t);
+		int inserted = new MeshRefiner<>(t).refine();
+		int skinny = 0;
+		for (Triangle triangle : t) {
+			if (TriangulationChecks.minAngle(triangle) < 20 - 1e-9) {
+				skinny++;
+			}
+		}
+		System.out.println("refined: inserted " + inserted + ", angles below"
+				+ " 20 degrees " + skinny + " (should be 0)");
+		System.out.println("refined: area " + TriangulationChecks.area(t)
+				+ " (should be " + area + ")");
+		check("refined", t);
+	}
+
+	private static List<Pnt> polyline(double... coordinates)
+	{
+		List<Pnt> polyline = new ArrayList<>();
+		for (int i = 0; i < coordinates.length; i += 2) {
+			polyline.add(new Pnt(coordinates[i], coordinates[i + 1]));
+		}
+		return polyline;
+	}
+
+	private static void check(String name, Triangulation<Integer> t)
+	{
+		System.out.println(name + ": missing constraints "
+				+ TriangulationChecks.missingConstraints(t) + " (should be 0)");
+		System.out.println(name + ": triangles " + t.size() + " (should be "
+				+ TriangulationChecks.expectedTriangles(t) + ")");
+		System.out.println(name + ": non-Delaunay edges "
+				+ TriangulationChecks.nonDelaunayEdges(t) + " (should be 0)");
+		System.out.println(name + ": degenerate triangles "
+				+ TriangulationChecks.degenerateTriangles(t)
+				+ " (should be 0)");
+	}
+
+}
@@ -0,0 +1,100 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.List;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Polygon;
+
+public class TestContourExtractor
+{
+
+	/**
+	 * Main program; used for testing. Extracts isobands from surfaces whose
+	 * values fall exactly on the breaks at many sites and checks that the
+	 * bands partition the convex hull of the sites.
+	 */
+	public static void main(String[] args)
+	{
+		Random random = new Random(1);
+
+		// Rounded elevations on a perturbed grid with integer breaks
+		Triangulation<Double> dem = new Triangulation<>();
+		for (int i = 0; i < 30; i++) {
+			for (int j = 0; j < 30; j++) {
+				Pnt site = new Pnt(i + random.nextDouble() / 2,
+						j + random.nextDouble() / 2);
+				double value = Math.round(
+						5 * Math.sin(i / 5.0) + 5 * Math.cos(j / 7.0));
+				dem.delaunayPlace(site, value);
+			}
+		}
+		test("integer elevations", dem,
+				new double[] { -10, -8, -6, -4, -2, 0, 2, 4, 6, 8, 10, 11 });
+
+		// Random sites with only three distinct values
+		Triangulation<Double> steps = new Triangulation<>();
+		for (int i = 0; i < 2000; i++) {
+			steps.delaunayPlace(
+					new Pnt(random.nextDouble(), random.nextDouble()),
+					(double) random.nextInt(3));
+		}
+		test("three values", steps, new double[] { 0, 1, 2, 3 });
+
+		// A paraboloid on a grid, where the middle band is an annulus
+		Triangulation<Double> radial = new Triangulation<>();
+		for (int i = -10; i <= 10; i++) {
+			for (int j = -10; j <= 10; j++) {
+				double x = i / 20.0, y = j / 20.0;
+				radial.delaunayPlace(new Pnt(x, y), x * x + y * y);
+			}
+		}
+		double inner = 0.15 * 0.15 + 0.1 * 0.1;
+		double outer = 0.2 * 0.2 + 0.1 * 0.1;
+		List<List<Polygon>> bands = test("paraboloid", radial,
+				new double[] { -1, inner, outer, 1 });
+		int holes = 0;
+		for (Polygon polygon : bands.get(1)) {
+			holes += polygon.getNumInteriorRing();
+		}
+		System.out.println("paraboloid: annulus polygons "
+				+ bands.get(1).size() + " (should be 1), holes " + holes
+				+ " (should be 1)");
+	}
+
+	private static List<List<Polygon>> test(String name,
+			Triangulation<Double> t, double[] breaks)
+	{
+		ContourExtractor<Double> extractor = new ContourExtractor<>(t,
+				value -> value);
+		List<List<Polygon>> bands = extractor.isobands(breaks);
+		double area = 0;
+		for (List<Polygon> band : bands) {
+			for (Polygon polygon : band) {
+				area += polygon.getArea();
+			}
+		}
+		System.out.println(name + ": band area "
+				+ area / TriangulationChecks.area(t)
+				+ " of the convex hull (should be 1)");
+		return bands;
+	}
+
+}
@@ -0,0 +1,134 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import org.wololo.flatgeobuf.ColumnMeta;
+import org.wololo.flatgeobuf.HeaderMeta;
+import org.wololo.flatgeobuf.PackedRTree;
+import org.wololo.flatgeobuf.generated.Feature;
+import org.wololo.flatgeobuf.generated.Geometry;
+
+public class TestFlatGeobufExport
+{
+
+	/**
+	 * Main program; used for testing. Exports triangles as FlatGeobuf and
+	 * reads them back with the reference reader, including a single
+	 * feature, which still needs a root node in the index.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Random random = new Random(1);
+		Triangulation<Integer> many = new Triangulation<>();
+		for (int i = 0; i < 1000; i++) {
+			many.delaunayPlace(new Pnt(random.nextDouble() * 1000,
+					random.nextDouble() * 1000), i);
+		}
+		roundTrip("1000 sites", many);
+
+		Triangulation<Integer> single = new Triangulation<>();
+		single.delaunayPlace(new Pnt(0, 0), 0);
+		single.delaunayPlace(new Pnt(10, 0), 1);
+		single.delaunayPlace(new Pnt(0, 10), 2);
+		roundTrip("3 sites", single);
+	}
+
+	private static void roundTrip(String name, Triangulation<Integer> t)
+			throws IOException
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MeshExporter<Integer> exporter = new MeshExporter<>(t,
+				DataCodec.ofLong("id", Integer::longValue));
+		long count = exporter.writeTriangles(Channels.newChannel(output),
+				MeshExporter.Format.FLATGEOBUF);
+
+		ByteBuffer bb = ByteBuffer.wrap(output.toByteArray());
+		bb.order(ByteOrder.LITTLE_ENDIAN);
+		HeaderMeta header = HeaderMeta.read(bb);
+		System.out.println(name + ": features " + header.featuresCount
+				+ " (should be " + count + ")");
+		StringBuilder columns = new StringBuilder();
+		for (ColumnMeta column : header.columns) {
+			columns.append(column.name).append(' ');
+		}
+		System.out.println(name + ": columns " + columns
+				+ "(should be id_a id_b id_c)");
+		System.out.println(name + ": misaligned tables " + misaligned(bb)
+				+ " (should be 0)");
+
+		// Skip the index and read all features
+		int offset = header.offset + (int) PackedRTree.calcSize(
+				header.featuresCount, header.indexNodeSize);
+		int features = 0, bad = 0;
+		while (offset < bb.limit()) {
+			int size = bb.getInt(offset);
+			bb.position(offset + 4);
+			Feature feature = Feature.getRootAsFeature(bb.slice().order(
+					ByteOrder.LITTLE_ENDIAN));
+			Geometry geometry = feature.geometry();
+			if (geometry == null || geometry.xyLength() != 8
+					|| geometry.xy(0) != geometry.xy(6)
+					|| geometry.xy(1) != geometry.xy(7)
+					|| feature.propertiesLength() != 3 * (2 + 8)) {
+				bad++;
+			}
+			features++;
+			offset += 4 + size;
+		}
+		System.out.println(name + ": features read " + features
+				+ " (should be " + count + "), invalid " + bad
+				+ " (should be 0)");
+	}
+
+	/**
+	 * Count the tables of the header and its columns that are not aligned
+	 * to 4 bytes relative to the size prefix, following the offsets of the
+	 * FlatBuffer.
+	 */
+	private static int misaligned(ByteBuffer bb)
+	{
+		int base = 8;
+		int root = base + 4 + bb.getInt(base + 4);
+		int vtable = root - bb.getInt(root);
+		int bad = 0;
+		if ((root - base) % 4 != 0 || (vtable - base) % 2 != 0) {
+			bad++;
+		}
+		// Field 7 of the header: the columns vector
+		int field = bb.getShort(vtable + 4 + 2 * 7);
+		int vector = root + field + bb.getInt(root + field);
+		int n = bb.getInt(vector);
+		for (int i = 0; i < n; i++) {
+			int element = vector + 4 + 4 * i;
+			int table = element + bb.getInt(element);
+			int columnVtable = table - bb.getInt(table);
+			if ((table - base) % 4 != 0 || (columnVtable - base) % 2 != 0) {
+				bad++;
+			}
+		}
+		return bad;
+	}
+
+}
@@ -0,0 +1,166 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+import de.topobyte.paulchew.delaunay.Triangulation.InsertionStrategy;
+
+public class TestInfiniteTriangulation
+{
+
+	/**
+	 * Main program; used for testing. Inserts different kinds of site
+	 * sequences into triangulations with a vertex at infinity, using both
+	 * insertion strategies, and checks the structure of the results.
+	 */
+	public static void main(String[] args)
+	{
+		for (InsertionStrategy strategy : InsertionStrategy.values()) {
+			System.out.println("Insertion strategy: " + strategy);
+			test("random", strategy, random(new Random(1), 2000));
+			test("collinear first", strategy, collinearFirst());
+			test("hull extending", strategy, hullExtending());
+			test("duplicates", strategy, duplicates());
+			test("large coordinates", strategy, grid(30, 500000, 5400000));
+		}
+	}
+
+	private static List<Pnt> random(Random random, int n)
+	{
+		List<Pnt> sites = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			sites.add(new Pnt(random.nextDouble() * 1000,
+					random.nextDouble() * 1000));
+		}
+		return sites;
+	}
+
+	/**
+	 * Many collinear sites, which are kept aside until the first site off
+	 * their line arrives, followed by random sites.
+	 */
+	private static List<Pnt> collinearFirst()
+	{
+		List<Pnt> sites = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			sites.add(new Pnt(i * 10, i * 5 + 100));
+		}
+		Collections.shuffle(sites, new Random(2));
+		sites.addAll(random(new Random(3), 1000));
+		return sites;
+	}
+
+	/**
+	 * Sites on a parabola in order of increasing distance from its apex, so
+	 * that each site extends the convex hull and all sites are on the hull.
+	 */
+	private static List<Pnt> hullExtending()
+	{
+		List<Pnt> sites = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			double x = i % 2 == 0 ? i : -i;
+			sites.add(new Pnt(x, x * x / 100));
+		}
+		return sites;
+	}
+
+	/**
+	 * Random sites that are each inserted twice, including while the first
+	 * sites are still collinear.
+	 */
+	private static List<Pnt> duplicates()
+	{
+		List<Pnt> sites = new ArrayList<>();
+		for (Pnt site : random(new Random(4), 1000)) {
+			sites.add(site);
+			sites.add(new Pnt(site.coord(0), site.coord(1)));
+		}
+		return sites;
+	}
+
+	/**
+	 * A regular grid far away from the origin, where coordinates have few
+	 * significant bits left and many sites are cocircular.
+	 */
+	private static List<Pnt> grid(int size, double x, double y)
+	{
+		List<Pnt> sites = new ArrayList<>();
+		for (int i = 0; i < size * size; i++) {
+			sites.add(new Pnt(x + i % size, y + i / size));
+		}
+		Collections.shuffle(sites, new Random(5));
+		return sites;
+	}
+
+	private static void test(String name, InsertionStrategy strategy,
+			List<Pnt> sites)
+	{
+		Triangulation<Integer> t = new Triangulation<>();
+		t.setInsertionStrategy(strategy);
+		Envelope envelope = new Envelope();
+		for (int i = 0; i < sites.size(); i++) {
+			Pnt site = sites.get(i);
+			t.delaunayPlace(site, i);
+			envelope.expandToInclude(site.coord(0), site.coord(1));
+		}
+		int n = t.getData().size();
+		int hull = t.convexHull().size();
+
+		System.out.println(name + ": triangles " + t.size() + " (should be "
+				+ TriangulationChecks.expectedTriangles(t) + ")");
+		System.out.println(name + ": non-Delaunay edges "
+				+ TriangulationChecks.nonDelaunayEdges(t) + " (should be 0)");
+		System.out.println(name + ": degenerate triangles "
+				+ TriangulationChecks.degenerateTriangles(t)
+				+ " (should be 0)");
+
+		// The cells of the sites on the hull are unbounded
+		Map<Integer, Geometry> cells = VoronoiUtil.getVoronoiCells(t);
+		int invalid = 0;
+		for (Geometry cell : cells.values()) {
+			if (!cell.isValid() || cell.getArea() <= 0) {
+				invalid++;
+			}
+		}
+		System.out.println(name + ": bounded cells " + cells.size()
+				+ " (should be " + (n - hull) + "), invalid " + invalid
+				+ " (should be 0)");
+
+		// Clipped cells partition the clip rectangle
+		envelope.expandBy(Math.max(envelope.getWidth(),
+				envelope.getHeight()));
+		Map<Integer, Geometry> clipped = VoronoiUtil.getVoronoiCells(t,
+				envelope);
+		double area = 0;
+		for (Geometry cell : clipped.values()) {
+			area += cell.getArea();
+		}
+		System.out.println(name + ": clipped cells " + clipped.size()
+				+ " (should be " + n + "), area " + area / envelope.getArea()
+				+ " of the clip rectangle (should be 1)");
+	}
+
+}
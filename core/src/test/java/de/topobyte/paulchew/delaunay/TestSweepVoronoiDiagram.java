@@ -0,0 +1,72 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Geometry;
+
+import de.topobyte.adt.graph.UndirectedGraph;
+
+public class TestSweepVoronoiDiagram
+{
+
+	/**
+	 * Main program; used for testing. Compares the site graph of the sweep
+	 * with the one derived from the incremental triangulation.
+	 */
+	public static void main(String[] args)
+	{
+		int n = 1000;
+		Random random = new Random(1);
+		VoronoiDiagram<Integer> incremental = new VoronoiDiagram<>(-100000,
+				-100000, 100000, -100000, 0, 100000);
+		SweepVoronoiDiagram<Integer> sweep = new SweepVoronoiDiagram<>(0, 0,
+				1000, 1000);
+		for (int i = 0; i < n; i++) {
+			double x = random.nextDouble() * 1000;
+			double y = random.nextDouble() * 1000;
+			incremental.put(i, x, y);
+			sweep.put(i, x, y);
+		}
+
+		UndirectedGraph<Pnt> expected = incremental.getSiteGraph();
+		UndirectedGraph<Pnt> actual = sweep.getSiteGraph();
+		int missing = 0;
+		for (Pnt site : expected.getNodes()) {
+			for (Pnt neighbor : expected.getEdgesOut(site)) {
+				if (!actual.getEdgesOut(site).contains(neighbor)) {
+					missing++;
+				}
+			}
+		}
+		System.out.println("Neighbor relations missing (should be 0): "
+				+ missing / 2);
+
+		Map<Integer, Geometry> polygons = sweep.getPolygons();
+		double area = 0;
+		for (Geometry polygon : polygons.values()) {
+			area += polygon.getArea();
+		}
+		System.out.println("Cells: " + polygons.size() + " (should be " + n
+				+ ")");
+		System.out.println("Total area: " + area + " (should be 1000000)");
+	}
+
+}
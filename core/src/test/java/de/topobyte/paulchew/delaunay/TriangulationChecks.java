@@ -0,0 +1,141 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks of the structure of triangulations shared by the tests.
+ */
+class TriangulationChecks
+{
+
+	/**
+	 * Count the edges between two finite triangles that are not locally
+	 * Delaunay, i.e. one of the triangles has the vertex of the other one
+	 * opposite to the edge inside of its circumcircle. Constrained edges are
+	 * skipped. Each edge is counted once per triangle that fails the test.
+	 */
+	static int nonDelaunayEdges(Triangulation<?> t)
+	{
+		int bad = 0;
+		for (Triangle triangle : t) {
+			for (Pnt vertex : triangle) {
+				Triangle neighbor = t.neighborOpposite(vertex, triangle);
+				if (neighbor == null || neighbor.isInfinite()) {
+					continue;
+				}
+				ArraySet<Pnt> edge = triangle.facetOpposite(vertex);
+				Pnt a = edge.get(0), b = edge.get(1);
+				if (t.isConstrained(a, b)) {
+					continue;
+				}
+				Pnt opposite = neighbor.getVertexButNot(a, b);
+				if (triangle.vsCircumcircle(opposite) < 0) {
+					bad++;
+				}
+			}
+		}
+		return bad;
+	}
+
+	/**
+	 * Count the finite triangles whose vertices are collinear.
+	 */
+	static int degenerateTriangles(Triangulation<?> t)
+	{
+		int bad = 0;
+		for (Triangle triangle : t) {
+			if (Triangulation.orientation(triangle.get(0), triangle.get(1),
+					triangle.get(2)) == 0) {
+				bad++;
+			}
+		}
+		return bad;
+	}
+
+	/**
+	 * Determine the number of finite triangles that Euler's formula predicts
+	 * for a triangulation of the sites with a vertex at infinity: 2n - 2 - h
+	 * for n sites of which h lie on the boundary of the convex hull.
+	 */
+	static int expectedTriangles(Triangulation<?> t)
+	{
+		List<Pnt> hull = t.convexHull();
+		return 2 * t.getData().size() - 2 - hull.size();
+	}
+
+	/**
+	 * Count the constrained edges that are not edges of the triangulation.
+	 */
+	static int missingConstraints(Triangulation<?> t)
+	{
+		int missing = 0;
+		for (Set<Pnt> edge : t.getConstraints()) {
+			Iterator<Pnt> ends = edge.iterator();
+			Pnt a = ends.next(), b = ends.next();
+			if (!t.adjacentVertices(a).contains(b)) {
+				missing++;
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * @return the area of a finite triangle.
+	 */
+	static double area(Triangle triangle)
+	{
+		Pnt a = triangle.get(0), b = triangle.get(1), c = triangle.get(2);
+		return Math.abs((b.coord(0) - a.coord(0)) * (c.coord(1) - a.coord(1))
+				- (c.coord(0) - a.coord(0)) * (b.coord(1) - a.coord(1))) / 2;
+	}
+
+	/**
+	 * @return the total area of all finite triangles.
+	 */
+	static double area(Triangulation<?> t)
+	{
+		double area = 0;
+		for (Triangle triangle : t) {
+			area += area(triangle);
+		}
+		return area;
+	}
+
+	/**
+	 * @return the smallest angle of a triangle in degrees.
+	 */
+	static double minAngle(Triangle triangle)
+	{
+		double min = 180;
+		for (int i = 0; i < 3; i++) {
+			Pnt a = triangle.get(i), b = triangle.get((i + 1) % 3),
+					c = triangle.get((i + 2) % 3);
+			double ux = b.coord(0) - a.coord(0), uy = b.coord(1) - a.coord(1);
+			double vx = c.coord(0) - a.coord(0), vy = c.coord(1) - a.coord(1);
+			double angle = Math.toDegrees(Math.atan2(
+					Math.abs(ux * vy - uy * vx), ux * vx + uy * vy));
+			min = Math.min(min, angle);
+		}
+		return min;
+	}
+
+}
@@ -534,7 +534,7 @@ class DelaunayPanel extends JPanel
 				continue;
 			}
 			Pnt c = triangle.getCircumcenter();
-			double radius = c.subtract(triangle.get(0)).magnitude();
+			double radius = Math.sqrt(triangle.getCircumradiusSq());
 			draw(c, radius, null);
 		}
 	}
@@ -0,0 +1,142 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+/**
+ * A {@link TriangulationMonitor} that records the latency of each phase of
+ * insertion in log-linear histograms, which allows reporting percentiles with
+ * a relative error of about 3% in constant memory.
+ * 
+ * Instances are not thread-safe; use one instance per triangulation and
+ * combine them using {@link #merge(LatencyRecorder)}.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class LatencyRecorder implements TriangulationMonitor
+{
+
+	/**
+	 * The phases of insertion that latencies are recorded for.
+	 */
+	public enum Phase
+	{
+		LOCATE, CAVITY, UPDATE, TOTAL
+	}
+
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	private final long[][] counts = new long[Phase.values().length][BUCKETS];
+	private long insertions = 0;
+
+	@Override
+	public void located(Pnt point, int candidates, int containing, long nanos)
+	{
+		// Recorded as part of the insertion
+	}
+
+	@Override
+	public void inserted(Pnt site, int cavitySize, int circumcircleTests,
+			long locateNanos, long cavityNanos, long updateNanos)
+	{
+		insertions++;
+		counts[Phase.LOCATE.ordinal()][bucket(locateNanos)]++;
+		counts[Phase.CAVITY.ordinal()][bucket(cavityNanos)]++;
+		counts[Phase.UPDATE.ordinal()][bucket(updateNanos)]++;
+		counts[Phase.TOTAL.ordinal()][bucket(locateNanos + cavityNanos
+				+ updateNanos)]++;
+	}
+
+	/**
+	 * @return the number of insertions recorded.
+	 */
+	public long getInsertions()
+	{
+		return insertions;
+	}
+
+	/**
+	 * Add the values recorded by another recorder to this one.
+	 * 
+	 * @param other
+	 *            the recorder to merge into this one.
+	 */
+	public void merge(LatencyRecorder other)
+	{
+		insertions += other.insertions;
+		for (int p = 0; p < counts.length; p++) {
+			for (int b = 0; b < BUCKETS; b++) {
+				counts[p][b] += other.counts[p][b];
+			}
+		}
+	}
+
+	/**
+	 * Determine a percentile of the latencies of a phase.
+	 * 
+	 * @param phase
+	 *            the phase of insertion.
+	 * @param percentile
+	 *            the percentile, between 0 and 100.
+	 * @return the latency in nanoseconds; 0 if nothing has been recorded.
+	 */
+	public long percentile(Phase phase, double percentile)
+	{
+		long[] histogram = counts[phase.ordinal()];
+		long rank = (long) Math.ceil(percentile / 100 * insertions);
+		long seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += histogram[b];
+			if (seen >= rank && seen > 0) {
+				return value(b);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Values below SUB_BUCKETS have their own bucket. Larger values are
+	 * grouped by their highest set bit and split into SUB_BUCKETS buckets
+	 * according to the following SUB_BITS bits.
+	 */
+	private static int bucket(long value)
+	{
+		if (value < SUB_BUCKETS) {
+			return (int) Math.max(0, value);
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS
+				+ (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * @return the midpoint of the range of values of a bucket.
+	 */
+	private static long value(int bucket)
+	{
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) / 2;
+	}
+
+}
@@ -0,0 +1,310 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.locationtech.jts.geom.Envelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.topobyte.paulchew.delaunay.LatencyRecorder.Phase;
+import de.topobyte.paulchew.delaunay.TriangulationBuilder.Order;
+import de.topobyte.utilities.apache.commons.cli.OptionHelper;
+
+/**
+ * A command line tool that builds triangulations of large point sets and
+ * reports throughput, peak heap usage, time spent in garbage collection and
+ * latency percentiles of the phases of insertion.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class LoadTest
+{
+
+	final static Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+	private static final String HELP_MESSAGE = LoadTest.class.getSimpleName()
+			+ " [options]";
+
+	private static final String OPTION_NPOINTS = "npoints";
+	private static final String OPTION_DISTRIBUTION = "distribution";
+	private static final String OPTION_INPUT = "input";
+	private static final String OPTION_FORMAT = "format";
+	private static final String OPTION_ENGINE = "engine";
+	private static final String OPTION_ORDER = "order";
+	private static final String OPTION_THREADS = "threads";
+	private static final String OPTION_RUNS = "runs";
+	private static final String OPTION_SEED = "seed";
+
+	/**
+	 * The algorithms available for building.
+	 */
+	public enum Engine
+	{
+		/**
+		 * Incremental insertion into a {@link Triangulation}.
+		 */
+		INCREMENTAL,
+		/**
+		 * Incremental insertion into a {@link Triangulation} using edge flips.
+		 */
+		LAWSON,
+		/**
+		 * Fortune's sweep as implemented by {@link SweepVoronoiDiagram}.
+		 */
+		SWEEP
+	}
+
+	public static void main(String[] args)
+			throws IOException, InterruptedException, ExecutionException
+	{
+		Options options = new Options();
+		// @formatter:off
+		OptionHelper.addL(options, OPTION_NPOINTS, true, false, "integer", "number of points to generate (default: 1000000)");
+		OptionHelper.addL(options, OPTION_DISTRIBUTION, true, false, "name", "distribution of generated points: uniform, clustered, grid, cocircular (default: uniform)");
+		OptionHelper.addL(options, OPTION_INPUT, true, false, "file", "read points from a file instead of generating them");
+		OptionHelper.addL(options, OPTION_FORMAT, true, false, "name", "input format: csv (x and y per line, separated by a comma or whitespace) or binary (little-endian doubles x, y per point) (default: by file extension)");
+		OptionHelper.addL(options, OPTION_ENGINE, true, false, "name", "incremental, lawson or sweep (default: incremental)");
+		OptionHelper.addL(options, OPTION_ORDER, true, false, "name", "insertion order: input, random, hilbert (default: random)");
+		OptionHelper.addL(options, OPTION_THREADS, true, false, "integer", "number of instances to build concurrently (default: 1)");
+		OptionHelper.addL(options, OPTION_RUNS, true, false, "integer", "number of consecutive runs (default: 1)");
+		OptionHelper.addL(options, OPTION_SEED, true, false, "integer", "random seed (default: 0)");
+		// @formatter:on
+
+		CommandLine line = null;
+		try {
+			line = new DefaultParser().parse(options, args);
+		} catch (ParseException e) {
+			System.out.println("unable to parse command line: "
+					+ e.getMessage());
+			HelpFormatter formatter = new HelpFormatter();
+			formatter.setOptionComparator(null);
+			formatter.printHelp(HELP_MESSAGE, options);
+			System.exit(1);
+		}
+		if (line == null) {
+			return;
+		}
+
+		LoadTest test = new LoadTest();
+		try {
+			test.npoints = Integer.parseInt(line.getOptionValue(
+					OPTION_NPOINTS, "1000000"));
+			test.threads = Integer.parseInt(line.getOptionValue(
+					OPTION_THREADS, "1"));
+			test.runs = Integer.parseInt(line.getOptionValue(OPTION_RUNS,
+					"1"));
+			test.seed = Long.parseLong(line.getOptionValue(OPTION_SEED, "0"));
+			test.distribution = PointDistribution.valueOf(line
+					.getOptionValue(OPTION_DISTRIBUTION, "uniform")
+					.toUpperCase());
+			test.engine = Engine.valueOf(line.getOptionValue(OPTION_ENGINE,
+					"incremental").toUpperCase());
+			test.order = Order.valueOf(line.getOptionValue(OPTION_ORDER,
+					"random").toUpperCase());
+		} catch (IllegalArgumentException e) {
+			logger.error("invalid argument: " + e.getMessage());
+			System.exit(1);
+		}
+
+		if (line.hasOption(OPTION_INPUT)) {
+			test.read(line.getOptionValue(OPTION_INPUT),
+					line.getOptionValue(OPTION_FORMAT));
+		} else {
+			test.generate();
+		}
+		test.execute();
+	}
+
+	private int npoints;
+	private int threads;
+	private int runs;
+	private long seed;
+	private PointDistribution distribution;
+	private Engine engine;
+	private Order order;
+
+	private double[] xs, ys;
+
+	private void generate()
+	{
+		logger.info(String.format("generating %d points (%s)", npoints,
+				distribution));
+		double[][] points = distribution.generate(new Random(seed), npoints);
+		xs = points[0];
+		ys = points[1];
+	}
+
+	private void read(String file, String format) throws IOException
+	{
+		logger.info("reading points from " + file);
+		Path path = Paths.get(file);
+		if (format == null) {
+			format = file.endsWith(".csv") || file.endsWith(".txt") ? "csv"
+					: "binary";
+		}
+		PointArrays points = new PointArrays();
+		if (format.equals("csv")) {
+			new CsvPointReader(path).read(points);
+		} else if (format.equals("binary")) {
+			new BinaryPointReader(path).read(points);
+		} else {
+			throw new IllegalArgumentException("unknown format: " + format);
+		}
+		xs = points.getXs();
+		ys = points.getYs();
+		npoints = xs.length;
+	}
+
+	private void execute() throws InterruptedException, ExecutionException
+	{
+		System.out.println(String.format(
+				"engine: %s, order: %s, points: %d, threads: %d", engine,
+				order, npoints, threads));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int run = 1; run <= runs; run++) {
+				execute(run, executor);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void execute(int run, ExecutorService executor)
+			throws InterruptedException, ExecutionException
+	{
+		List<MemoryPoolMXBean> pools = new ArrayList<>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				pools.add(pool);
+			}
+		}
+		long gcCount = 0, gcTime = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			gcCount -= gc.getCollectionCount();
+			gcTime -= gc.getCollectionTime();
+		}
+
+		long start = System.nanoTime();
+		List<Future<LatencyRecorder>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			final long instanceSeed = seed + i;
+			futures.add(executor.submit(() -> build(instanceSeed)));
+		}
+		LatencyRecorder latencies = new LatencyRecorder();
+		for (Future<LatencyRecorder> future : futures) {
+			latencies.merge(future.get());
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		for (GarbageCollectorMXBean gc : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			gcCount += gc.getCollectionCount();
+			gcTime += gc.getCollectionTime();
+		}
+		long peak = 0;
+		for (MemoryPoolMXBean pool : pools) {
+			peak += pool.getPeakUsage().getUsed();
+		}
+
+		long total = (long) npoints * threads;
+		System.out.println(String.format("run %d: %.3f s, %.0f points/s"
+				+ " (%.0f points/s per thread)", run, seconds,
+				total / seconds, npoints / seconds));
+		System.out.println(String.format(
+				"  peak heap: %.1f MiB (%.1f bytes/point)", peak / 1048576.,
+				peak / (double) total));
+		System.out.println(String.format(
+				"  gc: %d collections, %d ms (%.1f%% of wall time)", gcCount,
+				gcTime, gcTime / 10. / seconds));
+		if (latencies.getInsertions() == 0) {
+			return;
+		}
+		System.out.println(String.format("  %-8s %10s %10s %10s %10s %10s",
+				"latency", "p50", "p90", "p99", "p99.9", "max"));
+		for (Phase phase : Phase.values()) {
+			System.out.println(String.format(
+					"  %-8s %8.2fus %8.2fus %8.2fus %8.2fus %8.2fus",
+					phase.name().toLowerCase(),
+					latencies.percentile(phase, 50) / 1e3,
+					latencies.percentile(phase, 90) / 1e3,
+					latencies.percentile(phase, 99) / 1e3,
+					latencies.percentile(phase, 99.9) / 1e3,
+					latencies.percentile(phase, 100) / 1e3));
+		}
+	}
+
+	private LatencyRecorder build(long instanceSeed)
+	{
+		LatencyRecorder recorder = new LatencyRecorder();
+		switch (engine) {
+		default:
+		case INCREMENTAL:
+		case LAWSON: {
+			TriangulationBuilder<Integer> builder = new TriangulationBuilder<>();
+			builder.setOrder(order).setSeed(instanceSeed).setMonitor(recorder);
+			if (engine == Engine.LAWSON) {
+				builder.setInsertionStrategy(
+						Triangulation.InsertionStrategy.LAWSON);
+			}
+			for (int i = 0; i < npoints; i++) {
+				builder.add(xs[i], ys[i], i);
+			}
+			builder.build();
+			break;
+		}
+		case SWEEP: {
+			Envelope envelope = new Envelope();
+			for (int i = 0; i < npoints; i++) {
+				envelope.expandToInclude(xs[i], ys[i]);
+			}
+			SweepVoronoiDiagram<Integer> diagram = new SweepVoronoiDiagram<>(
+					envelope);
+			for (int i = 0; i < npoints; i++) {
+				diagram.put(i, xs[i], ys[i]);
+			}
+			diagram.getSiteGraph();
+			break;
+		}
+		}
+		return recorder;
+	}
+
+}
@@ -0,0 +1,195 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of delaunay.
+//
+// delaunay is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// delaunay is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with delaunay. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.paulchew.delaunay;
+
+import java.util.Random;
+
+/**
+ * Synthetic point sets for testing and benchmarking. All distributions
+ * produce points within the square [0, SIZE] x [0, SIZE] in random order.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public enum PointDistribution
+{
+
+	/**
+	 * Points distributed uniformly within the square.
+	 */
+	UNIFORM {
+
+		@Override
+		void fill(Random random, int n, double[] xs, double[] ys)
+		{
+			for (int i = 0; i < n; i++) {
+				xs[i] = random.nextDouble() * SIZE;
+				ys[i] = random.nextDouble() * SIZE;
+			}
+		}
+
+	},
+
+	/**
+	 * Points in normally distributed clusters around random centers, similar
+	 * to the points of interest in a set of cities.
+	 */
+	CLUSTERED {
+
+		@Override
+		void fill(Random random, int n, double[] xs, double[] ys)
+		{
+			int k = Math.max(1, (int) Math.sqrt(n) / 10);
+			double sigma = SIZE / (4 * Math.sqrt(k));
+			double[] cx = new double[k];
+			double[] cy = new double[k];
+			for (int c = 0; c < k; c++) {
+				cx[c] = random.nextDouble() * SIZE;
+				cy[c] = random.nextDouble() * SIZE;
+			}
+			for (int i = 0; i < n; i++) {
+				int c = random.nextInt(k);
+				do {
+					xs[i] = cx[c] + random.nextGaussian() * sigma;
+					ys[i] = cy[c] + random.nextGaussian() * sigma;
+				} while (xs[i] < 0 || xs[i] > SIZE || ys[i] < 0
+						|| ys[i] > SIZE);
+			}
+		}
+
+	},
+
+	/**
+	 * Points on a regular grid, a degenerate case since each cell of the grid
+	 * has four co-circular corners.
+	 */
+	GRID {
+
+		@Override
+		void fill(Random random, int n, double[] xs, double[] ys)
+		{
+			int k = (int) Math.ceil(Math.sqrt(n));
+			double spacing = SIZE / k;
+			// Choose n distinct cells out of the k * k cells of the grid
+			int[] cells = new int[k * k];
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = i;
+			}
+			for (int i = 0; i < n; i++) {
+				int j = i + random.nextInt(cells.length - i);
+				int cell = cells[j];
+				cells[j] = cells[i];
+				xs[i] = (cell % k) * spacing;
+				ys[i] = (cell / k) * spacing;
+			}
+		}
+
+	},
+
+	/**
+	 * Points evenly spaced on a single circle, the worst case for the size
+	 * of cavities during incremental insertion.
+	 */
+	COCIRCULAR {
+
+		@Override
+		void fill(Random random, int n, double[] xs, double[] ys)
+		{
+			double r = SIZE / 2;
+			for (int i = 0; i < n; i++) {
+				double angle = 2 * Math.PI * i / n;
+				xs[i] = r + r * Math.cos(angle);
+				ys[i] = r + r * Math.sin(angle);
+			}
+			shuffle(random, n, xs, ys);
+		}
+
+	};
+
+	/**
+	 * The side length of the square all points lie within.
+	 */
+	public static final double SIZE = 1000;
+
+	abstract void fill(Random random, int n, double[] xs, double[] ys);
+
+	/**
+	 * Generate n points.
+	 * 
+	 * @param random
+	 *            the source of randomness.
+	 * @param n
+	 *            the number of points to generate.
+	 * @return an array containing the array of x coordinates and the array of
+	 *         y coordinates.
+	 */
+	public double[][] generate(Random random, int n)
+	{
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		fill(random, n, xs, ys);
+		return new double[][] { xs, ys };
+	}
+
+	/**
+	 * Create an initial triangle that contains all points of any of the
+	 * distributions.
+	 * 
+	 * @return the initial triangle.
+	 */
+	public static Triangle initialTriangle()
+	{
+		double s = 10 * SIZE;
+		return new Triangle(new Pnt(-s, -s), new Pnt(s, -s), new Pnt(0, s));
+	}
+
+	/**
+	 * Create a triangulation from the first n of the specified points.
+	 * 
+	 * @param xs
+	 *            the x coordinates.
+	 * @param ys
+	 *            the y coordinates.
+	 * @param n
+	 *            the number of points to insert.
+	 * @return a triangulation whose sites are associated with their index.
+	 */
+	public static Triangulation<Integer> triangulate(double[] xs, double[] ys,
+			int n)
+	{
+		Triangulation<Integer> t = new Triangulation<>(initialTriangle());
+		for (int i = 0; i < n; i++) {
+			t.delaunayPlace(new Pnt(xs[i], ys[i]), i);
+		}
+		return t;
+	}
+
+	private static void shuffle(Random random, int n, double[] xs,
+			double[] ys)
+	{
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			double x = xs[i];
+			xs[i] = xs[j];
+			xs[j] = x;
+			double y = ys[i];
+			ys[i] = ys[j];
+			ys[j] = y;
+		}
+	}
+
+}